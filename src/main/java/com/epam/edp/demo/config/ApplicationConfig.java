@@ -1,6 +1,7 @@
 package com.epam.edp.demo.config;
 
 import com.epam.edp.demo.repository.UserRepository;
+import com.epam.edp.demo.utility.IdGenerator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -44,6 +45,11 @@ public class ApplicationConfig {
     public PasswordEncoder passwordEncoder() {
         return  new BCryptPasswordEncoder();
     }
+
+    @Bean
+    public IdGenerator idGenerator() {
+        return IdGenerator.TIME_ORDERED;
+    }
 }
 
 
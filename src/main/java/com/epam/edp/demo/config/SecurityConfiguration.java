@@ -1,5 +1,6 @@
 package com.epam.edp.demo.config;
 
+import com.epam.edp.demo.utility.IdempotencyFilter;
 import com.epam.edp.demo.utility.JwtAuthenticationFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,6 +10,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 
@@ -20,10 +22,13 @@ public class SecurityConfiguration {
 
     private JwtAuthenticationFilter jwtAuthFilter;
     private  AuthenticationProvider authenticationProvider;
+    private IdempotencyFilter idempotencyFilter;
 
-    public SecurityConfiguration(JwtAuthenticationFilter jwtAuthFilter, AuthenticationProvider authenticationProvider) {
+    public SecurityConfiguration(JwtAuthenticationFilter jwtAuthFilter, AuthenticationProvider authenticationProvider,
+                                 IdempotencyFilter idempotencyFilter) {
         this.jwtAuthFilter = jwtAuthFilter;
         this.authenticationProvider = authenticationProvider;
+        this.idempotencyFilter = idempotencyFilter;
     }
 
     @Bean
@@ -52,13 +57,16 @@ public class SecurityConfiguration {
 
                         .requestMatchers("/api/locations/**").permitAll()
                         .requestMatchers("/api/bookings/tables").permitAll()
+                        .requestMatchers("/api/bookings/tables/combinations").permitAll()
 //                        .requestMatchers("/api/reservations/**").permitAll()
                         .anyRequest().authenticated() )
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .authenticationProvider(authenticationProvider)
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Runs once the caller is known and allowed, so keys are scoped per user and rejected requests claim nothing
+                .addFilterAfter(idempotencyFilter, AuthorizationFilter.class);
         return http.build();
     }
 
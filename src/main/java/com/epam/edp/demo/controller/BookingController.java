@@ -1,13 +1,18 @@
 package com.epam.edp.demo.controller;
 
 import com.epam.edp.demo.dto.request.ReservationRequestDto;
+import com.epam.edp.demo.dto.response.ReservationHoldResponse;
 import com.epam.edp.demo.dto.response.ReservationResponse;
+import com.epam.edp.demo.dto.response.TableCombinationResponseDto;
 import com.epam.edp.demo.dto.response.TableResponseDto;
+import com.epam.edp.demo.exception.ConflictException;
 import com.epam.edp.demo.exception.ResourceNotFoundException;
 import com.epam.edp.demo.exception.UnAuthorizedException;
 import com.epam.edp.demo.exception.ValidationException;
 import com.epam.edp.demo.service.ReservationService;
 import com.epam.edp.demo.service.impl.AuthService;
+import com.epam.edp.demo.service.impl.ReservationHoldService;
+import com.epam.edp.demo.service.impl.TableAllocationService;
 import com.epam.edp.demo.validation.Validation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
@@ -32,6 +37,8 @@ public class BookingController {
     private final Validation validation;
     private final ReservationService reservationService;
     private final AuthService authService;
+    private final ReservationHoldService reservationHoldService;
+    private final TableAllocationService tableAllocationService;
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -62,6 +69,22 @@ public class BookingController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @GetMapping("/tables/combinations")
+    public ResponseEntity<Map<String, Map<String, List<TableCombinationResponseDto>>>> getAvailableTableCombinations(
+            @RequestParam(value = "date" , required = false) String date,
+            @RequestParam(value = "locationId" , required = false) String locationId,
+            @RequestParam(value = "time" , required = false) String time,
+            @RequestParam(value = "guests" , required = false) String guests
+            ){
+        validation.validateLocation(locationId);
+        validation.validateTimeFrom(time);
+        validation.validateLargePartyGuests(guests);
+        validation.validateDate(date);
+        List<TableCombinationResponseDto> combinations =
+                tableAllocationService.getAvailableTableCombinations(locationId, date, time, guests);
+        return new ResponseEntity<>(Map.of("data", Map.of("combinations", combinations)), HttpStatus.OK);
+    }
+
     @SecurityRequirement(name = "bearerAuth")
     @PostMapping("/client")
     public ResponseEntity<Map<String,ReservationResponse>> createReservation(@RequestBody ReservationRequestDto reservationRequestDto
@@ -89,6 +112,9 @@ public class BookingController {
         catch (ValidationException e){
             throw new ValidationException(e.getMessage());
         }
+        catch (ConflictException e){
+            throw e;
+        }
         catch(ResourceNotFoundException e){
             throw new ResourceNotFoundException(e.getMessage());
         }
@@ -97,11 +123,22 @@ public class BookingController {
         }
     }
 
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/holds")
+    public ResponseEntity<Map<String, ReservationHoldResponse>> placeHold(@RequestBody ReservationRequestDto reservationRequestDto,
+                                                                          @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        String email = authService.extractUserEmailFromAuthHeader(authHeader);
+        validation.validateReservationRequest(reservationRequestDto);
+        ReservationHoldResponse hold = reservationHoldService.placeHold(reservationRequestDto, email);
+        return new ResponseEntity<>(Map.of("data", hold), HttpStatus.CREATED);
+    }
 
-
-
-
-
-
-
+    @SecurityRequirement(name = "bearerAuth")
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<Map<String, String>> releaseHold(@PathVariable String holdId,
+                                                           @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        String email = authService.extractUserEmailFromAuthHeader(authHeader);
+        reservationHoldService.releaseHold(holdId, email);
+        return ResponseEntity.ok(Map.of("message", "Hold released"));
+    }
 }
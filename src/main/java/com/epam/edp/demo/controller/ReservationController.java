@@ -2,6 +2,7 @@ package com.epam.edp.demo.controller;
 
 import com.amazonaws.services.dynamodbv2.model.ResourceNotFoundException;
 import com.epam.edp.demo.dto.request.ReservationRequestDto;
+import com.epam.edp.demo.dto.response.ReservationPageResponse;
 import com.epam.edp.demo.dto.response.ReservationResponse;
 import com.epam.edp.demo.exception.UnAuthorizedException;
 import com.epam.edp.demo.exception.ValidationException;
@@ -15,7 +16,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @RequiredArgsConstructor
@@ -30,7 +30,9 @@ public class ReservationController {
 
     @SecurityRequirement(name = "bearerAuth")
     @GetMapping
-    public ResponseEntity<Map<String, Map<String, List<ReservationResponse>>>> getReservations(@RequestHeader(value = "Authorization",required = false) String authHeader) {
+    public ResponseEntity<Map<String, Map<String, Object>>> getReservations(@RequestHeader(value = "Authorization",required = false) String authHeader,
+                                                                          @RequestParam(required = false) String cursor,
+                                                                          @RequestParam(required = false) Integer limit) {
 
         //Authorize
         // Extract token from header (assumes "Bearer <token>")
@@ -47,11 +49,12 @@ public class ReservationController {
         }
 
 
-        List<ReservationResponse> reservationResponse = reservationService.getAllReservation(email);
-        Map<String, List<ReservationResponse>> innerMap = new HashMap<>();
-        innerMap.put("reservation", reservationResponse);
+        ReservationPageResponse reservationPage = reservationService.getReservationPage(email, cursor, limit);
+        Map<String, Object> innerMap = new HashMap<>();
+        innerMap.put("reservation", reservationPage.getReservations());
+        innerMap.put("nextCursor", reservationPage.getNextCursor());
 
-        Map<String, Map<String, List<ReservationResponse>>> response = new HashMap<>();
+        Map<String, Map<String, Object>> response = new HashMap<>();
         response.put("data", innerMap);
 
         return new ResponseEntity<>(response, HttpStatus.OK);
@@ -68,15 +71,16 @@ public class ReservationController {
         if(id==null || id.isBlank()){
             throw new ValidationException("Id is required");
         }
+        String email;
         try{
             String token = authHeader.substring(7);
-            authService.extractUserEmailFromToken(token);//Just checking for valid token or not
+            email = authService.extractUserEmailFromToken(token);
         }
         catch (RuntimeException e){
             throw new UnAuthorizedException("Authorization token is missing or invalid");
         }
 
-        boolean respone = reservationService.deleteReservationOfUser(id);
+        boolean respone = reservationService.deleteReservationOfUser(id, email);
         Map<String,String> map=new HashMap<>();
         if (respone) {
             String message = "Deleted Reservation Successfully";
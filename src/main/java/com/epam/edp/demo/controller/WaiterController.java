@@ -7,6 +7,8 @@ import com.epam.edp.demo.dto.request.WaiterRequest;
 import com.epam.edp.demo.dto.request.WaiterReservationRequestDto;
 import com.epam.edp.demo.dto.response.ReservationResponse;
 import com.epam.edp.demo.entity.Reservation;
+import com.epam.edp.demo.entity.ReservationPage;
+import com.epam.edp.demo.exception.ConflictException;
 import com.epam.edp.demo.exception.UnAuthorizedException;
 import com.epam.edp.demo.exception.ValidationException;
 import com.epam.edp.demo.service.impl.CustomerVerificationService;
@@ -221,6 +223,10 @@ public class WaiterController {
             response.put("message", "Reservation created successfully by waiter for the customer: " + customerEmail);
 
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (ConflictException e) {
+            logger.warn("Booking conflict: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", e.getMessage()));
         } catch (ValidationException e) {
             logger.warn("Validation error: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -240,10 +246,12 @@ public class WaiterController {
      * Get all reservations for the authenticated waiter
      */
     @GetMapping("/reservations")
-    @Operation(summary = "Get waiter's reservations", description = "Returns all reservations created by the authenticated waiter")
+    @Operation(summary = "Get waiter's reservations", description = "Returns one page of the reservations assigned to the authenticated waiter, newest first")
     @SecurityRequirement(name = "bearerAuth")
     public ResponseEntity<Map<String, Object>> getWaiterReservations(
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
             logger.info("Getting reservations for waiter");
 
@@ -272,39 +280,49 @@ public class WaiterController {
 
             logger.info("Fetching reservations for waiter: {}", waiterEmail);
 
-            // Get the reservations for this waiter
-            List<ReservationResponse> reservations = reservationService.getReservationsByWaiter(waiterEmail);
-
-            // Enhance each reservation with customer information
-            List<Map<String, Object>> enhancedReservations = new ArrayList<>();
-            for (ReservationResponse reservation : reservations) {
-                // Get the original reservation to access the userId (customer email or anonymous identifier)
-                Reservation originalReservation = reservationService.findReservationById(reservation.getId());
-                if (originalReservation != null) {
-                    String userId = originalReservation.getUserId();
-
-                    // Check if this is an anonymous reservation
-                    boolean isAnonymous = userId != null && userId.startsWith("ANONYMOUS:");
-                    String userInfo = isAnonymous
-                            ? userId.substring("ANONYMOUS:".length())
-                            : customerVerificationService.getCustomerFullName(userId);
-
-                    Map<String, Object> enhancedReservation = createEnhancedReservationResponse(
-                            reservation,
-                            userInfo,
-                            originalReservation.getTableNumber(),
-                            isAnonymous);
-
-                    enhancedReservations.add(enhancedReservation);
+            // One index query for the page, then one batch read each for locations and customers
+            ReservationPage page = reservationService.getReservationPageByWaiter(waiterEmail, cursor, limit);
+            List<Reservation> pageReservations = page.getReservations();
+            List<ReservationResponse> reservations = reservationService.mapToReservationResponses(pageReservations);
+
+            Set<String> customerEmails = new HashSet<>();
+            for (Reservation reservation : pageReservations) {
+                String userId = reservation.getUserId();
+                if (userId != null && !userId.startsWith("ANONYMOUS:")) {
+                    customerEmails.add(userId);
                 }
             }
+            Map<String, String> customerNames = customerVerificationService.getCustomerFullNames(customerEmails);
+
+            List<Map<String, Object>> enhancedReservations = new ArrayList<>(reservations.size());
+            for (int i = 0; i < reservations.size(); i++) {
+                Reservation originalReservation = pageReservations.get(i);
+                String userId = originalReservation.getUserId();
+
+                // Check if this is an anonymous reservation
+                boolean isAnonymous = userId != null && userId.startsWith("ANONYMOUS:");
+                String userInfo = isAnonymous
+                        ? userId.substring("ANONYMOUS:".length())
+                        : customerNames.getOrDefault(userId, "");
+
+                enhancedReservations.add(createEnhancedReservationResponse(
+                        reservations.get(i),
+                        userInfo,
+                        originalReservation.getTableNumber(),
+                        isAnonymous));
+            }
 
             // Return the response
             Map<String, Object> response = new HashMap<>();
             response.put("reservations", enhancedReservations);
             response.put("count", enhancedReservations.size());
+            response.put("nextCursor", page.getNextCursor());
 
             return ResponseEntity.ok(response);
+        } catch (ValidationException e) {
+            logger.warn("Validation error: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", e.getMessage()));
         } catch (UnAuthorizedException e) {
             logger.warn("Authorization error: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
@@ -434,6 +452,10 @@ public class WaiterController {
             response.put("message", "Reservation created successfully by waiter for anonymous visitor: " + visitorName);
 
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (ConflictException e) {
+            logger.warn("Booking conflict: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", e.getMessage()));
         } catch (ValidationException e) {
             logger.warn("Validation error: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -527,6 +549,10 @@ public class WaiterController {
             response.put("message", "Reservation successfully postponed");
 
             return ResponseEntity.ok(response);
+        } catch (ConflictException e) {
+            logger.warn("Booking conflict: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", e.getMessage()));
         } catch (ValidationException e) {
             logger.warn("Validation error: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -23,6 +23,8 @@ public class ReservationRequestDto {
     private String timeFrom ;
     @Nonnull
     private String timeTo;
+    // Set when confirming a hold placed on the same table
+    private String holdId;
 
 
 }
@@ -0,0 +1,22 @@
+package com.epam.edp.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationHoldResponse {
+
+    private String holdId;
+    private String locationId;
+    private String tableNumber;
+    private String date;
+    private String timeFrom;
+    private String timeTo;
+    private String expiresAt;
+
+}
@@ -0,0 +1,19 @@
+package com.epam.edp.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationPageResponse {
+
+    private List<ReservationResponse> reservations;
+    private String nextCursor;
+
+}
@@ -0,0 +1,21 @@
+package com.epam.edp.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TableCombinationResponseDto {
+
+    private String locationId;
+    private String locationAddress;
+    private String timeFrom;
+    private List<String> tableNumbers;
+    private String capacity;
+}
@@ -0,0 +1,50 @@
+package com.epam.edp.demo.entity;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBAttribute;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A request made under an Idempotency-Key: claimed while it runs, then holding the response to replay
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@DynamoDBTable(tableName = "tm5-restaurant-idempotency-keys-table-a4v2")
+public class IdempotencyRecord {
+
+    public static final String STATUS_IN_PROGRESS = "IN_PROGRESS";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+
+    // Caller, path and the client's key, so one client's keys never match another's
+    @DynamoDBHashKey(attributeName = "idempotencyKey")
+    private String idempotencyKey;
+
+    @DynamoDBAttribute(attributeName = "requestHash")
+    private String requestHash;
+
+    @DynamoDBAttribute(attributeName = "status")
+    private String status;
+
+    @DynamoDBAttribute(attributeName = "responseStatus")
+    private Integer responseStatus;
+
+    @DynamoDBAttribute(attributeName = "contentType")
+    private String contentType;
+
+    @DynamoDBAttribute(attributeName = "responseBody")
+    private String responseBody;
+
+    // Epoch second after which the record is ignored and DynamoDB's TTL removes it
+    @DynamoDBAttribute(attributeName = "expiresAt")
+    private Long expiresAt;
+
+    public boolean isCompleted() {
+        return STATUS_COMPLETED.equals(status);
+    }
+}
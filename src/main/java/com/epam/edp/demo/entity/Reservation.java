@@ -59,6 +59,10 @@ public class Reservation {
     @DynamoDBAttribute(attributeName = "orders")
     private List<String> orders;
 
+    // Bumped by every write; an edit only succeeds while the stored version is the one it was based on
+    @DynamoDBAttribute(attributeName = "version")
+    private Long version;
+
 
 
 
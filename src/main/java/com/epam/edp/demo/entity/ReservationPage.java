@@ -0,0 +1,17 @@
+package com.epam.edp.demo.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationPage {
+    private List<Reservation> reservations;
+    private String nextCursor;
+}
@@ -28,6 +28,10 @@ public class Table {
     @DynamoDBAttribute(attributeName = "capacity")
     private String capacity;
 
+    // Tables in the same group stand next to each other and can be pushed together for a large party
+    @DynamoDBAttribute(attributeName = "adjacencyGroup")
+    private String adjacencyGroup;
+
     }
 
 
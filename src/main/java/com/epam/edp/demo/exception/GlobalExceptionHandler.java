@@ -41,6 +41,12 @@ public class GlobalExceptionHandler {
         message.put("message", ex.getMessage());
         return new ResponseEntity<>(message, HttpStatus.FORBIDDEN);
     }
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(ConflictException ex) {
+        Map<String, String> message = new HashMap<>();
+        message.put("message", ex.getMessage());
+        return new ResponseEntity<>(message, HttpStatus.CONFLICT);
+    }
     @ExceptionHandler(TooLateForCancellationException.class)
     public ResponseEntity<Map<String, String>> handleTooLateForCancel(TooLateForCancellationException ex) {
         Map<String, String> message = new HashMap<>();
@@ -0,0 +1,10 @@
+package com.epam.edp.demo.exception;
+
+/**
+ * Thrown when a reservation changed between being read and being written, so the write was refused
+ */
+public class VersionConflictException extends ConflictException {
+    public VersionConflictException(String message){
+        super(message);
+    }
+}
@@ -4,8 +4,11 @@ import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.*;
 import com.epam.edp.demo.entity.Dish;
 import com.epam.edp.demo.exceptions.RepositoryException;
+import com.epam.edp.demo.utility.ContentVersions;
+import com.epam.edp.demo.utility.MenuSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
@@ -36,9 +39,15 @@ public class DishRepository {
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final AmazonDynamoDB dynamoDBClient;
     private final String dishesTableName;
+    private final ContentVersions contentVersions;
+    private final Object menuLock = new Object();
+    private volatile MenuSnapshot menu;
+    // Bumped by every save and delete, guarded by menuLock
+    private long menuGeneration;
 
-    public DishRepository(AmazonDynamoDB dynamoDBClient) {
+    public DishRepository(AmazonDynamoDB dynamoDBClient, ContentVersions contentVersions) {
         this.dynamoDBClient = dynamoDBClient;
+        this.contentVersions = contentVersions;
         this.dishesTableName = ENV_DYNAMODB_DISHES_TABLE;
         logger.info("Initialized DishRepository with table name: {}", dishesTableName);
     }
@@ -130,6 +139,8 @@ public class DishRepository {
                     .withItem(item);
 
             dynamoDBClient.putItem(putItemRequest);
+            invalidateMenu();
+            contentVersions.bump(ContentVersions.DISHES);
             logger.info("Successfully saved dish with ID: {} and locationId: {}", dish.getId(), dish.getLocationId());
             return dish;
         } catch (ResourceNotFoundException e) {
@@ -197,14 +208,17 @@ public class DishRepository {
             ScanRequest scanRequest = new ScanRequest()
                     .withTableName(dishesTableName);
 
-            ScanResult scanResult = dynamoDBClient.scan(scanRequest);
             List<Dish> dishes = new ArrayList<>();
-
-            if (scanResult.getItems() != null) {
-                for (Map<String, AttributeValue> item : scanResult.getItems()) {
-                    dishes.add(mapToDish(item));
+            Map<String, AttributeValue> lastEvaluatedKey = null;
+            do {
+                ScanResult scanResult = dynamoDBClient.scan(scanRequest.withExclusiveStartKey(lastEvaluatedKey));
+                if (scanResult.getItems() != null) {
+                    for (Map<String, AttributeValue> item : scanResult.getItems()) {
+                        dishes.add(mapToDish(item));
+                    }
                 }
-            }
+                lastEvaluatedKey = scanResult.getLastEvaluatedKey();
+            } while (lastEvaluatedKey != null && !lastEvaluatedKey.isEmpty());
 
             return dishes;
         } catch (ResourceNotFoundException e) {
@@ -222,6 +236,66 @@ public class DishRepository {
         }
     }
 
+    /**
+     * @return The current snapshot of every dish, loaded on first use and again after a dish is saved or deleted
+     */
+    public MenuSnapshot getMenu() {
+        MenuSnapshot current = menu;
+        if (current == null) {
+            synchronized (this) {
+                current = menu;
+                while (current == null) {
+                    current = loadMenu();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Reloads the menu snapshot, picking up dishes changed outside this instance
+     */
+    @Scheduled(fixedDelayString = "${app.dishes.menu-refresh-interval-ms:300000}")
+    public void refreshMenu() {
+        try {
+            MenuSnapshot refreshed = loadMenu();
+            if (refreshed == null) {
+                logger.info("Dishes changed during the menu refresh, the snapshot is rebuilt on next use");
+            } else {
+                logger.info("Refreshed menu snapshot with {} dishes", refreshed.size());
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error refreshing menu snapshot: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Scans every dish and installs the result as the menu snapshot, unless a dish was saved or deleted while
+     * the scan ran; the scan may have missed that change, so it is then dropped
+     * @return The installed snapshot, or null when it was dropped
+     */
+    private MenuSnapshot loadMenu() {
+        long generation;
+        synchronized (menuLock) {
+            generation = menuGeneration;
+        }
+        MenuSnapshot loaded = MenuSnapshot.of(findAll());
+        synchronized (menuLock) {
+            if (generation != menuGeneration) {
+                return null;
+            }
+            menu = loaded;
+            return loaded;
+        }
+    }
+
+    private void invalidateMenu() {
+        synchronized (menuLock) {
+            menuGeneration++;
+            menu = null;
+        }
+    }
+
     public List<Dish> findByLocationId(String locationId) {
         if (locationId == null || locationId.isEmpty()) {
             logger.error("Cannot find dishes with null or empty locationId");
@@ -424,6 +498,8 @@ public class DishRepository {
                     .withKey(key);
 
             dynamoDBClient.deleteItem(deleteItemRequest);
+            invalidateMenu();
+            contentVersions.bump(ContentVersions.DISHES);
             logger.info("Dish with id {} deleted successfully", id);
         } catch (ResourceNotFoundException e) {
             logger.error("Table {} does not exist: {}", dishesTableName, e.getMessage());
@@ -4,6 +4,7 @@ import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.*;
 import com.epam.edp.demo.entity.Feedback;
 import com.epam.edp.demo.repository.FeedbackRepository;
+import com.epam.edp.demo.utility.ContentVersions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -28,10 +29,12 @@ public class FeedbackRepository  {
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final AmazonDynamoDB dynamoDbClient;
     private final String feedbacksTableName;
+    private final ContentVersions contentVersions;
     private static final int MAX_RESULTS = 100;
 
-    public FeedbackRepository(AmazonDynamoDB dynamoDbClient) {
+    public FeedbackRepository(AmazonDynamoDB dynamoDbClient, ContentVersions contentVersions) {
         this.dynamoDbClient = dynamoDbClient;
+        this.contentVersions = contentVersions;
         this.feedbacksTableName = ENV_DYNAMODB_FEEDBACKS_TABLE;
         logger.info("Initialized DynamoDbFeedbackRepository with table name: {}", feedbacksTableName);
     }
@@ -261,6 +264,9 @@ public class FeedbackRepository  {
 
         PutItemRequest putItemRequest = new PutItemRequest(feedbacksTableName, item);
         dynamoDbClient.putItem(putItemRequest);
+        if (feedback.getLocationId() != null) {
+            contentVersions.bump(ContentVersions.feedbacksOf(feedback.getLocationId()));
+        }
         logger.info("Feedback saved successfully: {}", feedback.getId());
         return feedback;
     }
@@ -0,0 +1,137 @@
+package com.epam.edp.demo.repository;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.*;
+import com.epam.edp.demo.entity.IdempotencyRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Stores the requests made under an Idempotency-Key. A key is claimed with a conditional put before the
+ * request runs, so of two concurrent attempts only one runs, and expired records count as absent until
+ * DynamoDB's TTL deletes them.
+ */
+@Component
+public class IdempotencyRepository {
+    public static final String ENV_DYNAMODB_IDEMPOTENCY_TABLE = "tm5-restaurant-idempotency-keys-table-a4v2";
+    public static final String ATTR_IDEMPOTENCY_KEY = "idempotencyKey";
+    public static final String ATTR_REQUEST_HASH = "requestHash";
+    public static final String ATTR_STATUS = "status";
+    public static final String ATTR_RESPONSE_STATUS = "responseStatus";
+    public static final String ATTR_CONTENT_TYPE = "contentType";
+    public static final String ATTR_RESPONSE_BODY = "responseBody";
+    public static final String ATTR_EXPIRES_AT = "expiresAt";
+    private static final int CLAIM_ATTEMPTS = 2;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final AmazonDynamoDB dynamoDbClient;
+    private final String idempotencyTableName;
+
+    @Autowired
+    public IdempotencyRepository(AmazonDynamoDB dynamoDbClient) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.idempotencyTableName = ENV_DYNAMODB_IDEMPOTENCY_TABLE;
+    }
+
+    /**
+     * Claims a key for a request about to run
+     * @param key The scoped idempotency key
+     * @param requestHash Hash of the request body
+     * @param expiresAt Epoch second the claim lapses at, after which another request may take the key over
+     * @return Empty when the key was claimed, otherwise the live record already held under it, or an in-progress
+     * record when the key kept changing hands and could not be claimed
+     */
+    public Optional<IdempotencyRecord> claim(String key, String requestHash, long expiresAt) {
+        IdempotencyRecord claim = IdempotencyRecord.builder()
+                .idempotencyKey(key)
+                .requestHash(requestHash)
+                .status(IdempotencyRecord.STATUS_IN_PROGRESS)
+                .expiresAt(expiresAt)
+                .build();
+        for (int attempt = 0; attempt < CLAIM_ATTEMPTS; attempt++) {
+            try {
+                dynamoDbClient.putItem(new PutItemRequest()
+                        .withTableName(idempotencyTableName)
+                        .withItem(toItem(claim))
+                        .withConditionExpression("attribute_not_exists(#key) OR #expiresAt < :now")
+                        .withExpressionAttributeNames(Map.of("#key", ATTR_IDEMPOTENCY_KEY, "#expiresAt", ATTR_EXPIRES_AT))
+                        .withExpressionAttributeValues(Map.of(":now",
+                                new AttributeValue().withN(String.valueOf(Instant.now().getEpochSecond())))));
+                return Optional.empty();
+            } catch (ConditionalCheckFailedException e) {
+                Map<String, AttributeValue> item = dynamoDbClient.getItem(new GetItemRequest()
+                        .withTableName(idempotencyTableName)
+                        .withKey(Map.of(ATTR_IDEMPOTENCY_KEY, new AttributeValue(key)))
+                        .withConsistentRead(true)).getItem();
+                // Deleted between the put and the read, e.g. because the first attempt failed; claim again
+                if (item != null && !item.isEmpty()) {
+                    return Optional.of(mapToRecord(item));
+                }
+            }
+        }
+        // Never run a request without its claim; the client gets a conflict and may retry later
+        logger.warn("Could not claim idempotency key {}", key);
+        return Optional.of(claim);
+    }
+
+    /**
+     * Stores the response of a request that ran under a claimed key
+     * @param record The completed record, expiring when the stored response should stop being replayed
+     */
+    public void complete(IdempotencyRecord record) {
+        dynamoDbClient.putItem(new PutItemRequest()
+                .withTableName(idempotencyTableName)
+                .withItem(toItem(record)));
+    }
+
+    /**
+     * Drops the claim of a request that failed, so the client can retry it under the same key
+     * @param key The scoped idempotency key
+     */
+    public void release(String key) {
+        try {
+            dynamoDbClient.deleteItem(new DeleteItemRequest()
+                    .withTableName(idempotencyTableName)
+                    .withKey(Map.of(ATTR_IDEMPOTENCY_KEY, new AttributeValue(key)))
+                    .withConditionExpression("#status = :inProgress")
+                    .withExpressionAttributeNames(Map.of("#status", ATTR_STATUS))
+                    .withExpressionAttributeValues(Map.of(":inProgress", new AttributeValue(IdempotencyRecord.STATUS_IN_PROGRESS))));
+        } catch (ConditionalCheckFailedException e) {
+            logger.debug("Idempotency key {} is no longer in progress", key);
+        } catch (RuntimeException e) {
+            // The claim lapses on its own when it expires
+            logger.warn("Error releasing idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private Map<String, AttributeValue> toItem(IdempotencyRecord record) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put(ATTR_IDEMPOTENCY_KEY, new AttributeValue(record.getIdempotencyKey()));
+        if (record.getRequestHash() != null) item.put(ATTR_REQUEST_HASH, new AttributeValue(record.getRequestHash()));
+        if (record.getStatus() != null) item.put(ATTR_STATUS, new AttributeValue(record.getStatus()));
+        if (record.getResponseStatus() != null) item.put(ATTR_RESPONSE_STATUS, new AttributeValue().withN(String.valueOf(record.getResponseStatus())));
+        if (record.getContentType() != null) item.put(ATTR_CONTENT_TYPE, new AttributeValue(record.getContentType()));
+        if (record.getResponseBody() != null) item.put(ATTR_RESPONSE_BODY, new AttributeValue(record.getResponseBody()));
+        if (record.getExpiresAt() != null) item.put(ATTR_EXPIRES_AT, new AttributeValue().withN(String.valueOf(record.getExpiresAt())));
+        return item;
+    }
+
+    private IdempotencyRecord mapToRecord(Map<String, AttributeValue> item) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setIdempotencyKey(item.get(ATTR_IDEMPOTENCY_KEY).getS());
+        if (item.containsKey(ATTR_REQUEST_HASH)) record.setRequestHash(item.get(ATTR_REQUEST_HASH).getS());
+        if (item.containsKey(ATTR_STATUS)) record.setStatus(item.get(ATTR_STATUS).getS());
+        if (item.containsKey(ATTR_RESPONSE_STATUS)) record.setResponseStatus(Integer.parseInt(item.get(ATTR_RESPONSE_STATUS).getN()));
+        if (item.containsKey(ATTR_CONTENT_TYPE)) record.setContentType(item.get(ATTR_CONTENT_TYPE).getS());
+        if (item.containsKey(ATTR_RESPONSE_BODY)) record.setResponseBody(item.get(ATTR_RESPONSE_BODY).getS());
+        if (item.containsKey(ATTR_EXPIRES_AT)) record.setExpiresAt(Long.parseLong(item.get(ATTR_EXPIRES_AT).getN()));
+        return record;
+    }
+}
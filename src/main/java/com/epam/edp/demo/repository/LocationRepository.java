@@ -6,14 +6,24 @@ import com.epam.edp.demo.dto.request.LocationRequestDTO;
 import com.epam.edp.demo.dto.response.SpecialityDishDto;
 import com.epam.edp.demo.entity.Location;
 import com.epam.edp.demo.exceptions.RepositoryException;
+import com.epam.edp.demo.utility.ContentVersions;
+import com.epam.edp.demo.utility.ExpiringCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
+/**
+ * Reads locations through an in-process cache, as they change rarely and are looked up on most requests.
+ * Cached locations are shared, so callers must not modify them. Creating a location through this
+ * repository drops the affected entries; changes made elsewhere show up once the entries expire.
+ */
 @Repository
 public class LocationRepository {
     public static final String ENV_DYNAMODB_LOCATIONS_TABLE = "tm5-restaurant-locations-table-a4v2";
@@ -25,17 +35,44 @@ public class LocationRepository {
     public static final String ATTR_LOCATION_IMAGE_URL = "imageUrl";
     public static final String ATTR_LOCATION_RATING = "rating";
 
+    private static final int BATCH_GET_LIMIT = 100;
+    private static final String ALL_LOCATIONS = "all";
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final AmazonDynamoDB dynamoDBClient;
     private final String locationsTableName;
-
-    public LocationRepository(AmazonDynamoDB dynamoDBClient) {
+    private final ContentVersions contentVersions;
+    private final ExpiringCache<String, Location> locationsById;
+    private final ExpiringCache<String, List<Location>> allLocations;
+    private final ExpiringCache<String, List<SpecialityDishDto>> specialDishes;
+
+    @Autowired
+    public LocationRepository(AmazonDynamoDB dynamoDBClient, MeterRegistry meterRegistry, ContentVersions contentVersions,
+                              @Value("${app.locations.cache-size:1000}") int cacheSize,
+                              @Value("${app.locations.cache-ttl-seconds:300}") long cacheTtlSeconds) {
         this.dynamoDBClient = dynamoDBClient;
         this.locationsTableName = ENV_DYNAMODB_LOCATIONS_TABLE;
+        this.contentVersions = contentVersions;
+        Duration ttl = Duration.ofSeconds(cacheTtlSeconds);
+        this.locationsById = new ExpiringCache<>("locations", cacheSize, ttl, meterRegistry);
+        this.allLocations = new ExpiringCache<>("locations.all", 1, ttl, meterRegistry);
+        this.specialDishes = new ExpiringCache<>("locations.special-dishes", cacheSize, ttl, meterRegistry);
         logger.info("Initialized LocationRepository with table name: {}", locationsTableName);
     }
 
+    /**
+     * @return Every location, served from the cache while fresh; the list cannot be modified
+     */
     public List<Location> findAll() {
+        return allLocations.get(ALL_LOCATIONS, key -> {
+            long stamp = locationsById.stamp();
+            List<Location> locations = List.copyOf(scanAll());
+            locations.forEach(location -> locationsById.put(location.getId(), location, stamp));
+            return locations;
+        });
+    }
+
+    private List<Location> scanAll() {
         logger.info("Finding all locations");
 
         try {
@@ -123,6 +160,10 @@ public class LocationRepository {
 
             dynamoDBClient.putItem(putItemRequest);
             logger.info("Successfully created location with ID: {}", id);
+            locationsById.invalidate(id);
+            specialDishes.invalidate(id);
+            allLocations.invalidateAll();
+            contentVersions.bump(ContentVersions.LOCATIONS);
 
             // Create and return the location object
             Location location = new Location();
@@ -147,12 +188,19 @@ public class LocationRepository {
         }
     }
 
+    /**
+     * @param locationId The ID of the location
+     * @return The location's special dishes, served from the cache while fresh; the list cannot be modified
+     */
     public List<SpecialityDishDto> getSpecialDishes(String locationId) {
         if (locationId == null || locationId.isEmpty()) {
             logger.error("Cannot get special dishes with null or empty locationId");
             throw new IllegalArgumentException("Location ID cannot be null or empty");
         }
+        return specialDishes.get(locationId, id -> List.copyOf(loadSpecialDishes(id)));
+    }
 
+    private List<SpecialityDishDto> loadSpecialDishes(String locationId) {
         logger.info("Fetching special dishes for location: {}", locationId);
 
         try {
@@ -203,12 +251,19 @@ public class LocationRepository {
         }
     }
 
+    /**
+     * @param id The ID of the location
+     * @return The location, served from the cache while fresh, or null when there is none with that ID
+     */
     public Location findById(String id) {
         if (id == null || id.isEmpty()) {
             logger.error("Cannot find location with null or empty id");
             throw new IllegalArgumentException("Location ID cannot be null or empty");
         }
+        return locationsById.get(id, this::loadById);
+    }
 
+    private Location loadById(String id) {
         logger.info("Finding location by id: {}", id);
 
         try {
@@ -241,6 +296,61 @@ public class LocationRepository {
         }
     }
 
+    /**
+     * Loads several locations, taking cached ones from the cache and the rest with BatchGetItem,
+     * retrying keys DynamoDB left unprocessed
+     * @param ids The IDs of the locations
+     * @return Found locations by ID; unknown IDs are simply absent
+     */
+    public Map<String, Location> findAllByIds(Collection<String> ids) {
+        Map<String, Location> locations = new HashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return locations;
+        }
+
+        long stamp = locationsById.stamp();
+        List<String> distinctIds = new ArrayList<>();
+        for (String id : ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList())) {
+            Location cached = locationsById.getIfPresent(id);
+            if (cached != null) {
+                locations.put(id, cached);
+            } else {
+                distinctIds.add(id);
+            }
+        }
+        if (distinctIds.isEmpty()) {
+            return locations;
+        }
+        logger.info("Finding {} locations by id", distinctIds.size());
+
+        try {
+            for (int from = 0; from < distinctIds.size(); from += BATCH_GET_LIMIT) {
+                List<Map<String, AttributeValue>> keys = distinctIds.subList(from, Math.min(from + BATCH_GET_LIMIT, distinctIds.size()))
+                        .stream()
+                        .map(id -> Map.of(ATTR_LOCATION_ID, new AttributeValue().withS(id)))
+                        .collect(Collectors.toList());
+
+                Map<String, KeysAndAttributes> requestItems = Map.of(locationsTableName, new KeysAndAttributes().withKeys(keys));
+                while (requestItems != null && !requestItems.isEmpty()) {
+                    BatchGetItemResult result = dynamoDBClient.batchGetItem(new BatchGetItemRequest().withRequestItems(requestItems));
+                    for (Map<String, AttributeValue> item : result.getResponses().getOrDefault(locationsTableName, Collections.emptyList())) {
+                        Location location = mapToLocation(item);
+                        locations.put(location.getId(), location);
+                        locationsById.put(location.getId(), location, stamp);
+                    }
+                    requestItems = result.getUnprocessedKeys();
+                }
+            }
+            return locations;
+        } catch (ResourceNotFoundException e) {
+            logger.error("Table {} does not exist: {}", locationsTableName, e.getMessage());
+            throw new RepositoryException("DynamoDB table not found", e);
+        } catch (AmazonDynamoDBException e) {
+            logger.error("DynamoDB error finding locations by ids: {}", e.getMessage(), e);
+            throw new RepositoryException("DynamoDB error finding locations", e);
+        }
+    }
+
     public boolean existsById(String id) {
         if (id == null || id.isEmpty()) {
             logger.error("Cannot check existence with null or empty id");
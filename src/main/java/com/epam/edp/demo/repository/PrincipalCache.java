@@ -0,0 +1,91 @@
+package com.epam.edp.demo.repository;
+
+import com.epam.edp.demo.entity.Roles;
+import com.epam.edp.demo.entity.User;
+import com.epam.edp.demo.utility.ExpiringCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * What authenticating a request needs to know about a caller: the user record, its role and whether the caller
+ * is a waiter. Entries are kept per email in a bounded cache with a short TTL, so repeated requests by the same
+ * caller read neither the users nor the waiters table. Unknown emails are cached too, as a principal without a
+ * user. Whoever changes a user's profile, password, role or waiter status calls {@link #invalidate(String)};
+ * changes made by other instances show up once the TTL expires.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final WaiterRepository waiterRepository;
+    private final ExpiringCache<String, Principal> principals;
+
+    @Autowired
+    public PrincipalCache(UserRepository userRepository, WaiterRepository waiterRepository, MeterRegistry meterRegistry,
+                          @Value("${app.principals.cache-size:10000}") int cacheSize,
+                          @Value("${app.principals.cache-ttl-seconds:60}") long cacheTtlSeconds) {
+        this.userRepository = userRepository;
+        this.waiterRepository = waiterRepository;
+        this.principals = new ExpiringCache<>("principals", cacheSize, Duration.ofSeconds(cacheTtlSeconds), meterRegistry);
+    }
+
+    /**
+     * @param email The caller's email
+     * @return The caller's principal; its user is null when no user has that email
+     */
+    public Principal get(String email) {
+        return principals.get(email, this::load);
+    }
+
+    /**
+     * @param email The caller's email
+     * @return The user, or null when there is none; the instance is shared and must not be modified
+     */
+    public User findUser(String email) {
+        return get(email).getUser();
+    }
+
+    public boolean isWaiter(String email) {
+        return get(email).isWaiter();
+    }
+
+    /**
+     * Drops what is known about a caller, so the next request reads it again
+     * @param email The caller's email
+     */
+    public void invalidate(String email) {
+        if (email != null) {
+            principals.invalidate(email);
+        }
+    }
+
+    private Principal load(String email) {
+        return new Principal(userRepository.findByEmail(email), waiterRepository.isWaiter(email));
+    }
+
+    public static final class Principal {
+        private final User user;
+        private final boolean waiter;
+
+        private Principal(User user, boolean waiter) {
+            this.user = user;
+            this.waiter = waiter;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public Roles getRole() {
+            return user == null ? null : user.getRoles();
+        }
+
+        public boolean isWaiter() {
+            return waiter;
+        }
+    }
+}
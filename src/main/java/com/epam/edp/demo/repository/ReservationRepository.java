@@ -2,17 +2,38 @@ package com.epam.edp.demo.repository;
 
 
 import com.epam.edp.demo.entity.Reservation;
+import com.epam.edp.demo.entity.ReservationPage;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface ReservationRepository {
     List<Reservation> getAllReservation();
+    Stream<Reservation> streamAllReservations();
+    void forEachReservation(int totalSegments, Consumer<Reservation> action);
     List<Reservation> getReservationByLocationIdDateTableId(String locationId, String date, String tableId);
+    List<Reservation> findByLocationAndDate(String locationId, String date, Collection<String> statuses);
+    ReservationPage findByUserId(String userId, String cursor, int limit);
+    ReservationPage findByWaiterId(String waiterId, String cursor, int limit);
     List<String> getAvailableTimeSlot(List<Reservation> conflictDateReservation);
     Reservation saveReservation(Reservation reservation);
-    Reservation updateReservation(Reservation updatedReservation);
-    boolean deleteReservation(String id);
+    Reservation insertReservation(Reservation reservation);
+    Reservation insertReservation(Reservation reservation, String holdId);
+    void placeHold(Reservation hold, long expiresAt);
+    Optional<Reservation> releaseHold(String holdId, String userId);
+    void releaseSlotClaims(Reservation reservation);
+    Reservation updateReservation(Reservation previous, Reservation updated);
+    boolean deleteReservation(String id, String email);
+    boolean completelyDeleteReservation(String id);
     boolean statusChange(String id,String status,String email);
+    boolean transitionStatus(Reservation reservation, String newStatus, Collection<String> expectedStatuses);
     Reservation findByReservationId(String reservationId);
+    Optional<Reservation> findById(String reservationId);
+    List<Reservation> findByIds(Collection<String> reservationIds);
     void updateReservationStatusesBasedOnTime(List<Reservation> reservations);
+    void updateReservationStatusBasedOnTime(Reservation reservation, LocalDateTime now);
 }
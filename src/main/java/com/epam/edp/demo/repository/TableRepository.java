@@ -2,6 +2,7 @@ package com.epam.edp.demo.repository;
 
 
 import com.epam.edp.demo.entity.Table;
+import com.epam.edp.demo.utility.TableCatalog;
 
 import java.util.List;
 
@@ -9,4 +10,21 @@ public interface TableRepository {
     List<Table> getTablesByLocationId(String locationId);
     List<Table> getAllTables();
     boolean isTableIdValidForLocationId(String locationId,String tableId);
+
+    /**
+     * @param locationId The ID of the location
+     * @param guests Size of the party
+     * @return The location's tables seating at least {@code guests}, smallest first
+     */
+    List<Table> getTablesSeating(String locationId, int guests);
+
+    /**
+     * @return The current snapshot of every location's tables
+     */
+    TableCatalog getCatalog();
+
+    /**
+     * Reloads the table catalog, e.g. after tables were added or changed
+     */
+    void refreshCatalog();
 }
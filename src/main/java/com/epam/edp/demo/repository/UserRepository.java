@@ -10,6 +10,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Component
 public class UserRepository {
@@ -20,6 +21,7 @@ public class UserRepository {
     public static final String ATTR_LAST_NAME = "lastName";
     public static final String ATTR_IMG_URL = "imageUrl";
     public static final String ATTR_ROLE = "role";
+    private static final int BATCH_GET_LIMIT = 100;
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final AmazonDynamoDB dynamoDBClient;
     private final String usersTableName;
@@ -50,30 +52,9 @@ public class UserRepository {
                 logger.info("User not found with email: {}", email);
                 return null;
             }
-            User user = new User();
+            User user = mapToUser(result.getItem());
             user.setEmail(email);
 
-            Map<String, AttributeValue> item = result.getItem();
-
-            if (item.containsKey("userId")) {
-                user.setId(item.get("userId").getS());
-            }
-            if (item.containsKey(ATTR_FIRST_NAME)) {
-                user.setFirstName(item.get(ATTR_FIRST_NAME).getS());
-            }
-            if (item.containsKey(ATTR_LAST_NAME)) {
-                user.setLastName(item.get(ATTR_LAST_NAME).getS());
-            }
-            if (item.containsKey(ATTR_PASSWORD)) {
-                user.setPassword(item.get(ATTR_PASSWORD).getS());
-            }
-            if (item.containsKey(ATTR_ROLE)) {
-                user.setRoles(Roles.valueOf(item.get(ATTR_ROLE).getS()));
-            }
-            if (item.containsKey(ATTR_IMG_URL)) {
-                user.setImageUrl(item.get(ATTR_IMG_URL).getS());
-            }
-
             logger.info("Found user: {}", user.getEmail());
             return user;
 
@@ -88,6 +69,77 @@ public class UserRepository {
         }
     }
 
+    /**
+     * Loads several users with BatchGetItem, retrying keys DynamoDB left unprocessed
+     * @param emails The emails of the users
+     * @return Found users by email; unknown emails are simply absent
+     */
+    public Map<String, User> findByEmails(Collection<String> emails) {
+        Map<String, User> users = new HashMap<>();
+        if (emails == null || emails.isEmpty()) {
+            return users;
+        }
+
+        List<String> distinctEmails = emails.stream()
+                .filter(email -> email != null && !email.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+        logger.info("Finding {} users by email", distinctEmails.size());
+
+        try {
+            for (int from = 0; from < distinctEmails.size(); from += BATCH_GET_LIMIT) {
+                List<Map<String, AttributeValue>> keys = distinctEmails.subList(from, Math.min(from + BATCH_GET_LIMIT, distinctEmails.size()))
+                        .stream()
+                        .map(email -> Map.of(ATTR_EMAIL, new AttributeValue(email)))
+                        .collect(Collectors.toList());
+
+                Map<String, KeysAndAttributes> requestItems = Map.of(usersTableName, new KeysAndAttributes().withKeys(keys));
+                while (requestItems != null && !requestItems.isEmpty()) {
+                    BatchGetItemResult result = dynamoDBClient.batchGetItem(new BatchGetItemRequest().withRequestItems(requestItems));
+                    for (Map<String, AttributeValue> item : result.getResponses().getOrDefault(usersTableName, Collections.emptyList())) {
+                        User user = mapToUser(item);
+                        users.put(user.getEmail(), user);
+                    }
+                    requestItems = result.getUnprocessedKeys();
+                }
+            }
+            return users;
+        } catch (ResourceNotFoundException e) {
+            throw new RepositoryException("DynamoDB table not found", e);
+        } catch (ProvisionedThroughputExceededException e) {
+            throw new RepositoryException("DynamoDB throughput exceeded", e);
+        } catch (AmazonDynamoDBException e) {
+            throw new RepositoryException("DynamoDB error finding users", e);
+        }
+    }
+
+    private User mapToUser(Map<String, AttributeValue> item) {
+        User user = new User();
+
+        if (item.containsKey(ATTR_EMAIL)) {
+            user.setEmail(item.get(ATTR_EMAIL).getS());
+        }
+        if (item.containsKey("userId")) {
+            user.setId(item.get("userId").getS());
+        }
+        if (item.containsKey(ATTR_FIRST_NAME)) {
+            user.setFirstName(item.get(ATTR_FIRST_NAME).getS());
+        }
+        if (item.containsKey(ATTR_LAST_NAME)) {
+            user.setLastName(item.get(ATTR_LAST_NAME).getS());
+        }
+        if (item.containsKey(ATTR_PASSWORD)) {
+            user.setPassword(item.get(ATTR_PASSWORD).getS());
+        }
+        if (item.containsKey(ATTR_ROLE)) {
+            user.setRoles(Roles.valueOf(item.get(ATTR_ROLE).getS()));
+        }
+        if (item.containsKey(ATTR_IMG_URL)) {
+            user.setImageUrl(item.get(ATTR_IMG_URL).getS());
+        }
+        return user;
+    }
+
     public void save(User user) {
         if (user == null) {
             logger.error("Cannot save null user");
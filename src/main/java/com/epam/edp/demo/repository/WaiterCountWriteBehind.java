@@ -0,0 +1,162 @@
+package com.epam.edp.demo.repository;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects waiter reservation count changes in memory and writes them behind, one {@code ADD} update
+ * per waiter per flush however many bookings came in, so the booking thread never waits on DynamoDB
+ * and a busy waiter's item is not written once per booking.
+ * <p>
+ * {@code ADD} is not idempotent, so a delta is only retried when DynamoDB rejected its write; when the
+ * outcome is unknown, e.g. after a timeout or a server error, the delta is dropped rather than risk counting
+ * it twice. Pending deltas are flushed on a graceful shutdown only: a crash loses the changes of up to one
+ * flush interval. The counts only steer waiter assignment, so either loss leaves the stored count slightly
+ * low, and {@link WaiterRepository#reconcileWaiterLoads()} brings every instance's loads back in line with it.
+ */
+@Component
+public class WaiterCountWriteBehind {
+
+    private static final int SHUTDOWN_FLUSH_ATTEMPTS = 3;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final AmazonDynamoDB dynamoDbClient;
+    private final Map<String, LongAdder> deltas = new ConcurrentHashMap<>();
+    // Deltas taken out of their adder by the running flush and not yet acknowledged by DynamoDB
+    private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong lastFlushed = new AtomicLong();
+    private final Timer flushTimer;
+
+    @Autowired
+    public WaiterCountWriteBehind(AmazonDynamoDB dynamoDbClient, MeterRegistry meterRegistry) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.flushTimer = Timer.builder("waiter.count.flush")
+                .description("Time taken to write the collected waiter count deltas")
+                .register(meterRegistry);
+        Gauge.builder("waiter.count.pending", this, WaiterCountWriteBehind::pendingTotal)
+                .description("Waiter count changes not yet written to DynamoDB")
+                .register(meterRegistry);
+        Gauge.builder("waiter.count.flushed.waiters", lastFlushed, AtomicLong::get)
+                .description("Waiters updated by the last flush")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a change in a waiter's reservation count; returns at once
+     * @param email The waiter's email
+     * @param delta The change, e.g. 1 for a new booking
+     */
+    public void add(String email, long delta) {
+        deltas.computeIfAbsent(email, key -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * @param email The waiter's email
+     * @return The change recorded for the waiter and not yet written
+     */
+    public long pending(String email) {
+        LongAdder adder = deltas.get(email);
+        return (adder == null ? 0 : adder.sum()) + inFlight.getOrDefault(email, 0L);
+    }
+
+    public long pendingTotal() {
+        long total = 0;
+        for (LongAdder adder : deltas.values()) {
+            total += adder.sum();
+        }
+        for (long delta : inFlight.values()) {
+            total += delta;
+        }
+        return total;
+    }
+
+    /**
+     * Writes every collected delta; a delta whose write DynamoDB rejected goes back to be retried on the
+     * next flush, and one whose write may or may not have been applied is dropped
+     * @return Number of waiters whose count was written
+     */
+    @Scheduled(fixedDelayString = "${app.waiters.count-flush-interval-ms:2000}")
+    public synchronized int flush() {
+        return flushTimer.record(() -> {
+            int written = 0;
+            for (Map.Entry<String, LongAdder> entry : deltas.entrySet()) {
+                long delta = entry.getValue().sumThenReset();
+                if (delta == 0) {
+                    continue;
+                }
+                String email = entry.getKey();
+                inFlight.put(email, delta);
+                try {
+                    write(email, delta);
+                    written++;
+                } catch (ConditionalCheckFailedException e) {
+                    logger.warn("Dropping reservation count delta {} of removed waiter {}", delta, email);
+                } catch (AmazonServiceException e) {
+                    if (wasRejected(e)) {
+                        logger.warn("Reservation count delta {} for waiter {} was rejected, retrying on next flush: {}",
+                                delta, email, e.getMessage());
+                        entry.getValue().add(delta);
+                    } else {
+                        logger.error("Dropping reservation count delta {} for waiter {} as it may have been applied: {}",
+                                delta, email, e.getMessage(), e);
+                    }
+                } catch (RuntimeException e) {
+                    logger.error("Dropping reservation count delta {} for waiter {} as it may have been applied: {}",
+                            delta, email, e.getMessage(), e);
+                } finally {
+                    inFlight.remove(email);
+                }
+            }
+            lastFlushed.set(written);
+            if (written > 0) {
+                logger.info("Wrote reservation count deltas of {} waiters", written);
+            }
+            return written;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (int attempt = 1; attempt <= SHUTDOWN_FLUSH_ATTEMPTS && pendingTotal() != 0; attempt++) {
+            flush();
+        }
+        long lost = pendingTotal();
+        if (lost != 0) {
+            logger.error("Shutting down with {} waiter count changes unwritten: {}", lost, deltas);
+        }
+    }
+
+    private void write(String email, long delta) {
+        UpdateItemRequest updateRequest = new UpdateItemRequest()
+                .withTableName(WaiterRepository.ENV_DYNAMODB_WAITERS_TABLE)
+                .withKey(Map.of(WaiterRepository.ATTR_EMAIL, new AttributeValue(email)))
+                .withUpdateExpression("ADD #reservationCount :delta")
+                .withConditionExpression("attribute_exists(#email)")
+                .withExpressionAttributeNames(Map.of("#reservationCount", WaiterRepository.ATTR_RESERVATION_COUNT,
+                        "#email", WaiterRepository.ATTR_EMAIL))
+                .withExpressionAttributeValues(Map.of(":delta", new AttributeValue().withN(Long.toString(delta))));
+        dynamoDbClient.updateItem(updateRequest);
+    }
+
+    // A 4xx answer such as throttling means DynamoDB refused the write; a 5xx one leaves it unknown
+    private static boolean wasRejected(AmazonServiceException e) {
+        return e.getStatusCode() >= 400 && e.getStatusCode() < 500;
+    }
+}
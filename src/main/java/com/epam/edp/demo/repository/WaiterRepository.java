@@ -4,13 +4,16 @@ import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.*;
 import com.epam.edp.demo.entity.Waiter;
 import com.epam.edp.demo.exception.ResourceNotFoundException;
+import com.epam.edp.demo.utility.WaiterLoadHeap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Component
@@ -24,10 +27,13 @@ public class WaiterRepository {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final AmazonDynamoDB dynamoDbClient;
+    private final Map<String, WaiterLoadHeap> waiterLoads = new ConcurrentHashMap<>();
+    private final WaiterCountWriteBehind countWriteBehind;
 
     @Autowired
-    public WaiterRepository(AmazonDynamoDB dynamoDBClient) {
+    public WaiterRepository(AmazonDynamoDB dynamoDBClient, WaiterCountWriteBehind countWriteBehind) {
         this.dynamoDbClient = dynamoDBClient;
+        this.countWriteBehind = countWriteBehind;
         this.waiterTableName = ENV_DYNAMODB_WAITERS_TABLE;
         logger.info("Initialized DynamoDbWaiterRepository with table name: {}", waiterTableName);
     }
@@ -57,7 +63,9 @@ public class WaiterRepository {
     }
 
     /**
-     * Gets the least busy waiter for a specific location
+     * Gets the least busy waiter for a specific location.
+     * The location's waiters are loaded into an in-memory heap on first use and the pick is made there,
+     * so concurrent bookings get different waiters; the stored count is written behind.
      * @param locationId The ID of the location
      * @return The email of the least busy waiter
      * @throws ResourceNotFoundException if no waiters are available at the location
@@ -65,57 +73,14 @@ public class WaiterRepository {
     public String getLeastBusyWaiterForLocation(String locationId) {
         try {
             logger.info("Finding least busy waiter for location: {}", locationId);
-
-            // Scan for waiters at the given location
-            Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
-            expressionAttributeValues.put(":locationId", new AttributeValue(locationId));
-
-            Map<String, String> expressionAttributeNames = new HashMap<>();
-            expressionAttributeNames.put("#locationId", ATTR_LOCATION_ID);
-
-            ScanRequest scanRequest = new ScanRequest()
-                    .withTableName(waiterTableName)
-                    .withFilterExpression("#locationId = :locationId")
-                    .withExpressionAttributeNames(expressionAttributeNames)
-                    .withExpressionAttributeValues(expressionAttributeValues);
-
-            ScanResult response = dynamoDbClient.scan(scanRequest);
-            List<Map<String, AttributeValue>> waiters = new ArrayList<>(response.getItems());
-
-            if (waiters.isEmpty()) {
+            String selectedWaiterEmail = waiterLoads.computeIfAbsent(locationId, this::loadWaiterLoads).claim();
+            if (selectedWaiterEmail == null) {
                 logger.warn("No waiters found for location: {}", locationId);
                 throw new ResourceNotFoundException("No waiters available at this location");
             }
+            logger.info("Selected least busy waiter: {}", selectedWaiterEmail);
 
-            // First, check if all waiters have zero reservations
-            boolean allZeroReservations = waiters.stream()
-                    .allMatch(waiter -> !waiter.containsKey(ATTR_RESERVATION_COUNT) ||
-                            Integer.parseInt(waiter.get(ATTR_RESERVATION_COUNT).getN()) == 0);
-
-            String selectedWaiterEmail;
-            if (allZeroReservations) {
-                // If all have zero reservations, get the first waiter
-                selectedWaiterEmail = waiters.get(0).get(ATTR_EMAIL).getS();
-                logger.info("All waiters have zero reservations. Selecting first available waiter: {}",
-                        selectedWaiterEmail);
-            } else {
-                // Find waiter with minimum reservation count
-                Map<String, AttributeValue> leastBusyWaiter = waiters.stream()
-                        .min((w1, w2) -> {
-                            int count1 = w1.containsKey(ATTR_RESERVATION_COUNT) ?
-                                    Integer.parseInt(w1.get(ATTR_RESERVATION_COUNT).getN()) : 0;
-                            int count2 = w2.containsKey(ATTR_RESERVATION_COUNT) ?
-                                    Integer.parseInt(w2.get(ATTR_RESERVATION_COUNT).getN()) : 0;
-                            return Integer.compare(count1, count2);
-                        })
-                        .orElseThrow(() -> new RuntimeException("Error finding least busy waiter"));
-
-                selectedWaiterEmail = leastBusyWaiter.get(ATTR_EMAIL).getS();
-                logger.info("Selected least busy waiter: {}", selectedWaiterEmail);
-            }
-
-            // Update the reservation count for the selected waiter
-            updateWaiterReservationCount(selectedWaiterEmail);
+            countWriteBehind.add(selectedWaiterEmail, 1);
 
             return selectedWaiterEmail;
 
@@ -125,32 +90,63 @@ public class WaiterRepository {
         }
     }
 
-    private void updateWaiterReservationCount(String email) {
+    /**
+     * Re-reads every waiter's stored count into the loaded heaps, keeping increments not yet written,
+     * and picks up waiters added or moved since the last pass
+     */
+    @Scheduled(fixedDelayString = "${app.waiters.reconcile-interval-ms:300000}")
+    public void reconcileWaiterLoads() {
+        if (waiterLoads.isEmpty()) {
+            return;
+        }
         try {
-            Map<String, AttributeValue> key = new HashMap<>();
-            key.put(ATTR_EMAIL, new AttributeValue(email));
-
-            Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
-            expressionAttributeValues.put(":inc", new AttributeValue().withN("1"));
-            expressionAttributeValues.put(":zero", new AttributeValue().withN("0"));
-
-            Map<String, String> expressionAttributeNames = new HashMap<>();
-            expressionAttributeNames.put("#reservationId", "reservationId");
-
-            UpdateItemRequest updateRequest = new UpdateItemRequest()
-                    .withTableName(waiterTableName)
-                    .withKey(key)
-                    .withUpdateExpression("SET #reservationId = if_not_exists(#reservationId, :zero) + :inc")
-                    .withExpressionAttributeNames(expressionAttributeNames)
-                    .withExpressionAttributeValues(expressionAttributeValues);
+            Map<String, Map<String, Long>> countsByLocation = new HashMap<>();
+            for (Map<String, AttributeValue> item : scanWaiters(null)) {
+                AttributeValue locationId = item.get(ATTR_LOCATION_ID);
+                if (locationId != null && item.containsKey(ATTR_EMAIL)) {
+                    countsByLocation.computeIfAbsent(locationId.getS(), id -> new HashMap<>())
+                            .put(item.get(ATTR_EMAIL).getS(), currentCount(item));
+                }
+            }
+            waiterLoads.forEach((locationId, heap) ->
+                    heap.reconcile(countsByLocation.getOrDefault(locationId, Collections.emptyMap())));
+            logger.info("Reconciled waiter loads of {} locations", waiterLoads.size());
+        } catch (Exception e) {
+            logger.error("Error reconciling waiter loads: {}", e.getMessage(), e);
+        }
+    }
 
-            dynamoDbClient.updateItem(updateRequest);
-            logger.info("Successfully updated reservation count for waiter: {}", email);
+    private WaiterLoadHeap loadWaiterLoads(String locationId) {
+        WaiterLoadHeap heap = new WaiterLoadHeap();
+        for (Map<String, AttributeValue> waiter : scanWaiters(locationId)) {
+            heap.set(waiter.get(ATTR_EMAIL).getS(), currentCount(waiter));
+        }
+        logger.info("Loaded {} waiters for location: {}", heap.size(), locationId);
+        return heap;
+    }
 
-        } catch (Exception e) {
-            logger.error("Error updating reservation count for waiter {}: {}", email, e.getMessage(), e);
-            throw new RuntimeException("Error updating waiter reservation count", e);
+    private List<Map<String, AttributeValue>> scanWaiters(String locationId) {
+        ScanRequest scanRequest = new ScanRequest().withTableName(waiterTableName);
+        if (locationId != null) {
+            scanRequest.withFilterExpression("#locationId = :locationId")
+                    .withExpressionAttributeNames(Map.of("#locationId", ATTR_LOCATION_ID))
+                    .withExpressionAttributeValues(Map.of(":locationId", new AttributeValue(locationId)));
         }
+        List<Map<String, AttributeValue>> waiters = new ArrayList<>();
+        Map<String, AttributeValue> lastEvaluatedKey = null;
+        do {
+            ScanResult response = dynamoDbClient.scan(scanRequest.withExclusiveStartKey(lastEvaluatedKey));
+            waiters.addAll(response.getItems());
+            lastEvaluatedKey = response.getLastEvaluatedKey();
+        } while (lastEvaluatedKey != null && !lastEvaluatedKey.isEmpty());
+        return waiters;
+    }
+
+    // Stored count plus the increments handed out here but not yet written
+    private long currentCount(Map<String, AttributeValue> waiter) {
+        long stored = waiter.containsKey(ATTR_RESERVATION_COUNT) ?
+                Long.parseLong(waiter.get(ATTR_RESERVATION_COUNT).getN()) : 0;
+        return stored + countWriteBehind.pending(waiter.get(ATTR_EMAIL).getS());
     }
 
     /**
@@ -237,6 +233,7 @@ public class WaiterRepository {
                     .withKey(key);
 
             dynamoDbClient.deleteItem(deleteItemRequest);
+            waiterLoads.values().forEach(heap -> heap.remove(email));
             logger.info("Successfully removed waiter: {}", email);
         } catch (ResourceNotFoundException e) {
             logger.warn(e.getMessage());
@@ -3,12 +3,19 @@ package com.epam.edp.demo.repository.impl;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.*;
 import com.epam.edp.demo.entity.Reservation;
+import com.epam.edp.demo.entity.ReservationPage;
+import com.epam.edp.demo.exception.ConflictException;
 import com.epam.edp.demo.exception.ForbiddenException;
 import com.epam.edp.demo.exception.ResourceNotFoundException;
 import com.epam.edp.demo.exception.TooLateForCancellationException;
 import com.epam.edp.demo.exception.ValidationException;
+import com.epam.edp.demo.exception.VersionConflictException;
 import com.epam.edp.demo.repository.ReservationRepository;
+import com.epam.edp.demo.utility.CursorCodec;
+import com.epam.edp.demo.utility.ReservationStatusRules;
+import com.epam.edp.demo.utility.SlotSchedule;
 import com.epam.edp.demo.validation.Validation;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,17 +25,28 @@ import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Repository;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Repository
 @RequiredArgsConstructor
 public class DynamoDbReservationRepository implements ReservationRepository {
     private final String reservationTableName="tm5-restaurant-reservations-table-a4v2";
+    private final String slotClaimTableName="tm5-restaurant-slot-claims-table-a4v2";
     public static final String ATTR_RESERVATION_ID = "reservationId";
     public static final String ATTR_USER_ID = "userId";
     public static final String ATTR_LOCATION_ID = "locationId";
@@ -40,9 +58,21 @@ public class DynamoDbReservationRepository implements ReservationRepository {
     public static final String ATTR_CREATED_AT = "createdAt";
     public static final String ATTR_WAITER_ID = "waiterId";
     public static final String ATTR_DATE = "date";
+    public static final String ATTR_VERSION = "version";
+    public static final String INDEX_LOCATION_DATE = "locationId-date-index";
+    public static final String INDEX_USER_ID = "userId-index";
+    public static final String INDEX_WAITER_ID = "waiterId-index";
+    public static final String ATTR_CLAIM_ID = "claimId";
+    public static final String ATTR_EXPIRES_AT = "expiresAt";
+    public static final String HOLD_RECORD_PREFIX = "hold#";
+    public static final int CLAIM_GRANULARITY_MINUTES = 15;
+    public static final int CANCELLATION_WINDOW_MINUTES = 30;
+    private static final int BATCH_GET_LIMIT = 100;
+    private static final int SCAN_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final AmazonDynamoDB dynamoDbClient;
     private final Validation validation;
+    private final ExecutorService scanExecutor = Executors.newFixedThreadPool(SCAN_THREADS, new ScanThreadFactory());
 
 
 
@@ -54,25 +84,380 @@ public class DynamoDbReservationRepository implements ReservationRepository {
     public List<Reservation> getAllReservation() {
         logger.info("Finding all Reservation");
 
-        ScanRequest scanRequest = new ScanRequest()
-                .withTableName(reservationTableName);
-            ScanResult result = dynamoDbClient.scan(scanRequest);
-            List<Reservation> reservations = new ArrayList<>();
+        List<Reservation> reservations;
+        try (Stream<Reservation> stream = streamAllReservations()) {
+            reservations = stream.collect(Collectors.toList());
+        }
 
-            for (Map<String, AttributeValue> item : result.getItems()) {
-                reservations.add(mapToReservation(item));
+        logger.info("Found {} reservation", reservations.size());
+        return reservations;
+    }
+
+    /**
+     * Scans the reservations table lazily, fetching the next page only when the
+     * current one has been consumed
+     * @return A sequential stream over every reservation
+     */
+    @Override
+    public Stream<Reservation> streamAllReservations() {
+        ScanRequest scanRequest = new ScanRequest().withTableName(reservationTableName);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(new ScanIterator(scanRequest), Spliterator.ORDERED | Spliterator.NONNULL),
+                false);
+    }
+
+    /**
+     * Runs a parallel scan with one task per segment on the bounded scan executor and
+     * blocks until every segment has been read
+     * @param totalSegments Number of scan segments
+     * @param action Called for every reservation, possibly from several threads at once
+     */
+    @Override
+    public void forEachReservation(int totalSegments, Consumer<Reservation> action) {
+        int segments = Math.max(1, totalSegments);
+        logger.info("Scanning reservations in {} segments", segments);
+
+        List<Future<?>> futures = new ArrayList<>(segments);
+        for (int segment = 0; segment < segments; segment++) {
+            ScanRequest scanRequest = new ScanRequest()
+                    .withTableName(reservationTableName)
+                    .withSegment(segment)
+                    .withTotalSegments(segments);
+            futures.add(scanExecutor.submit(() -> new ScanIterator(scanRequest).forEachRemaining(action)));
+        }
+
+        try {
+            for (Future<?> future : futures) {
+                future.get();
             }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scanning reservations", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Error scanning reservations", e.getCause());
+        }
+    }
 
-        
+    @PreDestroy
+    public void shutdownScanExecutor() {
+        scanExecutor.shutdownNow();
+    }
 
+    /**
+     * Reads one page of a user's reservations from the userId index, newest first
+     * @param userId The email of the customer
+     * @param cursor Continuation token returned with the previous page, or null for the first page
+     * @param limit Maximum number of reservations in the page
+     * @return The page and the cursor of the next one, null when there is nothing left
+     */
+    @Override
+    public ReservationPage findByUserId(String userId, String cursor, int limit) {
+        logger.info("Querying reservations page for user {}", userId);
+        return queryPage(INDEX_USER_ID, ATTR_USER_ID, userId, cursor, limit);
+    }
 
-            logger.info("Found {} reservation", reservations.size());
-            return reservations;
+    /**
+     * Reads one page of the reservations assigned to a waiter from the waiterId index, newest first
+     * @param waiterId The email of the waiter
+     * @param cursor Continuation token returned with the previous page, or null for the first page
+     * @param limit Maximum number of reservations in the page
+     * @return The page and the cursor of the next one, null when there is nothing left
+     */
+    @Override
+    public ReservationPage findByWaiterId(String waiterId, String cursor, int limit) {
+        logger.info("Querying reservations page for waiter {}", waiterId);
+        return queryPage(INDEX_WAITER_ID, ATTR_WAITER_ID, waiterId, cursor, limit);
+    }
+
+    private ReservationPage queryPage(String indexName, String keyAttribute, String keyValue, String cursor, int limit) {
+        Map<String, AttributeValue> exclusiveStartKey = CursorCodec.decode(cursor);
+        if (exclusiveStartKey != null) {
+            AttributeValue cursorKey = exclusiveStartKey.get(keyAttribute);
+            // A cursor is only valid for the partition it was issued for
+            if (cursorKey == null || !keyValue.equals(cursorKey.getS())) {
+                throw new ValidationException("Invalid cursor");
+            }
+        }
+
+        QueryRequest queryRequest = new QueryRequest()
+                .withTableName(reservationTableName)
+                .withIndexName(indexName)
+                .withKeyConditionExpression("#key = :key")
+                .withExpressionAttributeNames(Map.of("#key", keyAttribute))
+                .withExpressionAttributeValues(Map.of(":key", new AttributeValue(keyValue)))
+                .withScanIndexForward(false)
+                .withLimit(limit)
+                .withExclusiveStartKey(exclusiveStartKey);
+
+        QueryResult result = dynamoDbClient.query(queryRequest);
+        List<Reservation> reservations = new ArrayList<>(result.getItems().size());
+        for (Map<String, AttributeValue> item : result.getItems()) {
+            reservations.add(mapToReservation(item));
+        }
+
+        return ReservationPage.builder()
+                .reservations(reservations)
+                .nextCursor(CursorCodec.encode(result.getLastEvaluatedKey()))
+                .build();
     }
 
     @Override
     public Reservation saveReservation(Reservation reservation) {
         logger.info("Saving reservation with ID: {}", reservation.getReservationId());
+            PutItemRequest putItemRequest = new PutItemRequest().withTableName(reservationTableName).withItem(toItem(reservation));
+            dynamoDbClient.putItem(putItemRequest);
+
+            logger.info("Successfully saved reservation with ID: {}", reservation.getReservationId());
+            return reservation;
+    }
+
+    /**
+     * Writes a new reservation together with a claim on every quarter hour its table is held for, in one
+     * transaction that fails if any of those quarters is already claimed
+     * @param reservation The new reservation
+     * @return The saved reservation
+     * @throws ConflictException if the table is already booked for part of the time
+     */
+    @Override
+    public Reservation insertReservation(Reservation reservation) {
+        return insertReservation(reservation, null);
+    }
+
+    /**
+     * Writes a new reservation as above, taking over the quarters of the caller's hold. The hold record is
+     * deleted in the same transaction on condition that it belongs to the reservation's user
+     * @param reservation The new reservation
+     * @param holdId The ID of the hold being confirmed, may be null
+     * @return The saved reservation
+     * @throws ConflictException if the table is booked or held by someone else for part of the time
+     */
+    @Override
+    public Reservation insertReservation(Reservation reservation, String holdId) {
+        logger.info("Inserting reservation with ID: {}", reservation.getReservationId());
+        reservation.setVersion(0L);
+        List<TransactWriteItem> writes = new ArrayList<>();
+        writes.add(new TransactWriteItem().withPut(new Put()
+                .withTableName(reservationTableName)
+                .withItem(toItem(reservation))
+                .withConditionExpression("attribute_not_exists(#reservationId)")
+                .withExpressionAttributeNames(Map.of("#reservationId", ATTR_RESERVATION_ID))));
+        long expiresAt = claimExpiry(reservation.getDate());
+        for (String claimId : slotClaimIds(reservation)) {
+            writes.add(claimWrite(claimId, reservation.getReservationId(), expiresAt, holdId));
+        }
+        if (holdId != null) {
+            writes.add(new TransactWriteItem().withDelete(new Delete()
+                    .withTableName(slotClaimTableName)
+                    .withKey(Map.of(ATTR_CLAIM_ID, new AttributeValue(HOLD_RECORD_PREFIX + holdId)))
+                    .withConditionExpression("attribute_not_exists(#claimId) OR #userId = :userId")
+                    .withExpressionAttributeNames(Map.of("#claimId", ATTR_CLAIM_ID, "#userId", ATTR_USER_ID))
+                    .withExpressionAttributeValues(Map.of(":userId", new AttributeValue(reservation.getUserId())))));
+        }
+
+        transactClaims(writes, reservation);
+        logger.info("Successfully inserted reservation with ID: {}", reservation.getReservationId());
+        return reservation;
+    }
+
+    /**
+     * Places a short-lived hold on a table: a hold record naming its holder and time, plus the quarter-hour
+     * claims, all expiring together. Expired claims count as free even before the table's TTL removes them
+     * @param hold The held table and time, with the hold ID as reservationId and the holder as userId
+     * @param expiresAt Epoch second the hold lapses at
+     * @throws ConflictException if the table is already booked or held for part of the time
+     */
+    @Override
+    public void placeHold(Reservation hold, long expiresAt) {
+        logger.info("Placing hold {} on table {} at location {}", hold.getReservationId(), hold.getTableNumber(), hold.getLocationId());
+        Map<String, AttributeValue> record = toItem(hold);
+        record.remove(ATTR_RESERVATION_ID);
+        record.put(ATTR_CLAIM_ID, new AttributeValue(HOLD_RECORD_PREFIX + hold.getReservationId()));
+        record.put(ATTR_EXPIRES_AT, new AttributeValue().withN(String.valueOf(expiresAt)));
+
+        List<TransactWriteItem> writes = new ArrayList<>();
+        writes.add(new TransactWriteItem().withPut(new Put()
+                .withTableName(slotClaimTableName)
+                .withItem(record)
+                .withConditionExpression("attribute_not_exists(#claimId)")
+                .withExpressionAttributeNames(Map.of("#claimId", ATTR_CLAIM_ID))));
+        for (String claimId : slotClaimIds(hold)) {
+            writes.add(claimWrite(claimId, hold.getReservationId(), expiresAt, null));
+        }
+        transactClaims(writes, hold);
+    }
+
+    /**
+     * Releases a hold before it lapses
+     * @param holdId The ID of the hold
+     * @param userId The user releasing it
+     * @return The released hold, or empty when there is no such hold any more
+     * @throws ForbiddenException if the hold belongs to another user
+     */
+    @Override
+    public Optional<Reservation> releaseHold(String holdId, String userId) {
+        Map<String, AttributeValue> key = Map.of(ATTR_CLAIM_ID, new AttributeValue(HOLD_RECORD_PREFIX + holdId));
+        Map<String, AttributeValue> record = dynamoDbClient.getItem(new GetItemRequest()
+                .withTableName(slotClaimTableName)
+                .withKey(key)
+                .withConsistentRead(true)).getItem();
+        if (record == null || record.isEmpty()) {
+            return Optional.empty();
+        }
+        Reservation hold = mapToReservation(record);
+        hold.setReservationId(holdId);
+        if (!userId.equals(hold.getUserId())) {
+            throw new ForbiddenException("You do not have permission to release holds placed by other users");
+        }
+
+        releaseSlotClaims(hold);
+        dynamoDbClient.deleteItem(new DeleteItemRequest().withTableName(slotClaimTableName).withKey(key));
+        logger.info("Released hold {}", holdId);
+        return Optional.of(hold);
+    }
+
+    // Claims for every quarter of the updated reservation and releases of the previous quarters it no longer holds
+    private List<TransactWriteItem> claimMoves(Reservation previous, Reservation updated) {
+        Set<String> claimed = slotClaimIds(updated);
+        List<TransactWriteItem> writes = new ArrayList<>();
+        long expiresAt = claimExpiry(updated.getDate());
+        for (String claimId : claimed) {
+            writes.add(claimWrite(claimId, updated.getReservationId(), expiresAt, null));
+        }
+        for (String claimId : slotClaimIds(previous)) {
+            if (!claimed.contains(claimId)) {
+                writes.add(releaseWrite(claimId, previous.getReservationId()));
+            }
+        }
+        return writes;
+    }
+
+    /**
+     * Frees the quarters claimed by a cancelled or deleted reservation. Claims are only removed while they still
+     * belong to it, and ones that cannot be removed expire on their own the day after the reservation
+     * @param reservation The reservation whose time is released
+     */
+    @Override
+    public void releaseSlotClaims(Reservation reservation) {
+        for (String claimId : slotClaimIds(reservation)) {
+            try {
+                dynamoDbClient.deleteItem(new DeleteItemRequest()
+                        .withTableName(slotClaimTableName)
+                        .withKey(Map.of(ATTR_CLAIM_ID, new AttributeValue(claimId)))
+                        .withConditionExpression("#reservationId = :reservationId")
+                        .withExpressionAttributeNames(Map.of("#reservationId", ATTR_RESERVATION_ID))
+                        .withExpressionAttributeValues(Map.of(":reservationId", new AttributeValue(reservation.getReservationId()))));
+            } catch (ConditionalCheckFailedException e) {
+                logger.debug("Slot claim {} no longer belongs to reservation {}", claimId, reservation.getReservationId());
+            } catch (RuntimeException e) {
+                logger.warn("Error releasing slot claim {} of reservation {}: {}", claimId,
+                        reservation.getReservationId(), e.getMessage());
+            }
+        }
+    }
+
+    private void transactClaims(List<TransactWriteItem> writes, Reservation reservation) {
+        try {
+            dynamoDbClient.transactWriteItems(new TransactWriteItemsRequest().withTransactItems(writes));
+        } catch (TransactionCanceledException e) {
+            List<CancellationReason> reasons = e.getCancellationReasons() == null ? Collections.emptyList() : e.getCancellationReasons();
+            boolean conditionFailed = false;
+            for (int i = 0; i < reasons.size() && i < writes.size(); i++) {
+                if ("ConditionalCheckFailed".equals(reasons.get(i).getCode())) {
+                    // The only reservation item updated in a transaction is an edit, conditional on its version
+                    Update update = writes.get(i).getUpdate();
+                    if (update != null && reservationTableName.equals(update.getTableName())) {
+                        throw versionConflict(reservation.getReservationId());
+                    }
+                    conditionFailed = true;
+                }
+            }
+            if (!conditionFailed) {
+                throw e;
+            }
+            logger.info("Table {} at location {} is already claimed on {} between {} and {}", reservation.getTableNumber(),
+                    reservation.getLocationId(), reservation.getDate(), reservation.getTimeFrom(), reservation.getTimeTo());
+            throw new ConflictException("Table " + reservation.getTableNumber() + " is already booked on "
+                    + reservation.getDate() + " between " + reservation.getTimeFrom() + " and " + reservation.getTimeTo());
+        }
+    }
+
+    // Claims a quarter hour unless another reservation or an unexpired hold other than the given one has it
+    private TransactWriteItem claimWrite(String claimId, String ownerId, long expiresAt, String holdId) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put(ATTR_CLAIM_ID, new AttributeValue(claimId));
+        item.put(ATTR_RESERVATION_ID, new AttributeValue(ownerId));
+        item.put(ATTR_EXPIRES_AT, new AttributeValue().withN(String.valueOf(expiresAt)));
+
+        Map<String, AttributeValue> values = new HashMap<>();
+        values.put(":reservationId", new AttributeValue(ownerId));
+        values.put(":now", new AttributeValue().withN(String.valueOf(Instant.now().getEpochSecond())));
+        String condition = "attribute_not_exists(#claimId) OR #reservationId = :reservationId OR #expiresAt < :now";
+        if (holdId != null) {
+            values.put(":holdId", new AttributeValue(holdId));
+            condition += " OR #reservationId = :holdId";
+        }
+        return new TransactWriteItem().withPut(new Put()
+                .withTableName(slotClaimTableName)
+                .withItem(item)
+                .withConditionExpression(condition)
+                .withExpressionAttributeNames(Map.of("#claimId", ATTR_CLAIM_ID, "#reservationId", ATTR_RESERVATION_ID,
+                        "#expiresAt", ATTR_EXPIRES_AT))
+                .withExpressionAttributeValues(values));
+    }
+
+    // Releases a quarter hour held by the reservation
+    private TransactWriteItem releaseWrite(String claimId, String reservationId) {
+        return new TransactWriteItem().withDelete(new Delete()
+                .withTableName(slotClaimTableName)
+                .withKey(Map.of(ATTR_CLAIM_ID, new AttributeValue(claimId)))
+                .withConditionExpression("attribute_not_exists(#claimId) OR #reservationId = :reservationId")
+                .withExpressionAttributeNames(Map.of("#claimId", ATTR_CLAIM_ID, "#reservationId", ATTR_RESERVATION_ID))
+                .withExpressionAttributeValues(Map.of(":reservationId", new AttributeValue(reservationId))));
+    }
+
+    /**
+     * The claim keys of a reservation, one per quarter hour its table is held for, rounded outwards so that
+     * bookings sharing any part of a quarter always collide
+     * @param reservation A reservation with location, table, date and times set
+     * @return Keys of the form locationId#tableId#date#HH:mm, empty when the times cannot be read
+     */
+    public static Set<String> slotClaimIds(Reservation reservation) {
+        Set<String> claimIds = new LinkedHashSet<>();
+        if (reservation.getLocationId() == null || reservation.getTableNumber() == null || reservation.getDate() == null) {
+            return claimIds;
+        }
+        int from;
+        int to;
+        try {
+            from = SlotSchedule.minuteOfDay(reservation.getTimeFrom());
+            to = reservation.getTimeTo() == null || reservation.getTimeTo().isEmpty()
+                    ? from + SlotSchedule.DEFAULT_DURATION_MINUTES
+                    : SlotSchedule.minuteOfDay(reservation.getTimeTo());
+        } catch (DateTimeParseException | NullPointerException e) {
+            return claimIds;
+        }
+        String prefix = reservation.getLocationId() + "#" + reservation.getTableNumber() + "#" + reservation.getDate() + "#";
+        for (int quarter = from - from % CLAIM_GRANULARITY_MINUTES; quarter < to; quarter += CLAIM_GRANULARITY_MINUTES) {
+            claimIds.add(prefix + String.format("%02d:%02d", quarter / 60, quarter % 60));
+        }
+        return claimIds;
+    }
+
+    // Claims are dropped by the table's TTL at the end of the day after the reservation
+    private static long claimExpiry(String date) {
+        try {
+            return LocalDate.parse(date).plusDays(2).atStartOfDay(ZoneId.of("Asia/Kolkata")).toEpochSecond();
+        } catch (DateTimeParseException e) {
+            return LocalDate.now(ZoneId.of("Asia/Kolkata")).plusDays(2).atStartOfDay(ZoneId.of("Asia/Kolkata")).toEpochSecond();
+        }
+    }
+
+    private Map<String, AttributeValue> toItem(Reservation reservation) {
             Map<String, AttributeValue> item = new HashMap<>();
             item.put(ATTR_RESERVATION_ID, new AttributeValue(reservation.getReservationId()));
             if (reservation.getUserId() != null) item.put(ATTR_USER_ID, new AttributeValue(reservation.getUserId()));
@@ -85,136 +470,330 @@ public class DynamoDbReservationRepository implements ReservationRepository {
             if (reservation.getCreatedAt() != null) item.put(ATTR_CREATED_AT, new AttributeValue(reservation.getCreatedAt()));
             if (reservation.getWaiterId() != null) item.put(ATTR_WAITER_ID, new AttributeValue(reservation.getWaiterId()));
             if (reservation.getDate() != null) item.put(ATTR_DATE, new AttributeValue(reservation.getDate()));
-
-            PutItemRequest putItemRequest = new PutItemRequest().withTableName(reservationTableName).withItem(item);
-            dynamoDbClient.putItem(putItemRequest);
-
-            logger.info("Successfully saved reservation with ID: {}", reservation.getReservationId());
-            return reservation;
+            if (reservation.getVersion() != null) item.put(ATTR_VERSION, new AttributeValue().withN(String.valueOf(reservation.getVersion())));
+            return item;
     }
 
 
 
+    /**
+     * Sets the status of a reservation in one conditional write that also checks the owner;
+     * the reservation is only read back when the write is refused, to tell which check failed
+     */
     @Override
     public boolean statusChange(String id,String status,String email){
 
         logger.info("Changing reservation status with ID: {}", id);
-        Map<String, AttributeValue> key = Collections.singletonMap(ATTR_RESERVATION_ID, new AttributeValue(id));
-        GetItemRequest getItemRequest = new GetItemRequest().withTableName(reservationTableName).withKey(key);
-        Map<String, AttributeValue> item = dynamoDbClient.getItem(getItemRequest).getItem();
-
-        if (item == null || item.isEmpty()) {
-            logger.warn("Reservation with ID {} not found", id);
-            throw new ResourceNotFoundException("Reservation Id not found");
-        }
-        // Check if the reservation belongs to the user
-        Reservation existingReservation=mapToReservation(item);
-        if (!existingReservation.getUserId().equals(email)) {
-            logger.warn("User {} attempted to update reservation {} belonging to {}",
-                    email, id, existingReservation.getUserId());
-            throw new ForbiddenException("You do not have permission to delete reservations made by other users");
-        }
+        UpdateItemRequest updateItemRequest = new UpdateItemRequest()
+                .withTableName(reservationTableName)
+                .withKey(Collections.singletonMap(ATTR_RESERVATION_ID, new AttributeValue(id)))
+                .withUpdateExpression("SET #status = :status ADD #version :one")
+                .withConditionExpression("#userId = :userId")
+                .withExpressionAttributeNames(Map.of("#status", ATTR_STATUS, "#userId", ATTR_USER_ID, "#version", ATTR_VERSION))
+                .withExpressionAttributeValues(Map.of(":status", new AttributeValue(status), ":userId", new AttributeValue(email),
+                        ":one", new AttributeValue().withN("1")))
+                .withReturnValues(ReturnValue.ALL_OLD);
         try {
-
-            Map<String, AttributeValueUpdate> updates = new HashMap<>();
-            updates.put(ATTR_STATUS, new AttributeValueUpdate().withValue(new AttributeValue(status)).withAction(AttributeAction.PUT));
-            UpdateItemRequest updateItemRequest = new UpdateItemRequest().withTableName(reservationTableName).withKey(key).withAttributeUpdates(updates);
-            dynamoDbClient.updateItem(updateItemRequest);
+            UpdateItemResult result = dynamoDbClient.updateItem(updateItemRequest);
             logger.info("Successfully :{} reservation with ID: {}", status, id);
+            if (!ReservationStatusRules.UPCOMING_STATUSES.contains(status)) {
+                releaseSlotClaims(mapToReservation(result.getAttributes()));
+            }
             return true;
+        } catch (ConditionalCheckFailedException e) {
+            throw refusal(id, email, null);
         } catch (RuntimeException e) {
             return false;
         }
     }
 
+    /**
+     * Moves a reservation to a new status only if it is still in one of the expected statuses and
+     * still booked for the same date and time, so a stale or repeated transition is a no-op
+     * @param reservation The reservation as it was when the transition was planned
+     * @param newStatus The status to set
+     * @param expectedStatuses Statuses the reservation may currently be in
+     * @return true if the status was written, false if the condition did not hold
+     */
+    @Override
+    public boolean transitionStatus(Reservation reservation, String newStatus, Collection<String> expectedStatuses) {
+        Map<String, String> expressionAttributeNames = new HashMap<>();
+        expressionAttributeNames.put("#status", ATTR_STATUS);
+        expressionAttributeNames.put("#date", ATTR_DATE);
+        expressionAttributeNames.put("#timeFrom", ATTR_TIME_FROM);
+        expressionAttributeNames.put("#timeTo", ATTR_TIME_TO);
+        expressionAttributeNames.put("#version", ATTR_VERSION);
+
+        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        expressionAttributeValues.put(":newStatus", new AttributeValue(newStatus));
+        expressionAttributeValues.put(":one", new AttributeValue().withN("1"));
+        expressionAttributeValues.put(":date", new AttributeValue(reservation.getDate()));
+        expressionAttributeValues.put(":timeFrom", new AttributeValue(reservation.getTimeFrom()));
+        expressionAttributeValues.put(":timeTo", new AttributeValue(reservation.getTimeTo()));
+
+        List<String> placeholders = new ArrayList<>();
+        int i = 0;
+        for (String status : expectedStatuses) {
+            String placeholder = ":expected" + i++;
+            placeholders.add(placeholder);
+            expressionAttributeValues.put(placeholder, new AttributeValue(status));
+        }
+
+        UpdateItemRequest updateItemRequest = new UpdateItemRequest()
+                .withTableName(reservationTableName)
+                .withKey(Map.of(ATTR_RESERVATION_ID, new AttributeValue(reservation.getReservationId())))
+                .withUpdateExpression("SET #status = :newStatus ADD #version :one")
+                .withConditionExpression("#status IN (" + String.join(", ", placeholders) + ")"
+                        + " AND #date = :date AND #timeFrom = :timeFrom AND #timeTo = :timeTo")
+                .withExpressionAttributeNames(expressionAttributeNames)
+                .withExpressionAttributeValues(expressionAttributeValues);
 
+        try {
+            dynamoDbClient.updateItem(updateItemRequest);
+            logger.info("Reservation {} moved to {}", reservation.getReservationId(), newStatus);
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            logger.info("Reservation {} changed since it was scheduled, skipping {}", reservation.getReservationId(), newStatus);
+            return false;
+        }
+    }
 
+    /**
+     * Cancels a customer's reservation in one conditional write: it must belong to the customer, be CONFIRMED
+     * and have been made within the last {@value #CANCELLATION_WINDOW_MINUTES} minutes. The reservation is only
+     * read back when the write is refused, to tell the customer which check failed.
+     * @param id The ID of the reservation
+     * @param email The customer cancelling it
+     * @return true once cancelled
+     */
     @Override
-    public boolean deleteReservation(String id) {
+    public boolean deleteReservation(String id, String email) {
 
         logger.info("Cancelling reservation with ID: {}", id);
-            Map<String, AttributeValue> key = Collections.singletonMap(ATTR_RESERVATION_ID, new AttributeValue(id));
-            GetItemRequest getItemRequest = new GetItemRequest().withTableName(reservationTableName).withKey(key);
-            Map<String, AttributeValue> item = dynamoDbClient.getItem(getItemRequest).getItem();
+        LocalDateTime now = LocalDateTime.now(ZoneId.of("Asia/Kolkata"));
+        Map<String, String> expressionAttributeNames = new HashMap<>();
+        expressionAttributeNames.put("#status", ATTR_STATUS);
+        expressionAttributeNames.put("#userId", ATTR_USER_ID);
+        expressionAttributeNames.put("#createdAt", ATTR_CREATED_AT);
+        expressionAttributeNames.put("#version", ATTR_VERSION);
 
-            if (item == null || item.isEmpty()) {
-                logger.warn("Reservation with ID {} not found", id);
-                throw new ResourceNotFoundException("Reservation Id not found");
-            }
-            if(item.get(ATTR_STATUS).getS().equals("CONFIRMED")) {
+        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        expressionAttributeValues.put(":cancelled", new AttributeValue("CANCELLED"));
+        expressionAttributeValues.put(":one", new AttributeValue().withN("1"));
+        expressionAttributeValues.put(":confirmed", new AttributeValue("CONFIRMED"));
+        expressionAttributeValues.put(":userId", new AttributeValue(email));
+        // Same window as Validation.isWithin30MinutesOfCreation: less than a whole minute past the limit still counts
+        expressionAttributeValues.put(":cancellableAfter", new AttributeValue(now.minusMinutes(CANCELLATION_WINDOW_MINUTES + 1).toString()));
+        expressionAttributeValues.put(":now", new AttributeValue(now.toString()));
+
+        UpdateItemRequest updateItemRequest = new UpdateItemRequest()
+                .withTableName(reservationTableName)
+                .withKey(Collections.singletonMap(ATTR_RESERVATION_ID, new AttributeValue(id)))
+                .withUpdateExpression("SET #status = :cancelled ADD #version :one")
+                .withConditionExpression("#userId = :userId AND #status = :confirmed"
+                        + " AND #createdAt > :cancellableAfter AND #createdAt <= :now")
+                .withExpressionAttributeNames(expressionAttributeNames)
+                .withExpressionAttributeValues(expressionAttributeValues)
+                .withReturnValues(ReturnValue.ALL_OLD);
+        try {
+            UpdateItemResult result = dynamoDbClient.updateItem(updateItemRequest);
+            releaseSlotClaims(mapToReservation(result.getAttributes()));
+            logger.info("Successfully :CANCELLED reservation with ID: {}", id);
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            throw refusal(id, email, "CONFIRMED");
+        }
+    }
 
-                if (validation.isWithin30MinutesOfCreation(item.get(ATTR_CREATED_AT).getS())) {
-                    statusChange(id, "CANCELLED", item.get(ATTR_USER_ID).getS());
-                    return true;
-                } else {
-                    throw new TooLateForCancellationException("Cannot cancel the reservation after 30 minutes of booking");
-                }
-            }
-            else{
-                throw new ValidationException("You cannot Cancel the Reservation whose status is not CONFIRMED");
-            }
+    // Reads the reservation a conditional write was refused for and returns the exception for the first failed check
+    private RuntimeException refusal(String id, String email, String requiredStatus) {
+        Map<String, AttributeValue> item = dynamoDbClient.getItem(new GetItemRequest()
+                .withTableName(reservationTableName)
+                .withKey(Collections.singletonMap(ATTR_RESERVATION_ID, new AttributeValue(id)))
+                .withConsistentRead(true)).getItem();
+        if (item == null || item.isEmpty()) {
+            logger.warn("Reservation with ID {} not found", id);
+            return new ResourceNotFoundException("Reservation Id not found");
+        }
+        Reservation existingReservation = mapToReservation(item);
+        if (!email.equals(existingReservation.getUserId())) {
+            logger.warn("User {} attempted to update reservation {} belonging to {}",
+                    email, id, existingReservation.getUserId());
+            return new ForbiddenException("You do not have permission to delete reservations made by other users");
         }
+        if (requiredStatus != null && !requiredStatus.equals(existingReservation.getStatus())) {
+            return new ValidationException("You cannot Cancel the Reservation whose status is not CONFIRMED");
+        }
+        return new TooLateForCancellationException("Cannot cancel the reservation after 30 minutes of booking");
+    }
 
 
     public List<Reservation> getReservationByLocationIdDateTableId(String locationId, String date, String tableId)
     {
-        List<Reservation> allReservation=getAllReservation();
-        return  allReservation.stream()
-                .filter(reservation -> reservation.getLocationId().equals(locationId) &&
-                        reservation.getDate().equals(date)
-                        && reservation.getTableNumber().equals(tableId)
-                        && reservation.getStatus().equals("CONFIRMED"))
+        return  findByLocationAndDate(locationId, date, List.of("CONFIRMED")).stream()
+                .filter(reservation -> tableId.equals(reservation.getTableNumber()))
                 .collect(Collectors.toList());
 
     }
 
-    public List<String> getAvailableTimeSlot(List<Reservation> conflictDateReservation){
-        List<String> availableSlot= Arrays.asList("10:30", "12:15", "14:00", "15:45", "17:30", "19:15", "21:00");
-        if(conflictDateReservation.isEmpty())
-            return availableSlot;
+    /**
+     * Queries the locationId-date index for the reservations of one location on one day.
+     * Only the attributes needed for availability and conflict checks are projected.
+     * @param locationId The ID of the location
+     * @param date The reservation date (yyyy-MM-dd)
+     * @param statuses Statuses to keep, or null/empty for all of them
+     * @return The matching reservations
+     */
+    @Override
+    public List<Reservation> findByLocationAndDate(String locationId, String date, Collection<String> statuses) {
+        logger.info("Querying reservations for location {} on {}", locationId, date);
 
-        for(Reservation reservation:conflictDateReservation){
-            if(availableSlot.contains(reservation.getTimeFrom())){
-                availableSlot.remove(reservation.getTimeFrom());
-            }
+        Map<String, String> expressionAttributeNames = new HashMap<>();
+        expressionAttributeNames.put("#locationId", ATTR_LOCATION_ID);
+        expressionAttributeNames.put("#date", ATTR_DATE);
+        expressionAttributeNames.put("#status", ATTR_STATUS);
 
-        }
-        return availableSlot;
+        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        expressionAttributeValues.put(":locationId", new AttributeValue(locationId));
+        expressionAttributeValues.put(":date", new AttributeValue(date));
 
-    }
+        QueryRequest queryRequest = new QueryRequest()
+                .withTableName(reservationTableName)
+                .withIndexName(INDEX_LOCATION_DATE)
+                .withKeyConditionExpression("#locationId = :locationId AND #date = :date")
+                .withProjectionExpression(String.join(", ", ATTR_RESERVATION_ID, "#locationId", "#date",
+                        ATTR_TABLE_NUMBER, ATTR_TIME_FROM, ATTR_TIME_TO, ATTR_GUEST_NUMBER, "#status"));
+
+        if (statuses != null && !statuses.isEmpty()) {
+            List<String> placeholders = new ArrayList<>();
+            int i = 0;
+            for (String status : statuses) {
+                String placeholder = ":status" + i++;
+                placeholders.add(placeholder);
+                expressionAttributeValues.put(placeholder, new AttributeValue(status));
+            }
+            queryRequest.setFilterExpression("#status IN (" + String.join(", ", placeholders) + ")");
+        }
+        queryRequest.setExpressionAttributeNames(expressionAttributeNames);
+        queryRequest.setExpressionAttributeValues(expressionAttributeValues);
 
+        List<Reservation> reservations = new ArrayList<>();
+        Map<String, AttributeValue> lastEvaluatedKey;
+        do {
+            QueryResult result = dynamoDbClient.query(queryRequest);
+            for (Map<String, AttributeValue> item : result.getItems()) {
+                reservations.add(mapToReservation(item));
+            }
+            lastEvaluatedKey = result.getLastEvaluatedKey();
+            queryRequest.setExclusiveStartKey(lastEvaluatedKey);
+        } while (lastEvaluatedKey != null && !lastEvaluatedKey.isEmpty());
 
+        logger.info("Found {} reservations for location {} on {}", reservations.size(), locationId, date);
+        return reservations;
+    }
 
+    @Override
+    public List<String> getAvailableTimeSlot(List<Reservation> conflictDateReservation){
+        long bookedSlots = 0L;
+        for(Reservation reservation:conflictDateReservation){
+            bookedSlots |= SlotSchedule.STANDARD.bit(reservation.getTimeFrom());
+        }
+        return SlotSchedule.STANDARD.toSlots(SlotSchedule.STANDARD.available(bookedSlots, 0));
+    }
 
     @Override
     public Reservation findByReservationId(String reservationId) {
-        logger.info("Finding reservation by ID: {}", reservationId);
+        return findById(reservationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation Id not Found"));
+    }
 
-        Map<String, AttributeValue> key = Map.of(ATTR_RESERVATION_ID, new AttributeValue(reservationId));
+    /**
+     * Reads a single reservation by its primary key
+     * @param reservationId The ID of the reservation
+     * @return The reservation, or empty when there is none with that ID
+     */
+    @Override
+    public Optional<Reservation> findById(String reservationId) {
+        logger.info("Finding reservation by ID: {}", reservationId);
+        if (reservationId == null || reservationId.isEmpty()) {
+            return Optional.empty();
+        }
 
         GetItemRequest request = new GetItemRequest()
                 .withTableName(reservationTableName)
-                .withKey(key);
+                .withKey(Map.of(ATTR_RESERVATION_ID, new AttributeValue(reservationId)))
+                .withConsistentRead(true);
 
         Map<String, AttributeValue> item = dynamoDbClient.getItem(request).getItem();
-
         if (item == null || item.isEmpty()) {
-            throw new ResourceNotFoundException("Reservation Id not Found");
+            return Optional.empty();
         }
-
-        return mapToReservation(item);
+        return Optional.of(mapToReservation(item));
     }
 
+    /**
+     * Reads several reservations with BatchGetItem, retrying keys DynamoDB left unprocessed
+     * @param reservationIds The IDs of the reservations
+     * @return The reservations found, in no particular order; unknown IDs are simply absent
+     */
+    @Override
+    public List<Reservation> findByIds(Collection<String> reservationIds) {
+        List<Reservation> reservations = new ArrayList<>();
+        if (reservationIds == null || reservationIds.isEmpty()) {
+            return reservations;
+        }
 
+        List<String> distinctIds = reservationIds.stream()
+                .filter(id -> id != null && !id.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+        logger.info("Finding {} reservations by ID", distinctIds.size());
+
+        for (int from = 0; from < distinctIds.size(); from += BATCH_GET_LIMIT) {
+            List<Map<String, AttributeValue>> keys = distinctIds.subList(from, Math.min(from + BATCH_GET_LIMIT, distinctIds.size()))
+                    .stream()
+                    .map(id -> Map.of(ATTR_RESERVATION_ID, new AttributeValue(id)))
+                    .collect(Collectors.toList());
+
+            Map<String, KeysAndAttributes> requestItems = Map.of(reservationTableName, new KeysAndAttributes().withKeys(keys));
+            while (requestItems != null && !requestItems.isEmpty()) {
+                BatchGetItemResult result = dynamoDbClient.batchGetItem(new BatchGetItemRequest().withRequestItems(requestItems));
+                for (Map<String, AttributeValue> item : result.getResponses().getOrDefault(reservationTableName, Collections.emptyList())) {
+                    reservations.add(mapToReservation(item));
+                }
+                requestItems = result.getUnprocessedKeys();
+            }
+        }
+        return reservations;
+    }
 
+    /**
+     * Writes an edit of a reservation and moves its slot claims in one transaction, on condition that the
+     * reservation is still at the version it was read at; nothing is written when any part is refused
+     * @param previous The reservation as read, with its version
+     * @param updated The reservation as it is to be stored
+     * @return The updated reservation, carrying its new version
+     * @throws VersionConflictException if the reservation was changed by someone else since it was read
+     * @throws ConflictException if another reservation holds part of the new time
+     */
     @Override
-    public Reservation updateReservation(Reservation updatedReservation) {
-        if (updatedReservation.getReservationId() == null) {
+    public Reservation updateReservation(Reservation previous, Reservation updated) {
+        if (updated.getReservationId() == null) {
             throw new ValidationException("Reservation ID cannot be null for update operation");
         }
 
-        logger.info("Updating reservation with ID: {}", updatedReservation.getReservationId());
+        logger.info("Updating reservation with ID: {} from version {}", updated.getReservationId(), versionOf(previous));
+        List<TransactWriteItem> writes = claimMoves(previous, updated);
+        writes.add(new TransactWriteItem().withUpdate(versionedUpdate(updated, versionOf(previous))));
+        transactClaims(writes, updated);
+
+        updated.setVersion(versionOf(previous) + 1);
+        logger.info("Successfully updated reservation with ID: {} to version {}", updated.getReservationId(), updated.getVersion());
+        return updated;
+    }
 
+    // SET of every non-null attribute plus the next version, conditional on the expected version
+    private Update versionedUpdate(Reservation updatedReservation, long expectedVersion) {
         // Create the key for the reservation to update
         Map<String, AttributeValue> key = new HashMap<>();
         key.put(ATTR_RESERVATION_ID, new AttributeValue(updatedReservation.getReservationId()));
@@ -228,7 +807,6 @@ public class DynamoDbReservationRepository implements ReservationRepository {
 
         // Add each non-null field to the update expression
         List<String> updateExpressions = new ArrayList<>();
-
         // Check each field of the Reservation object and add to the update expression if not null
         if (updatedReservation.getUserId() != null) {
             updateExpressions.add("#userId = :userId");
@@ -290,33 +868,37 @@ public class DynamoDbReservationRepository implements ReservationRepository {
             expressionAttributeValues.put(":date", new AttributeValue(updatedReservation.getDate()));
         }
 
-        // If no attributes to update, return the original reservation
-        if (updateExpressions.isEmpty()) {
-            logger.info("No attributes to update for reservation ID: {}", updatedReservation.getReservationId());
-            return updatedReservation;
-        }
+        expressionAttributeNames.put("#version", ATTR_VERSION);
+        expressionAttributeNames.put("#reservationId", ATTR_RESERVATION_ID);
+        expressionAttributeValues.put(":expectedVersion", new AttributeValue().withN(String.valueOf(expectedVersion)));
+        expressionAttributeValues.put(":nextVersion", new AttributeValue().withN(String.valueOf(expectedVersion + 1)));
+        updateExpressions.add("#version = :nextVersion");
+        // Items written before versioning have no version and count as version 0
+        String condition = expectedVersion == 0
+                ? "attribute_exists(#reservationId) AND (attribute_not_exists(#version) OR #version = :expectedVersion)"
+                : "#version = :expectedVersion";
 
         // Join all update expressions with commas
         updateExpression.append(String.join(", ", updateExpressions));
 
-        // Execute the update
-            UpdateItemRequest updateItemRequest = new UpdateItemRequest()
-                    .withTableName(reservationTableName)
-                    .withKey(key)
-                    .withUpdateExpression(updateExpression.toString())
-                    .withExpressionAttributeNames(expressionAttributeNames)
-                    .withExpressionAttributeValues(expressionAttributeValues)
-                    .withReturnValues(ReturnValue.ALL_NEW);
-
-            // Use the AmazonDynamoDB client to execute the update operation
-            UpdateItemResult updateItemResult = dynamoDbClient.updateItem(updateItemRequest);
+        return new Update()
+                .withTableName(reservationTableName)
+                .withKey(key)
+                .withUpdateExpression(updateExpression.toString())
+                .withConditionExpression(condition)
+                .withExpressionAttributeNames(expressionAttributeNames)
+                .withExpressionAttributeValues(expressionAttributeValues);
+    }
 
-            // Map the response to a Reservation object
-            Reservation updatedReservationResponse = mapToReservation(updateItemResult.getAttributes());
-            logger.info("Successfully updated reservation with ID: {}", updatedReservation.getReservationId());
+    // The version a reservation was read at; items written before versioning count as version 0
+    private static long versionOf(Reservation reservation) {
+        return reservation.getVersion() == null ? 0L : reservation.getVersion();
+    }
 
-            return updatedReservationResponse;
-        }
+    private VersionConflictException versionConflict(String reservationId) {
+        logger.info("Reservation {} was changed since it was read", reservationId);
+        return new VersionConflictException("Reservation " + reservationId + " was changed by someone else, please try again");
+    }
 
     private Reservation mapToReservation(Map<String, AttributeValue> item) {
         Reservation reservation = new Reservation();
@@ -366,6 +948,9 @@ public class DynamoDbReservationRepository implements ReservationRepository {
             reservation.setDate(item.get(ATTR_DATE).getS());
         }
 
+        // Items written before versioning count as version 0
+        reservation.setVersion(item.containsKey(ATTR_VERSION) ? Long.parseLong(item.get(ATTR_VERSION).getN()) : 0L);
+
         return reservation;
     }
 
@@ -375,46 +960,30 @@ public class DynamoDbReservationRepository implements ReservationRepository {
         logger.info("Starting scheduled update of reservation statuses based on current time...");
 
 
-        LocalDateTime now = LocalDateTime.now(ZoneId.of("Asia/Kolkata"));;
+        LocalDateTime now = LocalDateTime.now(ZoneId.of("Asia/Kolkata"));
 
         for (Reservation reservation : reservations) {
-            if(reservation.getStatus().equals("CANCELLED"))
-                continue;
-            try {
-                if (reservation.getDate() == null || reservation.getTimeFrom() == null || reservation.getTimeTo() == null) {
-                    logger.warn("Skipping reservation with missing date/time fields: {}", reservation.getReservationId());
-                    continue;
-                }
-
-                LocalDateTime start = LocalDateTime.parse(reservation.getDate() + "T" + reservation.getTimeFrom());
-                LocalDateTime end = LocalDateTime.parse(reservation.getDate() + "T" + reservation.getTimeTo());
-
-                String newStatus = null;
-
-                if (now.isAfter(start) && now.isBefore(end)) {
-                    newStatus = "IN_PROGRESS";
-                } else if (now.isAfter(end)) {
-                    newStatus = "FINISHED";
-                }
-
-                if (newStatus != null && !newStatus.equals(reservation.getStatus())) {
-                    logger.info("Updating reservation {} status from {} to {}", reservation.getReservationId(), reservation.getStatus(), newStatus);
-                    statusChange(reservation.getReservationId(), newStatus,reservation.getUserId());
-                }
-
-            } catch (DateTimeParseException e) {
-                logger.error("Failed to parse date/time for reservation ID: {}", reservation.getReservationId(), e);
-            }
+            updateReservationStatusBasedOnTime(reservation, now);
         }
 
         logger.info("Completed reservation status update.");
     }
 
+    @Override
+    public void updateReservationStatusBasedOnTime(Reservation reservation, LocalDateTime now) {
+        String newStatus = ReservationStatusRules.derive(reservation, now);
+        if (newStatus != null && !newStatus.equals(reservation.getStatus())) {
+            logger.info("Updating reservation {} status from {} to {}", reservation.getReservationId(), reservation.getStatus(), newStatus);
+            transitionStatus(reservation, newStatus, ReservationStatusRules.expectedBefore(newStatus));
+        }
+    }
+
     /**
-     * Completely removes a reservation from the database without time restrictions
+     * Completely removes a reservation from the database without time restrictions, in one conditional delete
      * @param id The ID of the reservation to delete
-     * @return true if deletion was successful, false otherwise
+     * @return true if deletion was successful, false otherwise, e.g. when there was no such reservation
      */
+    @Override
     public boolean completelyDeleteReservation(String id) {
         logger.info("Completely deleting reservation with ID: {}", id);
 
@@ -426,6 +995,8 @@ public class DynamoDbReservationRepository implements ReservationRepository {
             DeleteItemRequest deleteRequest = new DeleteItemRequest()
                     .withTableName(reservationTableName)
                     .withKey(key)
+                    .withConditionExpression("attribute_exists(#reservationId)")
+                    .withExpressionAttributeNames(Map.of("#reservationId", ATTR_RESERVATION_ID))
                     .withReturnValues(ReturnValue.ALL_OLD);  // This returns the deleted item
 
             // Execute the delete operation
@@ -437,15 +1008,63 @@ public class DynamoDbReservationRepository implements ReservationRepository {
 
             if (wasDeleted) {
                 logger.info("Successfully deleted reservation with ID: {}", id);
+                releaseSlotClaims(mapToReservation(returnedAttributes));
             } else {
                 logger.warn("No reservation found with ID: {} to delete", id);
             }
 
             return wasDeleted;
+        } catch (ConditionalCheckFailedException e) {
+            logger.warn("No reservation found with ID: {} to delete", id);
+            return false;
         } catch (Exception e) {
             logger.error("Error completely deleting reservation {}: {}", id, e.getMessage(), e);
             return false;
         }
     }
 
+    /**
+     * Walks the pages of a scan, following LastEvaluatedKey until the table is exhausted
+     */
+    private final class ScanIterator implements Iterator<Reservation> {
+        private final ScanRequest scanRequest;
+        private Iterator<Map<String, AttributeValue>> page = Collections.emptyIterator();
+        private boolean lastPage;
+
+        private ScanIterator(ScanRequest scanRequest) {
+            this.scanRequest = scanRequest;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!page.hasNext() && !lastPage) {
+                ScanResult result = dynamoDbClient.scan(scanRequest);
+                page = result.getItems().iterator();
+                Map<String, AttributeValue> lastEvaluatedKey = result.getLastEvaluatedKey();
+                lastPage = lastEvaluatedKey == null || lastEvaluatedKey.isEmpty();
+                scanRequest.setExclusiveStartKey(lastEvaluatedKey);
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public Reservation next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return mapToReservation(page.next());
+        }
+    }
+
+    private static final class ScanThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "reservation-scan-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
 }
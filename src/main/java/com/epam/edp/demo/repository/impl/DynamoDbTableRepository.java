@@ -6,16 +6,17 @@ import com.amazonaws.services.dynamodbv2.model.ScanRequest;
 import com.amazonaws.services.dynamodbv2.model.ScanResult;
 import com.epam.edp.demo.entity.Table;
 import com.epam.edp.demo.repository.TableRepository;
+import com.epam.edp.demo.utility.TableCatalog;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Repository
@@ -24,9 +25,11 @@ public class DynamoDbTableRepository implements TableRepository {
     public static final String ATTR_TABLES_LOCATION_ID = "locationId";
     public static final String ATTR_TABLES_CAPACITY = "capacity";
     public static final String ATTR_TABLES_TABLE_NUMBER = "tableNumber";
+    public static final String ATTR_TABLES_ADJACENCY_GROUP = "adjacencyGroup";
     private final AmazonDynamoDB dynamoDBClient;
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final String tablesTableName="tm5-restaurant-tables-table-a4v2";
+    private volatile TableCatalog catalog;
 
 
 
@@ -37,35 +40,60 @@ public class DynamoDbTableRepository implements TableRepository {
         ScanRequest scanRequest = new ScanRequest()
                 .withTableName(tablesTableName);
 
-            ScanResult result = dynamoDBClient.scan(scanRequest);
             List<Table> tables = new ArrayList<>();
-
-            for (Map<String, AttributeValue> item : result.getItems()) {
-                tables.add(mapToTables(item));
-            }
+            Map<String, AttributeValue> lastEvaluatedKey = null;
+            do {
+                ScanResult result = dynamoDBClient.scan(scanRequest.withExclusiveStartKey(lastEvaluatedKey));
+                for (Map<String, AttributeValue> item : result.getItems()) {
+                    tables.add(mapToTables(item));
+                }
+                lastEvaluatedKey = result.getLastEvaluatedKey();
+            } while (lastEvaluatedKey != null && !lastEvaluatedKey.isEmpty());
             logger.info("Found {} TAbles", tables.size());
             return tables;
         }
 
 
     @Override
-     public List<Table> getTablesByLocationId(String locationId) {
+    public List<Table> getTablesByLocationId(String locationId) {
         logger.info("Finding all Tables by locationId" + locationId);
+        return getCatalog().getTables(locationId);
+    }
 
+    @Override
+    public boolean isTableIdValidForLocationId(String locationId,String tableId) {
+        return getCatalog().contains(locationId, tableId);
+    }
 
-            List<Table> tables = getAllTables();
-           return  tables.stream()
-                    .filter(table -> table.getLocationId().equalsIgnoreCase(locationId))
-                    .collect(Collectors.toList());
-
+    @Override
+    public List<Table> getTablesSeating(String locationId, int guests) {
+        return getCatalog().tablesSeating(locationId, guests);
     }
 
     @Override
-    public boolean isTableIdValidForLocationId(String locationId,String tableId) {
-        List<Table> tableList=getTablesByLocationId(locationId);
-        return tableList.stream()
-                .anyMatch(t->t.getId().equals(tableId));
+    public TableCatalog getCatalog() {
+        TableCatalog current = catalog;
+        if (current == null) {
+            synchronized (this) {
+                if (catalog == null) {
+                    catalog = TableCatalog.of(getAllTables());
+                }
+                current = catalog;
+            }
+        }
+        return current;
+    }
 
+    @Override
+    @Scheduled(fixedDelayString = "${app.tables.catalog-refresh-interval-ms:600000}")
+    public void refreshCatalog() {
+        try {
+            TableCatalog refreshed = TableCatalog.of(getAllTables());
+            catalog = refreshed;
+            logger.info("Refreshed table catalog with {} tables", refreshed.size());
+        } catch (RuntimeException e) {
+            logger.error("Error refreshing table catalog: {}", e.getMessage(), e);
+        }
     }
 
     private Table mapToTables(Map<String, AttributeValue> item) {
@@ -87,6 +115,10 @@ public class DynamoDbTableRepository implements TableRepository {
             table.setTableNumber(item.get(ATTR_TABLES_TABLE_NUMBER).getS());
         }
 
+        if (item.containsKey(ATTR_TABLES_ADJACENCY_GROUP)) {
+            table.setAdjacencyGroup(item.get(ATTR_TABLES_ADJACENCY_GROUP).getS());
+        }
+
 
 
         return table;
@@ -137,18 +137,7 @@ public class DishService {
             logger.info("Getting filtered and sorted dishes - type: {}, sortBy: {}, direction: {}",
                     dishType, sortBy, sortDirection);
 
-            List<Dish> dishes = dishRepository.findAll();
-
-            // Apply type filter if provided
-            if (dishType != null && !dishType.isEmpty()) {
-                dishes = dishes.stream()
-                        .filter(dish -> dishType.equalsIgnoreCase(dish.getDishType()))
-                        .collect(Collectors.toList());
-            }
-
-            // Apply sorting
-            dishes = sortDishes(dishes, sortBy, sortDirection);
-
+            List<Dish> dishes = dishRepository.getMenu().view(dishType, sortBy, sortDirection);
             return convertToMultiDishResponseDto(dishes);
         } catch (RepositoryException e) {
             logger.error("Repository error while getting filtered dishes: {}", e.getMessage(), e);
@@ -163,7 +152,7 @@ public class DishService {
         try {
             logger.info("Getting all dishes");
 
-            List<Dish> dishes = dishRepository.findAll();
+            List<Dish> dishes = dishRepository.getMenu().getDishes();
             return convertToMultiDishResponseDto(dishes);
         } catch (RepositoryException e) {
             logger.error("Repository error while getting all dishes: {}", e.getMessage(), e);
@@ -194,49 +183,6 @@ public class DishService {
         }
     }
 
-    private List<Dish> sortDishes(List<Dish> dishes, String sortBy, String sortDirection) {
-        Comparator<Dish> comparator;
-
-        switch (sortBy != null ? sortBy.toLowerCase() : "name") {
-            case "price":
-                comparator = Comparator.comparing(dish -> {
-                    try {
-                        return Double.parseDouble(dish.getPrice().replaceAll("[^\\d.]", ""));
-                    } catch (NumberFormatException | NullPointerException e) {
-                        return 0.0;
-                    }
-                });
-                break;
-            case "rating":
-                comparator = Comparator.comparing(dish -> {
-                    try {
-                        return dish.getRating() != null ? dish.getRating() : "";
-                    } catch (Exception e) {
-                        return "";
-                    }
-                }, Comparator.nullsLast(Comparator.naturalOrder()));
-                break;
-            case "name":
-            default:
-                comparator = Comparator.comparing(dish -> {
-                    try {
-                        return dish.getName() != null ? dish.getName() : "";
-                    } catch (Exception e) {
-                        return "";
-                    }
-                }, Comparator.nullsLast(Comparator.naturalOrder()));
-                break;
-        }
-
-        if ("desc".equalsIgnoreCase(sortDirection)) {
-            comparator = comparator.reversed();
-        }
-
-        return dishes.stream()
-                .sorted(comparator)
-                .collect(Collectors.toList());
-    }
-
     private Dish convertToEntity(DishRequestDto dto) {
         Dish dish = new Dish();
         dish.setName(dto.getName());
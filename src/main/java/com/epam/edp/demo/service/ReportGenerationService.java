@@ -14,6 +14,7 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,6 +27,7 @@ public class ReportGenerationService {
     private final WaiterRepository waiterRepository;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int SCAN_SEGMENTS = 4;
 
 
     public ReportPeriod calculateReportPeriod(int daysBack, int periodLength) {
@@ -48,13 +50,12 @@ public class ReportGenerationService {
 
         List<StaffPerformanceEntry> entries = new ArrayList<>();
         List<Location> locations = locationRepository.findAll();
+        PeriodReservations periodReservations = collectReservations(period);
 
         for (Location location : locations) {
             // Get all reservations for this location in both periods
-            List<Reservation> currentReservations = filterReservationsByDateRange(
-                    location.getId(), period.getStartDate(), period.getEndDate());
-            List<Reservation> previousReservations = filterReservationsByDateRange(
-                    location.getId(), period.getPreviousStartDate(), period.getPreviousEndDate());
+            List<Reservation> currentReservations = periodReservations.current(location.getId());
+            List<Reservation> previousReservations = periodReservations.previous(location.getId());
 
             // Group reservations by waiter
             Map<String, List<Reservation>> currentReservationsByWaiter =
@@ -111,13 +112,12 @@ public class ReportGenerationService {
 
         List<LocationComparisonEntry> entries = new ArrayList<>();
         List<Location> locations = locationRepository.findAll();
+        PeriodReservations periodReservations = collectReservations(period);
 
         for (Location location : locations) {
             // Get all reservations for both periods
-            List<Reservation> currentReservations = filterReservationsByDateRange(
-                    location.getId(), period.getStartDate(), period.getEndDate());
-            List<Reservation> previousReservations = filterReservationsByDateRange(
-                    location.getId(), period.getPreviousStartDate(), period.getPreviousEndDate());
+            List<Reservation> currentReservations = periodReservations.current(location.getId());
+            List<Reservation> previousReservations = periodReservations.previous(location.getId());
 
             // Calculate metrics
             int currentOrdersCount = currentReservations.size();
@@ -157,14 +157,29 @@ public class ReportGenerationService {
     }
 
     // Helper methods
-    private List<Reservation> filterReservationsByDateRange(String locationId, LocalDate start, LocalDate end) {
-        return reservationRepository.getAllReservation().stream()
-                .filter(r -> r.getLocationId().equals(locationId))
-                .filter(r -> {
-                    LocalDate reservationDate = parseDate(r.getDate());
-                    return !reservationDate.isBefore(start) && !reservationDate.isAfter(end);
-                })
-                .collect(Collectors.toList());
+
+    /**
+     * Buckets the reservations of both report periods by location in a single parallel scan,
+     * keeping only the rows that fall inside one of the periods
+     */
+    private PeriodReservations collectReservations(ReportPeriod period) {
+        PeriodReservations periodReservations = new PeriodReservations();
+        reservationRepository.forEachReservation(SCAN_SEGMENTS, r -> {
+            if (r.getLocationId() == null || r.getDate() == null) {
+                return;
+            }
+            LocalDate reservationDate = parseDate(r.getDate());
+            if (isWithin(reservationDate, period.getStartDate(), period.getEndDate())) {
+                periodReservations.addCurrent(r);
+            } else if (isWithin(reservationDate, period.getPreviousStartDate(), period.getPreviousEndDate())) {
+                periodReservations.addPrevious(r);
+            }
+        });
+        return periodReservations;
+    }
+
+    private boolean isWithin(LocalDate date, LocalDate start, LocalDate end) {
+        return !date.isBefore(start) && !date.isAfter(end);
     }
 
     private LocalDate parseDate(String dateStr) {
@@ -249,4 +264,27 @@ public class ReportGenerationService {
         // In real implementation, get name from profile
         return waiterEmail.split("@")[0];
     }
-}
\ No newline at end of file
+
+    private static final class PeriodReservations {
+        private final Map<String, List<Reservation>> currentByLocation = new ConcurrentHashMap<>();
+        private final Map<String, List<Reservation>> previousByLocation = new ConcurrentHashMap<>();
+
+        void addCurrent(Reservation reservation) {
+            currentByLocation.computeIfAbsent(reservation.getLocationId(), id -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(reservation);
+        }
+
+        void addPrevious(Reservation reservation) {
+            previousByLocation.computeIfAbsent(reservation.getLocationId(), id -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(reservation);
+        }
+
+        List<Reservation> current(String locationId) {
+            return currentByLocation.getOrDefault(locationId, Collections.emptyList());
+        }
+
+        List<Reservation> previous(String locationId) {
+            return previousByLocation.getOrDefault(locationId, Collections.emptyList());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.epam.edp.demo.service;
 
 import com.epam.edp.demo.entity.Waiter;
 import com.epam.edp.demo.exception.ResourceNotFoundException;
+import com.epam.edp.demo.repository.PrincipalCache;
 import com.epam.edp.demo.repository.WaiterRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,17 +17,19 @@ public class WaiterService {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final WaiterRepository waiterRepository;
+    private final PrincipalCache principalCache;
 
     @Autowired
-    public WaiterService(WaiterRepository waiterRepository) {
+    public WaiterService(WaiterRepository waiterRepository, PrincipalCache principalCache) {
         this.waiterRepository = waiterRepository;
+        this.principalCache = principalCache;
         logger.info("WaiterService initialized");
     }
 
 
     public boolean isWaiter(String email) {
-        logger.info("Checking if user with email {} is a waiter", email);
-        return waiterRepository.isWaiter(email);
+        logger.debug("Checking if user with email {} is a waiter", email);
+        return principalCache.isWaiter(email);
     }
 
 
@@ -67,6 +70,7 @@ public class WaiterService {
             }
 
             waiterRepository.addWaiter(email, password);
+            principalCache.invalidate(email);
             logger.info("Successfully added waiter: {}", email);
         } catch (Exception e) {
             logger.error("Error adding waiter {}: {}", email, e.getMessage(), e);
@@ -83,6 +87,7 @@ public class WaiterService {
             }
 
             waiterRepository.removeWaiter(email);
+            principalCache.invalidate(email);
             logger.info("Successfully removed waiter: {}", email);
         } catch (Exception e) {
             logger.error("Error removing waiter {}: {}", email, e.getMessage(), e);
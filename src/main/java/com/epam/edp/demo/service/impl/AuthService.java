@@ -8,8 +8,10 @@ import com.epam.edp.demo.dto.response.SignInResponse;
 import com.epam.edp.demo.dto.response.UserProfileResponse;
 import com.epam.edp.demo.entity.Roles;
 import com.epam.edp.demo.entity.User;
+import com.epam.edp.demo.exception.UnAuthorizedException;
 import com.epam.edp.demo.exceptions.ResourceNotFoundException;
 import com.epam.edp.demo.exceptions.ServiceException;
+import com.epam.edp.demo.repository.PrincipalCache;
 import com.epam.edp.demo.repository.UserRepository;
 import com.epam.edp.demo.repository.WaiterRepository;
 import com.epam.edp.demo.service.AuthServices;
@@ -37,6 +39,7 @@ public class AuthService implements AuthServices {
     private final JwtService jwtService;
     private final ObjectMapper objectMapper;
     private final WaiterRepository waiterRepository;
+    private final PrincipalCache principalCache;
 
     // Email validation regex
     private static final String EMAIL_REGEX = "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$";
@@ -47,13 +50,15 @@ public class AuthService implements AuthServices {
                        AuthenticationManager authenticationManager,
                        JwtService jwtService,
                        ObjectMapper objectMapper,
-                       WaiterRepository waiterRepository) {
+                       WaiterRepository waiterRepository,
+                       PrincipalCache principalCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
         this.objectMapper = objectMapper;
         this.waiterRepository = waiterRepository;
+        this.principalCache = principalCache;
     }
 
     public AuthResponse signup(SignUpRequest authRequest) {
@@ -76,6 +81,7 @@ public class AuthService implements AuthServices {
 
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
         return new AuthResponse("User registered successfully");
     }
 
@@ -165,9 +171,11 @@ public class AuthService implements AuthServices {
         if (isWaiter && user.getRoles() != Roles.WAITER) {
             user.setRoles(Roles.WAITER);
             userRepository.save(user);
+            principalCache.invalidate(user.getEmail());
         } else if (!isWaiter && user.getRoles() == Roles.WAITER) {
             user.setRoles(Roles.CUSTOMER);
             userRepository.save(user);
+            principalCache.invalidate(user.getEmail());
         }
 
         String jwt = jwtService.generateToken(user);
@@ -180,6 +188,22 @@ public class AuthService implements AuthServices {
         return jwtService.extractUserName(token);
     }
 
+    /**
+     * @param authHeader The Authorization header, expected as "Bearer &lt;token&gt;"
+     * @return The email of the user the token was issued to
+     * @throws UnAuthorizedException if the header is missing, not a bearer token or the token is invalid
+     */
+    public String extractUserEmailFromAuthHeader(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new UnAuthorizedException("Authorization token is missing or invalid");
+        }
+        try {
+            return extractUserEmailFromToken(authHeader.substring(7));
+        } catch (RuntimeException e) {
+            throw new UnAuthorizedException("Authorization token is missing or invalid");
+        }
+    }
+
     public List<String> getAllUsers(){
         return userRepository.getAllUserEmails();
 
@@ -221,6 +245,8 @@ public class AuthService implements AuthServices {
 
         userRepository.save(user);
 
+        principalCache.invalidate(user.getEmail());
+
         UserProfileResponse.UserProfile userProfile = new UserProfileResponse.UserProfile(user.getFirstName(), user.getLastName(), user.getImageUrl());
         return new UserProfileResponse("User profile updated successfully", new UserProfileResponse.UserProfileData(userProfile));
     }
@@ -252,6 +278,7 @@ public class AuthService implements AuthServices {
             throw new ResourceNotFoundException("User not found");
         }
         userRepository.deleteUser(email);
+        principalCache.invalidate(email);
     }
 
     @Override
@@ -281,6 +308,7 @@ public class AuthService implements AuthServices {
             // Update password
             user.setPassword(passwordEncoder.encode(newPassword));
             userRepository.save(user);
+            principalCache.invalidate(user.getEmail());
 
         } catch (BadCredentialsException e) {
             throw new IllegalArgumentException("Current password is incorrect");
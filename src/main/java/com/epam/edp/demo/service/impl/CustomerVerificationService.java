@@ -1,5 +1,9 @@
 package com.epam.edp.demo.service.impl;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -92,4 +96,36 @@ public class CustomerVerificationService {
             return "";
         }
     }
+
+    /**
+     * Retrieves the full names of several customers with a single batch read
+     *
+     * @param emails The emails of the customers
+     * @return Full name by email; emails that do not belong to a customer map to an empty string
+     */
+    public Map<String, String> getCustomerFullNames(Collection<String> emails) {
+        Map<String, String> fullNames = new HashMap<>();
+        if (emails == null || emails.isEmpty()) {
+            return fullNames;
+        }
+
+        try {
+            Map<String, User> users = userRepository.findByEmails(emails);
+            for (String email : emails) {
+                User user = users.get(email);
+                if (user == null || !Roles.CUSTOMER.equals(user.getRoles())) {
+                    fullNames.put(email, "");
+                    continue;
+                }
+                String firstName = user.getFirstName() != null ? user.getFirstName() : "";
+                String lastName = user.getLastName() != null ? user.getLastName() : "";
+                fullNames.put(email, (firstName + " " + lastName).trim());
+            }
+            logger.info("Resolved names for {} customers", fullNames.size());
+        } catch (Exception e) {
+            logger.error("Error retrieving customer names: {}", e.getMessage(), e);
+            emails.forEach(email -> fullNames.putIfAbsent(email, ""));
+        }
+        return fullNames;
+    }
 }
\ No newline at end of file
@@ -14,6 +14,7 @@ import com.epam.edp.demo.exceptions.ServiceException;
 import com.epam.edp.demo.repository.FeedbackRepository;
 import com.epam.edp.demo.repository.ReservationRepository;
 import com.epam.edp.demo.repository.UserRepository;
+import com.epam.edp.demo.utility.IdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,12 +33,15 @@ public class FeedbackService {
     private final FeedbackRepository feedbackRepository;
     private final ReservationRepository reservationRepository;
     private final UserRepository userRepository;
+    private final IdGenerator idGenerator;
 
     @Autowired
-    public FeedbackService(FeedbackRepository feedbackRepository,  UserRepository userRepository , ReservationRepository reservationRepository) {
+    public FeedbackService(FeedbackRepository feedbackRepository,  UserRepository userRepository , ReservationRepository reservationRepository,
+                           IdGenerator idGenerator) {
         this.feedbackRepository = feedbackRepository;
         this.reservationRepository = reservationRepository;
         this.userRepository = userRepository;
+        this.idGenerator = idGenerator;
         logger.info("FeedbackServiceImpl initialized");
     }
 
@@ -143,16 +147,7 @@ public class FeedbackService {
         logger.info("Retrieving location ID for reservation: {}", reservationId);
 
         try {
-            List<Reservation> allReservations = reservationRepository.getAllReservation();
-
-            if (allReservations == null || allReservations.isEmpty()) {
-                logger.warn("No reservations found in the system");
-                return null;
-            }
-
-            Optional<Reservation> matchingReservation = allReservations.stream()
-                    .filter(r -> reservationId.equals(r.getReservationId()))
-                    .findFirst();
+            Optional<Reservation> matchingReservation = reservationRepository.findById(reservationId);
 
             if (matchingReservation.isEmpty()) {
                 logger.warn("No reservation found with ID: {}", reservationId);
@@ -227,7 +222,7 @@ public class FeedbackService {
 
         try {
             Feedback feedback = new Feedback();
-            String feedbackId = UUID.randomUUID().toString();
+            String feedbackId = idGenerator.nextId();
             logger.info("Generated feedback ID: {}", feedbackId);
 
             feedback.setId(feedbackId);
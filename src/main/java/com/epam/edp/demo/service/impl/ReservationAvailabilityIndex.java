@@ -0,0 +1,321 @@
+package com.epam.edp.demo.service.impl;
+
+import com.epam.edp.demo.entity.Reservation;
+import com.epam.edp.demo.repository.ReservationRepository;
+import com.epam.edp.demo.utility.IntervalIndex;
+import com.epam.edp.demo.utility.SlotSchedule;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory view of the bookings of every table for a (locationId, date) pair, held per table as
+ * intervals of epoch minutes so bookings of any length can be checked against each other.
+ * A day is loaded with a single query on the locationId-date index the first time it is asked for,
+ * then kept current by the booking paths, so availability lookups stay in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationAvailabilityIndex {
+
+    public static final Set<String> BLOCKING_STATUSES = Set.of("CONFIRMED", "IN_PROGRESS", "POSTPONED");
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+
+    // Other instances write to the same table, so a loaded day is re-read after this long
+    private static final long ENTRY_TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final ReservationRepository reservationRepository;
+    private final Map<String, DayAvailability> days = new ConcurrentHashMap<>();
+    private final Map<String, String> dayKeyByReservationId = new ConcurrentHashMap<>();
+    // Holds placed through this instance, re-applied whenever their day is reloaded
+    private final Map<String, ActiveHold> holds = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the booked slots of a table as a bitmap over {@link SlotSchedule#STANDARD}, worked out from a single
+     * pass over the table's free gaps of at least one slot length
+     * @param locationId The ID of the location
+     * @param date The reservation date (yyyy-MM-dd)
+     * @param tableId The ID of the table
+     * @return bit i is set when the i-th standard slot is taken
+     */
+    public long getBookedSlots(String locationId, String date, String tableId) {
+        return getDay(locationId, date).getBookedSlots(tableId);
+    }
+
+    /**
+     * Checks whether any booking of the table overlaps the given time range
+     * @param locationId The ID of the location
+     * @param date The reservation date (yyyy-MM-dd)
+     * @param tableId The ID of the table
+     * @param timeFrom Start time (HH:mm), inclusive
+     * @param timeTo End time (HH:mm), exclusive; the standard slot length when missing
+     * @param ignoredReservationId A reservation not to count, such as the one being moved, may be null
+     * @return true when the range overlaps another booking
+     */
+    public boolean hasConflict(String locationId, String date, String tableId, String timeFrom, String timeTo,
+                               String ignoredReservationId) {
+        LocalDate day = LocalDate.parse(date);
+        long from = epochMinute(day, timeFrom);
+        long to = timeTo == null || timeTo.isEmpty() ? from + SlotSchedule.DEFAULT_DURATION_MINUTES : epochMinute(day, timeTo);
+        return getDay(locationId, date).hasConflict(tableId, from, to, ignoredReservationId);
+    }
+
+    /**
+     * Lists the free stretches of a table between two times of a day
+     * @param locationId The ID of the location
+     * @param date The reservation date (yyyy-MM-dd)
+     * @param tableId The ID of the table
+     * @param openTime Start of the window (HH:mm)
+     * @param closeTime End of the window (HH:mm)
+     * @param minMinutes Shortest gap to report
+     * @return Free [from, to) ranges in epoch minutes, in ascending order
+     */
+    public List<IntervalIndex.Interval> getFreeGaps(String locationId, String date, String tableId,
+                                                    String openTime, String closeTime, long minMinutes) {
+        LocalDate day = LocalDate.parse(date);
+        return getDay(locationId, date).freeGaps(tableId, epochMinute(day, openTime), epochMinute(day, closeTime), minMinutes);
+    }
+
+    /**
+     * Records a created, updated or postponed reservation, moving it if its slot changed
+     * @param reservation The reservation as it was written to the database
+     */
+    public void onReservationSaved(Reservation reservation) {
+        if (reservation == null || reservation.getReservationId() == null) {
+            return;
+        }
+        onReservationReleased(reservation.getReservationId());
+
+        if (!BLOCKING_STATUSES.contains(reservation.getStatus())) {
+            return;
+        }
+        String dayKey = dayKey(reservation.getLocationId(), reservation.getDate());
+        DayAvailability day = days.get(dayKey);
+        if (day == null) {
+            // Not loaded yet, the reservation will be picked up by the first read of that day
+            return;
+        }
+        day.book(reservation);
+        dayKeyByReservationId.put(reservation.getReservationId(), dayKey);
+    }
+
+    /**
+     * Records a hold so the held time disappears from availability straight away, loading the day if needed
+     * @param hold The held table and time, with the hold ID as reservationId
+     * @param expiresAtMillis Epoch millisecond the hold lapses at
+     */
+    public void onHoldPlaced(Reservation hold, long expiresAtMillis) {
+        holds.put(hold.getReservationId(), new ActiveHold(hold, expiresAtMillis));
+        getDay(hold.getLocationId(), hold.getDate()).book(hold);
+        dayKeyByReservationId.put(hold.getReservationId(), dayKey(hold.getLocationId(), hold.getDate()));
+    }
+
+    @Scheduled(fixedDelay = 5000)
+    public void expireHolds() {
+        long now = System.currentTimeMillis();
+        holds.forEach((holdId, hold) -> {
+            if (hold.expiresAtMillis <= now) {
+                onReservationReleased(holdId);
+            }
+        });
+    }
+
+    /**
+     * Frees the slot held by a cancelled or deleted reservation
+     * @param reservationId The ID of the reservation
+     */
+    public void onReservationReleased(String reservationId) {
+        if (reservationId == null) {
+            return;
+        }
+        holds.remove(reservationId);
+        String dayKey = dayKeyByReservationId.remove(reservationId);
+        if (dayKey == null) {
+            return;
+        }
+        DayAvailability day = days.get(dayKey);
+        if (day != null) {
+            day.release(reservationId);
+        }
+    }
+
+    @Scheduled(cron = "0 5 0 * * *", zone = "Asia/Kolkata")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now(ZONE);
+        days.entrySet().removeIf(entry -> entry.getValue().isBefore(today));
+        dayKeyByReservationId.values().removeIf(dayKey -> !days.containsKey(dayKey));
+        logger.info("Availability index holds {} location days after eviction", days.size());
+    }
+
+    private DayAvailability getDay(String locationId, String date) {
+        String dayKey = dayKey(locationId, date);
+        return days.compute(dayKey, (key, existing) -> {
+            if (existing != null && !existing.isExpired()) {
+                return existing;
+            }
+            return load(key, locationId, date);
+        });
+    }
+
+    private DayAvailability load(String dayKey, String locationId, String date) {
+        logger.info("Loading availability for location {} on {}", locationId, date);
+        DayAvailability day = new DayAvailability(date);
+
+        for (Reservation reservation : reservationRepository.findByLocationAndDate(locationId, date, BLOCKING_STATUSES)) {
+            day.book(reservation);
+            dayKeyByReservationId.put(reservation.getReservationId(), dayKey);
+        }
+        long now = System.currentTimeMillis();
+        for (ActiveHold hold : holds.values()) {
+            if (hold.expiresAtMillis > now && dayKey.equals(dayKey(hold.hold.getLocationId(), hold.hold.getDate()))) {
+                day.book(hold.hold);
+                dayKeyByReservationId.put(hold.hold.getReservationId(), dayKey);
+            }
+        }
+        return day;
+    }
+
+    private static String dayKey(String locationId, String date) {
+        return locationId + "#" + date;
+    }
+
+    static long slotBit(String timeFrom) {
+        return SlotSchedule.STANDARD.bit(timeFrom);
+    }
+
+    /**
+     * @param date The reservation date (yyyy-MM-dd)
+     * @param time The time of day (HH:mm)
+     * @return Minutes since the epoch in the restaurant's zone
+     */
+    static long epochMinute(LocalDate date, String time) {
+        return date.atStartOfDay(ZONE).toEpochSecond() / 60 + SlotSchedule.minuteOfDay(time);
+    }
+
+    private static final class ActiveHold {
+        private final Reservation hold;
+        private final long expiresAtMillis;
+
+        private ActiveHold(Reservation hold, long expiresAtMillis) {
+            this.hold = hold;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    private static final class DayAvailability {
+        private final String date;
+        private final LocalDate day;
+        private final long loadedAt = System.nanoTime();
+        private final Map<String, IntervalIndex> intervalsByTable = new HashMap<>();
+        private final Map<String, String> tableByReservationId = new HashMap<>();
+
+        private DayAvailability(String date) {
+            this.date = date;
+            this.day = parseDate(date);
+        }
+
+        synchronized long getBookedSlots(String tableId) {
+            IntervalIndex intervals = intervalsByTable.get(tableId);
+            if (intervals == null || day == null) {
+                return 0L;
+            }
+            List<String> slots = SlotSchedule.STANDARD.getSlots();
+            long open = epochMinute(day, slots.get(0));
+            long close = epochMinute(day, slots.get(slots.size() - 1)) + SlotSchedule.DEFAULT_DURATION_MINUTES;
+            List<IntervalIndex.Interval> gaps = intervals.freeGaps(open, close, SlotSchedule.DEFAULT_DURATION_MINUTES);
+
+            // Slots and gaps are both ascending: a slot is free when the first gap ending at or after it also starts by it
+            long booked = 0L;
+            int gap = 0;
+            for (int i = 0; i < slots.size(); i++) {
+                long from = epochMinute(day, slots.get(i));
+                long to = from + SlotSchedule.DEFAULT_DURATION_MINUTES;
+                while (gap < gaps.size() && gaps.get(gap).getTo() < to) {
+                    gap++;
+                }
+                if (gap == gaps.size() || gaps.get(gap).getFrom() > from) {
+                    booked |= 1L << i;
+                }
+            }
+            return booked;
+        }
+
+        synchronized boolean hasConflict(String tableId, long from, long to, String ignoredReservationId) {
+            IntervalIndex intervals = intervalsByTable.get(tableId);
+            return intervals != null && !intervals.isFree(from, to, ignoredReservationId);
+        }
+
+        synchronized List<IntervalIndex.Interval> freeGaps(String tableId, long from, long to, long minMinutes) {
+            IntervalIndex intervals = intervalsByTable.get(tableId);
+            return intervals == null ? new IntervalIndex().freeGaps(from, to, minMinutes) : intervals.freeGaps(from, to, minMinutes);
+        }
+
+        synchronized void book(Reservation reservation) {
+            if (reservation.getTableNumber() == null || day == null) {
+                return;
+            }
+            long[] range = range(day, reservation);
+            if (range == null) {
+                return;
+            }
+            intervalsByTable.computeIfAbsent(reservation.getTableNumber(), tableId -> new IntervalIndex())
+                    .add(reservation.getReservationId(), range[0], range[1]);
+            tableByReservationId.put(reservation.getReservationId(), reservation.getTableNumber());
+        }
+
+        synchronized void release(String reservationId) {
+            String tableId = tableByReservationId.remove(reservationId);
+            if (tableId == null) {
+                return;
+            }
+            IntervalIndex intervals = intervalsByTable.get(tableId);
+            if (intervals != null) {
+                intervals.remove(reservationId);
+                if (intervals.isEmpty()) {
+                    intervalsByTable.remove(tableId);
+                }
+            }
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - loadedAt > ENTRY_TTL_NANOS;
+        }
+
+        boolean isBefore(LocalDate today) {
+            return day == null || day.isBefore(today);
+        }
+    }
+
+    // [from, to) of a reservation in epoch minutes; a missing end means the standard slot length
+    private static long[] range(LocalDate day, Reservation reservation) {
+        try {
+            long from = epochMinute(day, reservation.getTimeFrom());
+            String timeTo = reservation.getTimeTo();
+            long to = timeTo == null || timeTo.isEmpty()
+                    ? from + SlotSchedule.DEFAULT_DURATION_MINUTES
+                    : epochMinute(day, timeTo);
+            return to > from ? new long[]{from, to} : null;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static LocalDate parseDate(String date) {
+        try {
+            return date == null ? null : LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.epam.edp.demo.service.impl;
+
+import com.epam.edp.demo.dto.request.ReservationRequestDto;
+import com.epam.edp.demo.dto.response.ReservationHoldResponse;
+import com.epam.edp.demo.entity.Reservation;
+import com.epam.edp.demo.exception.ConflictException;
+import com.epam.edp.demo.exception.ResourceNotFoundException;
+import com.epam.edp.demo.repository.ReservationRepository;
+import com.epam.edp.demo.utility.IdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Lets a customer hold a table for a few minutes between picking it and confirming the booking.
+ * A hold claims the table's time in the database the same way a reservation does, but lapses on its own,
+ * and is mirrored in the availability index so the held time stops being offered at once.
+ */
+@Service
+public class ReservationHoldService {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final ReservationRepository reservationRepository;
+    private final ReservationAvailabilityIndex availabilityIndex;
+    private final IdGenerator idGenerator;
+    private final long holdMinutes;
+
+    @Autowired
+    public ReservationHoldService(ReservationRepository reservationRepository,
+                                  ReservationAvailabilityIndex availabilityIndex,
+                                  IdGenerator idGenerator,
+                                  @Value("${app.reservations.hold-minutes:5}") long holdMinutes) {
+        this.reservationRepository = reservationRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.idGenerator = idGenerator;
+        this.holdMinutes = holdMinutes;
+    }
+
+    /**
+     * Holds a table for the requested time
+     * @param request The booking the customer intends to confirm
+     * @param email The customer placing the hold
+     * @return The hold, with the ID to pass as holdId when confirming
+     * @throws ConflictException if the table is already booked or held for part of the time
+     */
+    public ReservationHoldResponse placeHold(ReservationRequestDto request, String email) {
+        Reservation hold = new Reservation();
+        hold.setReservationId(idGenerator.nextId());
+        hold.setLocationId(request.getLocationId());
+        hold.setTableNumber(request.getTableNumber());
+        hold.setDate(request.getDate());
+        hold.setTimeFrom(request.getTimeFrom());
+        hold.setTimeTo(request.getTimeTo());
+        hold.setUserId(email);
+
+        if (availabilityIndex.hasConflict(hold.getLocationId(), hold.getDate(), hold.getTableNumber(),
+                hold.getTimeFrom(), hold.getTimeTo(), null)) {
+            throw new ConflictException("Table " + hold.getTableNumber() + " is already booked on "
+                    + hold.getDate() + " between " + hold.getTimeFrom() + " and " + hold.getTimeTo());
+        }
+
+        Instant expiresAt = Instant.now().plusSeconds(holdMinutes * 60);
+        reservationRepository.placeHold(hold, expiresAt.getEpochSecond());
+        availabilityIndex.onHoldPlaced(hold, expiresAt.toEpochMilli());
+        logger.info("Placed hold {} on table {} for {} until {}", hold.getReservationId(), hold.getTableNumber(), email, expiresAt);
+
+        return ReservationHoldResponse.builder()
+                .holdId(hold.getReservationId())
+                .locationId(hold.getLocationId())
+                .tableNumber(hold.getTableNumber())
+                .date(hold.getDate())
+                .timeFrom(hold.getTimeFrom())
+                .timeTo(hold.getTimeTo())
+                .expiresAt(expiresAt.atZone(ZONE).toLocalDateTime().toString())
+                .build();
+    }
+
+    /**
+     * Releases a hold before it lapses
+     * @param holdId The ID of the hold
+     * @param email The customer who placed it
+     */
+    public void releaseHold(String holdId, String email) {
+        reservationRepository.releaseHold(holdId, email)
+                .orElseThrow(() -> new ResourceNotFoundException("Hold not found or already expired"));
+        availabilityIndex.onReservationReleased(holdId);
+        logger.info("Released hold {} for {}", holdId, email);
+    }
+}
@@ -7,19 +7,25 @@ import com.amazonaws.services.dynamodbv2.model.*;
 import com.epam.edp.demo.dto.request.AnonymousVisitorReservationDto;
 import com.epam.edp.demo.dto.request.ReservationRequestDto;
 import com.epam.edp.demo.dto.request.WaiterReservationRequestDto;
+import com.epam.edp.demo.dto.response.ReservationPageResponse;
 import com.epam.edp.demo.dto.response.ReservationResponse;
 import com.epam.edp.demo.dto.response.TableResponseDto;
+import com.epam.edp.demo.entity.Location;
 import com.epam.edp.demo.entity.Reservation;
+import com.epam.edp.demo.entity.ReservationPage;
 import com.epam.edp.demo.entity.Table;
+import com.epam.edp.demo.exception.ConflictException;
 import com.epam.edp.demo.exception.ForbiddenException;
 import com.epam.edp.demo.exception.TooLateForCancellationException;
 import com.epam.edp.demo.exception.ValidationException;
+import com.epam.edp.demo.exception.VersionConflictException;
 import com.epam.edp.demo.repository.LocationRepository;
 import com.epam.edp.demo.repository.ReservationRepository;
 import com.epam.edp.demo.repository.TableRepository;
 import com.epam.edp.demo.repository.WaiterRepository;
-import com.epam.edp.demo.repository.impl.DynamoDbReservationRepository;
 import com.epam.edp.demo.service.ReservationService;
+import com.epam.edp.demo.utility.IdGenerator;
+import com.epam.edp.demo.utility.SlotSchedule;
 import com.epam.edp.demo.validation.Validation;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -31,12 +37,17 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 public class ReservationServiceImpl implements ReservationService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 50;
+    public static final int MAX_EDIT_ATTEMPTS = 3;
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final ReservationRepository reservationRepository;
     private final TableRepository tableRepository;
@@ -44,6 +55,10 @@ public class ReservationServiceImpl implements ReservationService {
     private final WaiterRepository waiterRepository;
     private final Validation validation;
     private final AmazonDynamoDB amazonDynamoDB;
+    private final ReservationAvailabilityIndex availabilityIndex;
+    private final ReservationStatusScheduler statusScheduler;
+    private final ReservationStatusResolver statusResolver;
+    private final IdGenerator idGenerator;
 
 
 
@@ -56,12 +71,21 @@ public class ReservationServiceImpl implements ReservationService {
 
     @Override
     public boolean statusChange(String id,String status,String email){
-       return  reservationRepository.statusChange(id,status,email);
+       boolean changed = reservationRepository.statusChange(id,status,email);
+       if (changed && !ReservationAvailabilityIndex.BLOCKING_STATUSES.contains(status)) {
+           availabilityIndex.onReservationReleased(id);
+       }
+       if (changed && !ReservationStatusScheduler.UPCOMING_STATUSES.contains(status)) {
+           statusScheduler.onReservationReleased(id);
+       }
+       return changed;
     }
 
     @Override
-    public boolean deleteReservationOfUser(String id){
-        reservationRepository.deleteReservation(id);
+    public boolean deleteReservationOfUser(String id, String email){
+        reservationRepository.deleteReservation(id, email);
+        availabilityIndex.onReservationReleased(id);
+        statusScheduler.onReservationReleased(id);
 
         return true;
     }
@@ -69,60 +93,50 @@ public class ReservationServiceImpl implements ReservationService {
     @Override
     public List<Reservation> getReservationByLocationIdDateTableId(String locationId, String date, String tableId)
     {
-        List<Reservation> allReservation=getAllReservation();
-       return  allReservation.stream()
-                .filter(reservation -> reservation.getLocationId().equals(locationId) &&
-                        reservation.getDate().equals(date)
-                        && reservation.getTableNumber().equals(tableId)
-                && reservation.getStatus().equals("CONFIRMED")||reservation.getStatus().equalsIgnoreCase("IN_PROGRESS"))
+       return  reservationRepository.findByLocationAndDate(locationId, date, List.of("CONFIRMED", "IN_PROGRESS")).stream()
+                .filter(reservation -> tableId.equals(reservation.getTableNumber()))
                 .collect(Collectors.toList());
 
     }
 
     @Override
     public List<String> getAvailableTimeSlot(List<Reservation> conflictDateReservation,String time,String date){
-        List<String> availableSlot=new ArrayList<>(Arrays.asList(
-                "10:30", "12:15", "14:00", "15:45", "17:30", "19:15", "21:00"
-        ));
-
-        //Filter According to time
-        availableSlot.removeIf(slot -> validation.isAfterTime(time, slot));
-        //Filter the Time accoding to Date also
-        // Check if the reservation date is today
+        long bookedSlots = 0L;
+        for(Reservation reservation:conflictDateReservation){
+            bookedSlots |= SlotSchedule.STANDARD.bit(reservation.getTimeFrom());
+        }
+        return getAvailableTimeSlot(bookedSlots, time, date);
+    }
+
+    private List<String> getAvailableTimeSlot(long bookedSlots, String time, String date){
+        // Slots already gone by are only filtered out when the reservation date is today
         LocalDate reservationDate = LocalDate.parse(date); // assumes "yyyy-MM-dd" format
         LocalDate today = LocalDate.now(ZoneId.of("Asia/Kolkata"));
-
+        int notBefore = SlotSchedule.minuteOfDay(time);
         if (reservationDate.isEqual(today)) {
-            LocalTime currentTime = LocalTime.now(ZoneId.of("Asia/Kolkata"));
-            availableSlot.removeIf(slot -> LocalTime.parse(slot).isBefore(currentTime));
-        }
-
-        if(conflictDateReservation.isEmpty())
-            return availableSlot;
-        for(Reservation reservation:conflictDateReservation){
-            availableSlot.remove(reservation.getTimeFrom());
-
+            notBefore = Math.max(notBefore, SlotSchedule.minuteOfDayCeil(LocalTime.now(ZoneId.of("Asia/Kolkata"))));
         }
-        return availableSlot;
-
+        return SlotSchedule.STANDARD.toSlots(SlotSchedule.STANDARD.available(bookedSlots, notBefore));
     }
 
 
     @Override
     public List<TableResponseDto> getAvailableSlots(String locationId, String date, String time, String guests){
         logger.info("In the Reseravtion Service Impl ");
-        List<Table> tablesByLocationId=tableRepository.getTablesByLocationId(locationId);
-        List<Table> tables=tablesByLocationId.stream()
-                .filter(t->Integer.parseInt(t.getCapacity())>=Integer.parseInt(guests))
-                .collect(Collectors.toList());
+        List<Table> tables=tableRepository.getTablesSeating(locationId, Integer.parseInt(guests));
         List<TableResponseDto> tableResponeDTOS=new ArrayList<>();
+        if (tables.isEmpty())
+            return tableResponeDTOS;
+
+        String locationAddress = locationRepository.findById(locationId).getAddress();
         for(Table table:tables){
             TableResponseDto tableResponeDTO=new TableResponseDto();
             tableResponeDTO.setLocationId(locationId);
-            tableResponeDTO.setLocationAddress(locationRepository.findById(locationId).getAddress());
+            tableResponeDTO.setLocationAddress(locationAddress);
             tableResponeDTO.setCapacity(table.getCapacity());
             tableResponeDTO.setTableNumber(table.getId());
-            tableResponeDTO.setAvailableSlots(getAvailableTimeSlot(getReservationByLocationIdDateTableId(locationId,date,table.getId()),time,date));
+            long bookedSlots = availabilityIndex.getBookedSlots(locationId, date, table.getId());
+            tableResponeDTO.setAvailableSlots(getAvailableTimeSlot(bookedSlots,time,date));
             if(!tableResponeDTO.getAvailableSlots().isEmpty())
                 tableResponeDTOS.add(tableResponeDTO);
 
@@ -134,7 +148,7 @@ public class ReservationServiceImpl implements ReservationService {
     @Override
     public ReservationResponse createReservation(ReservationRequestDto reservationRequestDto, String email){
         Reservation reservation = new Reservation();
-        String reservationId= UUID.randomUUID().toString();
+        String reservationId= idGenerator.nextId();
         reservation.setReservationId(reservationId);
         reservation.setDate(reservationRequestDto.getDate());
         reservation.setTableNumber(reservationRequestDto.getTableNumber());//TableId
@@ -147,9 +161,16 @@ public class ReservationServiceImpl implements ReservationService {
         reservation.setCreatedAt(createdAt);
         reservation.setUserId(email);
         reservation.setWaiterId(waiterRepository.getLeastBusyWaiterForLocation(reservationRequestDto.getLocationId()));// Get Method for least busy method.
+        String holdId = reservationRequestDto.getHoldId();
+        checkTableFree(reservation, holdId);
 
         logger.info("Reservation Created ");
-        reservationRepository.saveReservation(reservation);
+        reservationRepository.insertReservation(reservation, holdId);
+        if (holdId != null) {
+            availabilityIndex.onReservationReleased(holdId);
+        }
+        availabilityIndex.onReservationSaved(reservation);
+        statusScheduler.onReservationSaved(reservation);
         return mapToReservationResponse(reservation);
 
 
@@ -163,89 +184,158 @@ public class ReservationServiceImpl implements ReservationService {
     public ReservationResponse updateReservation(String reservationId, String userEmail, ReservationRequestDto updateRequest) {
         logger.info("Updating reservation with ID: {}", reservationId);
 
-        // First, get all reservations and find the one with matching ID
-        List<Reservation> allReservations = getAllReservation();
-        Reservation existingReservation = allReservations.stream()
-                .filter(r -> r.getReservationId().equals(reservationId))
-                .findFirst()
-                .orElse(null);
+        Reservation existingReservation = reservationRepository.findById(reservationId).orElse(null);
 
         // Check if reservation exists
         if (existingReservation == null) {
             logger.warn("Reservation with ID {} not found", reservationId);
             throw new com.epam.edp.demo.exception.ResourceNotFoundException("Reservation Id not found");
         }
-        if(!validation.isWithin30MinutesOfCreation(existingReservation.getCreatedAt())){
+        checkEditable(existingReservation, userEmail);
+
+        // Update fields from the request, or keep existing values if not provided
+
+        validation.validateTableId(existingReservation.getLocationId(),updateRequest.getTableNumber());
+        validation.validateGuests(updateRequest.getGuestsNumber());
+        validation.validateTimeFromReservation(updateRequest.getTimeFrom());
+        validation.validateTimeTo(updateRequest.getTimeTo(),updateRequest.getTimeFrom());
+
+        String waiterId = waiterRepository.getLeastBusyWaiterForLocation(existingReservation.getLocationId());
+
+        // Save the updated reservation, re-applying the request to the latest copy if it changed meanwhile
+        Reservation result = writeEdit(existingReservation, current -> {
+            checkEditable(current, userEmail);
+            Reservation updatedReservation = copyOf(current);
+            updatedReservation.setGuestNumber(updateRequest.getGuestsNumber());
+            updatedReservation.setTimeFrom(updateRequest.getTimeFrom());
+            updatedReservation.setTimeTo(updateRequest.getTimeTo());
+            updatedReservation.setWaiterId(waiterId);
+            return updatedReservation;
+        });
+        availabilityIndex.onReservationSaved(result);
+        statusScheduler.onReservationSaved(result);
+
+        logger.info("Successfully updated reservation {}", reservationId);
+        return mapToReservationResponse(result);
+    }
+
+    // Rejects an edit of a reservation that is too old, belongs to someone else or is cancelled
+    private void checkEditable(Reservation reservation, String userEmail) {
+        if(!validation.isWithin30MinutesOfCreation(reservation.getCreatedAt())){
             throw  new TooLateForCancellationException("Cannot Edit the Reservation after 30 minute");
         }
 
         // Check if the reservation belongs to the user
-        if (!existingReservation.getUserId().equals(userEmail)) {
+        if (!reservation.getUserId().equals(userEmail)) {
             logger.warn("User {} attempted to update reservation {} belonging to {}",
-                    userEmail, reservationId, existingReservation.getUserId());
+                    userEmail, reservation.getReservationId(), reservation.getUserId());
             throw new ForbiddenException("You do not have permission to update the reservations made by other users");
         }
 
         // Check if the reservation is already cancelled
-        if ("CANCELLED".equals(existingReservation.getStatus())) {
-            logger.warn("Cannot update cancelled reservation {}", reservationId);
+        if ("CANCELLED".equals(reservation.getStatus())) {
+            logger.warn("Cannot update cancelled reservation {}", reservation.getReservationId());
             throw new ValidationException("Cannot update a cancelled reservation");
         }
+    }
 
+    /**
+     * Writes an edit conditional on the version it was based on, without locking. When someone else changed the
+     * reservation first, the edit is merged into a fresh copy, re-running its checks, up to
+     * {@value #MAX_EDIT_ATTEMPTS} times before the conflict is reported
+     * @param reservation The reservation as read
+     * @param edit Builds the updated reservation from a stored copy, throwing when the edit is no longer allowed
+     * @return The reservation as written, with its new version
+     */
+    private Reservation writeEdit(Reservation reservation, UnaryOperator<Reservation> edit) {
+        for (int attempt = 1; ; attempt++) {
+            Reservation updated = edit.apply(reservation);
+            checkTableFree(updated, reservation.getReservationId());
+            try {
+                return reservationRepository.updateReservation(reservation, updated);
+            } catch (VersionConflictException e) {
+                if (attempt >= MAX_EDIT_ATTEMPTS) {
+                    logger.warn("Giving up on reservation {} after {} conflicting edits", reservation.getReservationId(), attempt);
+                    throw e;
+                }
+                String reservationId = reservation.getReservationId();
+                reservation = reservationRepository.findById(reservationId)
+                        .orElseThrow(() -> new com.epam.edp.demo.exception.ResourceNotFoundException("Reservation Id not found"));
+                logger.info("Reservation {} changed concurrently, merging the edit into version {}", reservationId, reservation.getVersion());
+            }
+        }
+    }
 
-        // Create a copy of the existing reservation to update
-
-        Reservation updatedReservation = new Reservation();
-        updatedReservation.setReservationId(reservationId);
-        updatedReservation.setUserId(existingReservation.getUserId());
-        updatedReservation.setCreatedAt(existingReservation.getCreatedAt());
-        updatedReservation.setStatus(existingReservation.getStatus());
-        updatedReservation.setWaiterId(existingReservation.getWaiterId());
-        updatedReservation.setFeedbackId(existingReservation.getFeedbackId());
-        updatedReservation.setOrders(existingReservation.getOrders());
-        updatedReservation.setDate(existingReservation.getDate());
-        updatedReservation.setLocationId(existingReservation.getLocationId());
-
-        // Update fields from the request, or keep existing values if not provided
-
-        validation.validateTableId(existingReservation.getLocationId(),updateRequest.getTableNumber());
-        updatedReservation.setTableNumber(existingReservation.getTableNumber());
-
-        validation.validateGuests(updateRequest.getGuestsNumber());
-        updatedReservation.setGuestNumber(updateRequest.getGuestsNumber());
-
-
-        validation.validateTimeFromReservation(updateRequest.getTimeFrom());
-        updatedReservation.setTimeFrom(updateRequest.getTimeFrom());
-
-        validation.validateTimeTo(updateRequest.getTimeTo(),updateRequest.getTimeFrom());
-        updatedReservation.setTimeTo(updateRequest.getTimeTo());
+    private static Reservation copyOf(Reservation reservation) {
+        Reservation copy = new Reservation();
+        copy.setReservationId(reservation.getReservationId());
+        copy.setUserId(reservation.getUserId());
+        copy.setLocationId(reservation.getLocationId());
+        copy.setWaiterId(reservation.getWaiterId());
+        copy.setCreatedAt(reservation.getCreatedAt());
+        copy.setTableNumber(reservation.getTableNumber());
+        copy.setDate(reservation.getDate());
+        copy.setGuestNumber(reservation.getGuestNumber());
+        copy.setTimeFrom(reservation.getTimeFrom());
+        copy.setTimeTo(reservation.getTimeTo());
+        copy.setStatus(reservation.getStatus());
+        copy.setFeedbackId(reservation.getFeedbackId());
+        copy.setOrders(reservation.getOrders());
+        copy.setVersion(reservation.getVersion());
+        return copy;
+    }
 
-            updatedReservation.setWaiterId(
-                    waiterRepository.getLeastBusyWaiterForLocation(existingReservation.getLocationId()));
 
-        // Save the updated reservation
-        Reservation result = reservationRepository.updateReservation(updatedReservation);
+    @Override
+    public List<ReservationResponse> getAllReservation(String email){
+       List<Reservation> reservations = new ArrayList<>();
+       String cursor = null;
+       do {
+           ReservationPage page = reservationRepository.findByUserId(email, cursor, MAX_PAGE_SIZE);
+           reservations.addAll(page.getReservations());
+           cursor = page.getNextCursor();
+       } while (cursor != null);
+       return mapToReservationResponses(reservations);
+    }
 
-        logger.info("Successfully updated reservation {}", reservationId);
-        return mapToReservationResponse(result);
+    @Override
+    public ReservationPageResponse getReservationPage(String email, String cursor, Integer limit){
+        ReservationPage page = reservationRepository.findByUserId(email, cursor, pageSize(limit));
+        return ReservationPageResponse.builder()
+                .reservations(mapToReservationResponses(page.getReservations()))
+                .nextCursor(page.getNextCursor())
+                .build();
     }
 
+    private static int pageSize(Integer limit){
+        return (limit == null || limit <= 0) ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+    }
 
+    // Resolves all location addresses of the list with one batch read instead of one GetItem per row
     @Override
-    public List<ReservationResponse> getAllReservation(String email){
-       List<Reservation> reservations= getAllReservation();
-       return reservations.stream()
-               .filter(reservation -> reservation.getUserId().equals(email))
-               .map(r->mapToReservationResponse(r))
-               .collect(Collectors.toList());
+    public List<ReservationResponse> mapToReservationResponses(List<Reservation> reservations){
+        Set<String> locationIds = reservations.stream()
+                .map(Reservation::getLocationId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Location> locations = locationRepository.findAllByIds(locationIds);
+        return reservations.stream()
+                .map(r -> {
+                    Location location = locations.get(r.getLocationId());
+                    return mapToReservationResponse(r, location != null ? location.getAddress() : null);
+                })
+                .collect(Collectors.toList());
     }
 
     private ReservationResponse mapToReservationResponse(Reservation reservation){
+        return mapToReservationResponse(reservation, locationRepository.findById(reservation.getLocationId()).getAddress());
+    }
+
+    private ReservationResponse mapToReservationResponse(Reservation reservation, String locationAddress){
         return new ReservationResponse(
                 reservation.getReservationId(),  // id
-                reservation.getStatus(),         // status
-                locationRepository.findById(reservation.getLocationId()).getAddress(),  // locationAddress (you'll need to implement this method)
+                statusResolver.resolve(reservation),  // status, derived from the time slot
+                locationAddress,                 // locationAddress
                 reservation.getDate(),           // date
                 reservation.getTimeFrom() + " - " + reservation.getTimeTo(),  // timeSlot
                 "",                              // preOrder (not in Reservation model, defaulting to empty)
@@ -262,7 +352,7 @@ public class ReservationServiceImpl implements ReservationService {
 
         // Create a new reservation
         Reservation reservation = new Reservation();
-        String reservationId = UUID.randomUUID().toString();
+        String reservationId = idGenerator.nextId();
         reservation.setReservationId(reservationId);
         reservation.setDate(requestDto.getDate());
         reservation.setTableNumber(requestDto.getTableNumber());
@@ -274,9 +364,12 @@ public class ReservationServiceImpl implements ReservationService {
         reservation.setCreatedAt(LocalDateTime.now(ZoneId.of("Asia/Kolkata")).toString());
         reservation.setUserId(customerEmail);
         reservation.setWaiterId(waiterEmail);
+        checkTableFree(reservation, null);
 
         // Save the reservation
-        reservationRepository.saveReservation(reservation);
+        reservationRepository.insertReservation(reservation);
+        availabilityIndex.onReservationSaved(reservation);
+        statusScheduler.onReservationSaved(reservation);
         logger.info("Successfully created reservation {} for customer {} by waiter {}",
                 reservationId, customerEmail, waiterEmail);
 
@@ -289,23 +382,25 @@ public class ReservationServiceImpl implements ReservationService {
     @Override
     public Reservation findReservationById(String reservationId) {
         logger.info("Finding reservation by ID: {}", reservationId);
-        List<Reservation> allReservations = getAllReservation();
-
-        return allReservations.stream()
-                .filter(r -> r.getReservationId().equals(reservationId))
-                .findFirst()
-                .orElse(null);
+        return reservationRepository.findById(reservationId).orElse(null);
     }
     @Override
     public List<ReservationResponse> getReservationsByWaiter(String waiterEmail) {
         logger.info("Getting all reservations for waiter: {}", waiterEmail);
-        List<Reservation> allReservations = getAllReservation();
+        List<Reservation> reservations = new ArrayList<>();
+        String cursor = null;
+        do {
+            ReservationPage page = reservationRepository.findByWaiterId(waiterEmail, cursor, MAX_PAGE_SIZE);
+            reservations.addAll(page.getReservations());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return mapToReservationResponses(reservations);
+    }
 
-        // Filter reservations by waiter email and map to response objects
-        return allReservations.stream()
-                .filter(reservation -> waiterEmail.equals(reservation.getWaiterId()))
-                .map(this::mapToReservationResponse)
-                .collect(Collectors.toList());
+    @Override
+    public ReservationPage getReservationPageByWaiter(String waiterEmail, String cursor, Integer limit) {
+        logger.info("Getting reservations page for waiter: {}", waiterEmail);
+        return reservationRepository.findByWaiterId(waiterEmail, cursor, pageSize(limit));
     }
 
     /**
@@ -336,6 +431,8 @@ public class ReservationServiceImpl implements ReservationService {
 
             if (wasDeleted) {
                 logger.info("Successfully deleted reservation with ID: {}", id);
+                availabilityIndex.onReservationReleased(id);
+                statusScheduler.onReservationReleased(id);
             } else {
                 logger.warn("No reservation found with ID: {} to delete", id);
             }
@@ -358,17 +455,12 @@ public class ReservationServiceImpl implements ReservationService {
         logger.info("Cancelling reservation with ID: {}", reservationId);
 
         try {
-            // Get the reservation to verify it exists
-            Reservation reservation = findReservationById(reservationId);
-            if (reservation == null) {
-                logger.warn("Reservation with ID {} not found", reservationId);
-                return false;
-            }
-
-            // Use the new method to completely delete the reservation
-            boolean deleted = ((DynamoDbReservationRepository)reservationRepository).completelyDeleteReservation(reservationId);
+            // A single conditional delete; a missing reservation comes back as false
+            boolean deleted = reservationRepository.completelyDeleteReservation(reservationId);
             if (deleted) {
                 logger.info("Successfully deleted reservation {}", reservationId);
+                availabilityIndex.onReservationReleased(reservationId);
+                statusScheduler.onReservationReleased(reservationId);
             } else {
                 logger.error("Failed to delete reservation {}", reservationId);
             }
@@ -387,7 +479,7 @@ public class ReservationServiceImpl implements ReservationService {
 
         // Create a new reservation
         Reservation reservation = new Reservation();
-        String reservationId = UUID.randomUUID().toString();
+        String reservationId = idGenerator.nextId();
         reservation.setReservationId(reservationId);
         reservation.setDate(requestDto.getDate());
         reservation.setTableNumber(requestDto.getTableNumber());
@@ -404,9 +496,12 @@ public class ReservationServiceImpl implements ReservationService {
 
         // Set the waiter who created this reservation
         reservation.setWaiterId(waiterEmail);
+        checkTableFree(reservation, null);
 
         // Save the reservation
-        reservationRepository.saveReservation(reservation);
+        reservationRepository.insertReservation(reservation);
+        availabilityIndex.onReservationSaved(reservation);
+        statusScheduler.onReservationSaved(reservation);
         logger.info("Successfully created anonymous reservation {} for visitor {} by waiter {}",
                 reservationId, visitorName, waiterEmail);
 
@@ -426,20 +521,33 @@ public class ReservationServiceImpl implements ReservationService {
             throw new ResourceNotFoundException("Reservation not found with id: " + reservationId);
         }
 
-        // Update the reservation with new date and time
-        reservation.setDate(newDate);
-        reservation.setTimeFrom(newTimeFrom);
-        reservation.setTimeTo(newTimeTo);
-
-        // Set status to POSTPONED
-        reservation.setStatus("POSTPONED");
-
-        // Save the updated reservation
-        reservationRepository.saveReservation(reservation);
+        // Move the reservation to the new date and time and set status to POSTPONED, merging into the latest copy if it changed meanwhile
+        Reservation postponed = writeEdit(reservation, current -> {
+            Reservation updated = copyOf(current);
+            updated.setDate(newDate);
+            updated.setTimeFrom(newTimeFrom);
+            updated.setTimeTo(newTimeTo);
+            updated.setStatus("POSTPONED");
+            return updated;
+        });
+        availabilityIndex.onReservationSaved(postponed);
+        statusScheduler.onReservationSaved(postponed);
         logger.info("Successfully postponed reservation {}", reservationId);
 
         // Return the updated reservation
-        return mapToReservationResponse(reservation);
+        return mapToReservationResponse(postponed);
+    }
+
+
+    // Rejects a booking whose time range overlaps another booking of the same table
+    private void checkTableFree(Reservation reservation, String ignoredReservationId) {
+        if (availabilityIndex.hasConflict(reservation.getLocationId(), reservation.getDate(), reservation.getTableNumber(),
+                reservation.getTimeFrom(), reservation.getTimeTo(), ignoredReservationId)) {
+            logger.warn("Table {} at location {} is already booked on {} between {} and {}", reservation.getTableNumber(),
+                    reservation.getLocationId(), reservation.getDate(), reservation.getTimeFrom(), reservation.getTimeTo());
+            throw new ConflictException("Table " + reservation.getTableNumber() + " is already booked on "
+                    + reservation.getDate() + " between " + reservation.getTimeFrom() + " and " + reservation.getTimeTo());
+        }
     }
 
 }
@@ -0,0 +1,145 @@
+package com.epam.edp.demo.service.impl;
+
+import com.epam.edp.demo.entity.Reservation;
+import com.epam.edp.demo.repository.ReservationRepository;
+import com.epam.edp.demo.utility.ReservationStatusRules;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gives every reservation response the status its time slot implies right now instead of the one
+ * last written by the scheduler. Transitions noticed on read are queued and written behind in
+ * batches, one conditional update per reservation, with repeated reads of the same reservation
+ * coalesced into a single write.
+ */
+@Component
+public class ReservationStatusResolver {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final ReservationRepository reservationRepository;
+    private final boolean deriveOnRead;
+    private final Map<String, PendingTransition> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    @Autowired
+    public ReservationStatusResolver(ReservationRepository reservationRepository,
+                                     @Value("${app.reservations.derive-status-on-read:true}") boolean deriveOnRead,
+                                     @Value("${app.reservations.status-flush-interval-ms:2000}") long flushIntervalMs) {
+        this.reservationRepository = reservationRepository;
+        this.deriveOnRead = deriveOnRead;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reservation-status-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (deriveOnRead) {
+            flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns the status to show for a reservation, queuing a write when it differs from the stored one
+     * @param reservation The reservation as read from the database
+     * @return The derived status, or the stored one when derivation on read is switched off
+     */
+    public String resolve(Reservation reservation) {
+        String stored = reservation.getStatus();
+        if (!deriveOnRead) {
+            return stored;
+        }
+        String derived = ReservationStatusRules.derive(reservation, LocalDateTime.now(ZONE));
+        if (derived != null && !derived.equals(stored) && reservation.getReservationId() != null) {
+            PendingTransition transition = new PendingTransition(snapshot(reservation), derived);
+            // FINISHED wins over IN_PROGRESS when both are seen before the next flush
+            pending.merge(reservation.getReservationId(), transition,
+                    (queued, latest) -> ReservationStatusRules.FINISHED.equals(queued.status) ? queued : latest);
+        }
+        return derived;
+    }
+
+    /**
+     * Writes every queued transition
+     * @return Number of reservations whose status was written
+     */
+    public int flush() {
+        List<PendingTransition> batch = new ArrayList<>();
+        for (String reservationId : new ArrayList<>(pending.keySet())) {
+            PendingTransition transition = pending.remove(reservationId);
+            if (transition != null) {
+                batch.add(transition);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        int written = 0;
+        for (PendingTransition transition : batch) {
+            try {
+                if (reservationRepository.transitionStatus(transition.reservation, transition.status,
+                        ReservationStatusRules.expectedBefore(transition.status))) {
+                    written++;
+                }
+            } catch (RuntimeException e) {
+                logger.error("Error persisting status {} of reservation {}: {}", transition.status,
+                        transition.reservation.getReservationId(), e.getMessage(), e);
+            }
+        }
+        logger.info("Persisted {} of {} derived reservation statuses", written, batch.size());
+        return written;
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        flushSafely();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Error persisting derived reservation statuses: {}", e.getMessage(), e);
+        }
+    }
+
+    private static Reservation snapshot(Reservation reservation) {
+        Reservation snapshot = new Reservation();
+        snapshot.setReservationId(reservation.getReservationId());
+        snapshot.setDate(reservation.getDate());
+        snapshot.setTimeFrom(reservation.getTimeFrom());
+        snapshot.setTimeTo(reservation.getTimeTo());
+        snapshot.setStatus(reservation.getStatus());
+        return snapshot;
+    }
+
+    private static final class PendingTransition {
+        private final Reservation reservation;
+        private final String status;
+
+        private PendingTransition(Reservation reservation, String status) {
+            this.reservation = reservation;
+            this.status = status;
+        }
+    }
+}
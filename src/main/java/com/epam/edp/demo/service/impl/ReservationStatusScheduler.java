@@ -1,32 +1,274 @@
 package com.epam.edp.demo.service.impl;
 
-import com.epam.edp.demo.repository.impl.DynamoDbReservationRepository;
+import com.epam.edp.demo.entity.Location;
+import com.epam.edp.demo.entity.Reservation;
+import com.epam.edp.demo.repository.LocationRepository;
+import com.epam.edp.demo.repository.ReservationRepository;
+import com.epam.edp.demo.utility.HierarchicalTimingWheel;
+import com.epam.edp.demo.utility.ReservationStatusRules;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moves reservations to IN_PROGRESS at their start time and to FINISHED at their end time.
+ * Today's and tomorrow's reservations are loaded once a day through the locationId-date index and
+ * every boundary is put on a timing wheel that ticks each minute, so only the reservations that
+ * actually change are written, with a conditional update on a small bounded pool.
+ */
 @Service
 @RequiredArgsConstructor
 public class ReservationStatusScheduler {
 
-    private final DynamoDbReservationRepository reservationRepository;
-
-    @Scheduled(cron = "0 30 10 * * *",zone = "Asia/Kolkata")   // 10:30 For in progress
-    @Scheduled(cron = "0 0 12 * * *",zone = "Asia/Kolkata")   // 12:00 For FINISHED
-    @Scheduled(cron = "0 15 12 * * *",zone = "Asia/Kolkata")   // 12:15 For IN_PROGRESS
-    @Scheduled(cron = "0 45 13 * * *",zone = "Asia/Kolkata")  // 13:45 For Finished
-    @Scheduled(cron = "0 00 14 * * *",zone = "Asia/Kolkata")  // 14:00 For IN_PROGRESS
-    @Scheduled(cron = "0 30 15 * * *",zone = "Asia/Kolkata")  // 15:30 For FINISHED
-    @Scheduled(cron = "0 45 15 * * *",zone = "Asia/Kolkata")  // 15:45 For INPROGRESS
-    @Scheduled(cron = "0 15 17 * * *",zone = "Asia/Kolkata")  // 17:15 For FINISHED
-    @Scheduled(cron = "0 30 17 * * *",zone = "Asia/Kolkata")  // 17:30 For IN_PROGRESS
-    @Scheduled(cron = "0 0 19 * * *",zone = "Asia/Kolkata")   // 19:00 For FINISHED
-    @Scheduled(cron = "0 15 19 * * *",zone = "Asia/Kolkata")   // 19:15 For INPROGRESS
-    @Scheduled(cron = "0 45 20 * * *",zone = "Asia/Kolkata")  // 20:45 For FINISHED
-    @Scheduled(cron = "0 00 21 * * *",zone = "Asia/Kolkata")  // 21:00 For INPROGRESS
-    @Scheduled(cron = "0 30 22 * * *",zone = "Asia/Kolkata")  // 22:30 For FINISHED
-    public void scheduledStatusUpdate() {
-        reservationRepository.updateReservationStatusesBasedOnTime(reservationRepository.getAllReservation());
+    public static final Set<String> UPCOMING_STATUSES = ReservationStatusRules.UPCOMING_STATUSES;
+    private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+    private static final int WORKER_THREADS = 4;
+    private static final int SCAN_SEGMENTS = 4;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final ReservationRepository reservationRepository;
+    private final LocationRepository locationRepository;
+    private final HierarchicalTimingWheel<Transition> wheel = new HierarchicalTimingWheel<>(toMinute(LocalDateTime.now(ZONE)));
+    // The slot each reservation was last scheduled for; transitions planned for another slot are stale
+    private final Map<String, Reservation> tracked = new ConcurrentHashMap<>();
+    private final ExecutorService workers = Executors.newFixedThreadPool(WORKER_THREADS, daemonThreads("reservation-status-"));
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(daemonThreads("reservation-status-wheel-"));
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        loadUpcoming();
+        LocalDateTime now = LocalDateTime.now(ZONE);
+        long delay = Duration.between(now, now.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1)).toMillis();
+        ticker.scheduleAtFixedRate(() -> {
+            try {
+                advance(LocalDateTime.now(ZONE));
+            } catch (RuntimeException e) {
+                logger.error("Error advancing reservation status wheel: {}", e.getMessage(), e);
+            }
+        }, delay, TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS);
+    }
+
+    @Scheduled(cron = "0 0 0 * * *", zone = "Asia/Kolkata")
+    public void loadUpcoming() {
+        loadUpcoming(LocalDateTime.now(ZONE));
+    }
+
+    /**
+     * Full-table reconciliation for reservations the wheel never saw, such as ones written while no instance
+     * was running. Off unless app.reservations.reconcile-cron is set.
+     */
+    @Scheduled(cron = "${app.reservations.reconcile-cron:-}", zone = "Asia/Kolkata")
+    public void reconcile() {
+        LocalDateTime now = LocalDateTime.now(ZONE);
+        logger.info("Reconciling reservation statuses");
+        reservationRepository.forEachReservation(SCAN_SEGMENTS,
+                reservation -> reservationRepository.updateReservationStatusBasedOnTime(reservation, now));
+    }
+
+    /**
+     * Loads the reservations of the day of {@code now} and the day after, one index query per location and day
+     * @param now The current time
+     */
+    public void loadUpcoming(LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        tracked.values().removeIf(reservation -> {
+            LocalDate date = parseDate(reservation.getDate());
+            return date == null || date.isBefore(today);
+        });
+
+        List<Future<List<Reservation>>> futures = new ArrayList<>();
+        for (Location location : locationRepository.findAll()) {
+            for (LocalDate day : List.of(today, today.plusDays(1))) {
+                futures.add(workers.submit(() ->
+                        reservationRepository.findByLocationAndDate(location.getId(), day.toString(), UPCOMING_STATUSES)));
+            }
+        }
+
+        int loaded = 0;
+        for (Future<List<Reservation>> future : futures) {
+            try {
+                for (Reservation reservation : future.get()) {
+                    track(reservation, now);
+                    loaded++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Interrupted while loading upcoming reservations");
+                return;
+            } catch (ExecutionException e) {
+                logger.error("Error loading upcoming reservations: {}", e.getCause().getMessage(), e.getCause());
+            }
+        }
+        logger.info("Loaded {} upcoming reservations, {} status transitions pending", loaded, wheel.size());
+    }
+
+    /**
+     * Schedules the transitions of a created, updated or postponed reservation if it falls on today or tomorrow
+     * @param reservation The reservation as it was written to the database
+     */
+    public void onReservationSaved(Reservation reservation) {
+        if (reservation == null || reservation.getReservationId() == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(ZONE);
+        LocalDate today = now.toLocalDate();
+        LocalDate date = parseDate(reservation.getDate());
+        if (date == null || date.isBefore(today) || date.isAfter(today.plusDays(1))) {
+            tracked.remove(reservation.getReservationId());
+            return;
+        }
+        track(reservation, now);
+    }
+
+    /**
+     * Drops the pending transitions of a cancelled or deleted reservation
+     * @param reservationId The ID of the reservation
+     */
+    public void onReservationReleased(String reservationId) {
+        if (reservationId != null) {
+            tracked.remove(reservationId);
+        }
+    }
+
+    /**
+     * Fires every transition due up to {@code now}
+     * @param now The current time
+     */
+    public void advance(LocalDateTime now) {
+        for (Transition transition : wheel.advanceTo(toMinute(now))) {
+            fire(transition);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void track(Reservation reservation, LocalDateTime now) {
+        String reservationId = reservation.getReservationId();
+        if (!UPCOMING_STATUSES.contains(reservation.getStatus())) {
+            tracked.remove(reservationId);
+            return;
+        }
+
+        LocalDateTime start;
+        LocalDateTime end;
+        try {
+            start = LocalDateTime.parse(reservation.getDate() + "T" + reservation.getTimeFrom());
+            end = LocalDateTime.parse(reservation.getDate() + "T" + reservation.getTimeTo());
+        } catch (DateTimeParseException e) {
+            logger.warn("Skipping reservation with missing or invalid date/time fields: {}", reservationId);
+            return;
+        }
+
+        Reservation snapshot = snapshot(reservation);
+        Reservation previous = tracked.put(reservationId, snapshot);
+        if (previous != null && sameSlot(previous, snapshot)) {
+            // Already on the wheel, e.g. loaded yesterday as tomorrow's reservation
+            return;
+        }
+
+        if (!ReservationStatusRules.IN_PROGRESS.equals(reservation.getStatus()) && now.isBefore(end)) {
+            schedule(start, new Transition(snapshot, ReservationStatusRules.IN_PROGRESS));
+        }
+        schedule(end, new Transition(snapshot, ReservationStatusRules.FINISHED));
+    }
+
+    private void schedule(LocalDateTime at, Transition transition) {
+        if (!wheel.schedule(toMinute(at), transition)) {
+            fire(transition);
+        }
+    }
+
+    private void fire(Transition transition) {
+        Reservation reservation = transition.reservation;
+        Reservation current = tracked.get(reservation.getReservationId());
+        if (current == null || !sameSlot(current, reservation)) {
+            return;
+        }
+        workers.execute(() -> {
+            try {
+                reservationRepository.transitionStatus(reservation, transition.status,
+                        ReservationStatusRules.expectedBefore(transition.status));
+                if (ReservationStatusRules.FINISHED.equals(transition.status)) {
+                    tracked.remove(reservation.getReservationId(), current);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Error moving reservation {} to {}: {}",
+                        reservation.getReservationId(), transition.status, e.getMessage(), e);
+            }
+        });
+    }
+
+    private static Reservation snapshot(Reservation reservation) {
+        Reservation snapshot = new Reservation();
+        snapshot.setReservationId(reservation.getReservationId());
+        snapshot.setDate(reservation.getDate());
+        snapshot.setTimeFrom(reservation.getTimeFrom());
+        snapshot.setTimeTo(reservation.getTimeTo());
+        snapshot.setStatus(reservation.getStatus());
+        return snapshot;
+    }
+
+    private static boolean sameSlot(Reservation a, Reservation b) {
+        return Objects.equals(a.getDate(), b.getDate())
+                && Objects.equals(a.getTimeFrom(), b.getTimeFrom())
+                && Objects.equals(a.getTimeTo(), b.getTimeTo());
+    }
+
+    private static LocalDate parseDate(String date) {
+        try {
+            return date == null ? null : LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static long toMinute(LocalDateTime time) {
+        return time.atZone(ZONE).toEpochSecond() / 60;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Transition {
+        private final Reservation reservation;
+        private final String status;
+
+        private Transition(Reservation reservation, String status) {
+            this.reservation = reservation;
+            this.status = status;
+        }
     }
 }
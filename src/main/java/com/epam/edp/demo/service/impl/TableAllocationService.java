@@ -0,0 +1,126 @@
+package com.epam.edp.demo.service.impl;
+
+import com.epam.edp.demo.dto.response.TableCombinationResponseDto;
+import com.epam.edp.demo.entity.Table;
+import com.epam.edp.demo.repository.LocationRepository;
+import com.epam.edp.demo.repository.TableRepository;
+import com.epam.edp.demo.utility.SlotSchedule;
+import com.epam.edp.demo.utility.TableCatalog;
+import com.epam.edp.demo.utility.TableCombinationAllocator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Finds tables for parties too large for any single table by combining free tables of one adjacency group.
+ * The search for all slots of a request shares one time budget, after which the best allocation found so far is used.
+ */
+@Service
+public class TableAllocationService {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final TableRepository tableRepository;
+    private final LocationRepository locationRepository;
+    private final ReservationAvailabilityIndex availabilityIndex;
+    private final TableCombinationAllocator allocator;
+    private final long budgetNanos;
+
+    @Autowired
+    public TableAllocationService(TableRepository tableRepository,
+                                  LocationRepository locationRepository,
+                                  ReservationAvailabilityIndex availabilityIndex,
+                                  @Value("${app.tables.max-combined-tables:4}") int maxTables,
+                                  @Value("${app.tables.allocation-budget-ms:50}") long budgetMs) {
+        this.tableRepository = tableRepository;
+        this.locationRepository = locationRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.allocator = new TableCombinationAllocator(maxTables);
+        this.budgetNanos = budgetMs * 1_000_000;
+    }
+
+    /**
+     * @param locationId The ID of the location
+     * @param date The date in yyyy-MM-dd
+     * @param time Earliest start time in HH:mm
+     * @param guests Size of the party
+     * @return For every slot from {@code time} on, the free tables that seat the party with the fewest empty seats
+     */
+    public List<TableCombinationResponseDto> getAvailableTableCombinations(String locationId, String date, String time, String guests) {
+        long deadline = System.nanoTime() + budgetNanos;
+        int guestCount = Integer.parseInt(guests);
+        List<Table> tables = tableRepository.getCatalog().getTables(locationId);
+        List<TableCombinationResponseDto> combinations = new ArrayList<>();
+        if (tables.isEmpty()) {
+            return combinations;
+        }
+
+        int[] capacities = new int[tables.size()];
+        int[] groups = new int[tables.size()];
+        long[] booked = new long[tables.size()];
+        Map<String, Integer> groupIds = new HashMap<>();
+        for (int i = 0; i < tables.size(); i++) {
+            Table table = tables.get(i);
+            capacities[i] = TableCatalog.capacityOf(table);
+            groups[i] = table.getAdjacencyGroup() == null || table.getAdjacencyGroup().isEmpty()
+                    ? TableCombinationAllocator.NO_GROUP
+                    : groupIds.computeIfAbsent(table.getAdjacencyGroup(), group -> groupIds.size());
+            booked[i] = availabilityIndex.getBookedSlots(locationId, date, table.getId());
+        }
+
+        String locationAddress = locationRepository.findById(locationId).getAddress();
+        int[] freeCapacities = new int[tables.size()];
+        int[] freeGroups = new int[tables.size()];
+        int[] freeTables = new int[tables.size()];
+        for (String slot : SlotSchedule.STANDARD.toSlots(SlotSchedule.STANDARD.available(0L, notBefore(date, time)))) {
+            long bit = SlotSchedule.STANDARD.bit(slot);
+            int free = 0;
+            for (int i = 0; i < tables.size(); i++) {
+                if ((booked[i] & bit) == 0) {
+                    freeCapacities[free] = capacities[i];
+                    freeGroups[free] = groups[i];
+                    freeTables[free++] = i;
+                }
+            }
+            int[] chosen = allocator.allocate(Arrays.copyOf(freeCapacities, free), Arrays.copyOf(freeGroups, free),
+                    guestCount, deadline);
+            if (chosen.length == 0) {
+                continue;
+            }
+            List<String> tableNumbers = new ArrayList<>(chosen.length);
+            int seats = 0;
+            for (int index : chosen) {
+                tableNumbers.add(tables.get(freeTables[index]).getId());
+                seats += freeCapacities[index];
+            }
+            combinations.add(TableCombinationResponseDto.builder()
+                    .locationId(locationId)
+                    .locationAddress(locationAddress)
+                    .timeFrom(slot)
+                    .tableNumbers(tableNumbers)
+                    .capacity(String.valueOf(seats))
+                    .build());
+        }
+        if (System.nanoTime() - deadline > 0) {
+            logger.warn("Table allocation for {} guests at location {} ran over its budget", guestCount, locationId);
+        }
+        return combinations;
+    }
+
+    // Slots already gone by are only filtered out when the date is today
+    private static int notBefore(String date, String time) {
+        int notBefore = SlotSchedule.minuteOfDay(time);
+        if (LocalDate.parse(date).isEqual(LocalDate.now(ZONE))) {
+            notBefore = Math.max(notBefore, SlotSchedule.minuteOfDayCeil(LocalTime.now(ZONE)));
+        }
+        return notBefore;
+    }
+}
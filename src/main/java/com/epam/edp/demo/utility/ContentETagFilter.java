@@ -0,0 +1,86 @@
+package com.epam.edp.demo.utility;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Answers conditional GETs on the public catalogue endpoints. The ETag comes from {@link ContentVersions} and is
+ * worked out before the controller runs, so a request whose If-None-Match still matches gets 304 Not Modified
+ * without reading DynamoDB or serialising anything, and a tag can only ever be older than the body sent with it.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class ContentETagFilter extends OncePerRequestFilter {
+
+    private static final String LOCATION_FEEDBACKS = "/api/locations/{locationId}/feedbacks";
+    private static final Map<String, String> CONTENT_BY_PATH = Map.of(
+            "/api/dishes", ContentVersions.DISHES,
+            "/api/dishes/popular", ContentVersions.DISHES,
+            "/api/locations", ContentVersions.LOCATIONS,
+            "/api/locations/select-options", ContentVersions.LOCATIONS);
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ContentVersions contentVersions;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))
+                || content(request.getServletPath()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String etag = contentVersions.etag(content(request.getServletPath()));
+        response.setHeader(HttpHeaders.ETAG, etag);
+        // Lets clients keep the body and revalidate it; without it Spring Security marks the response no-store
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private String content(String path) {
+        String content = CONTENT_BY_PATH.get(path);
+        if (content == null && pathMatcher.match(LOCATION_FEEDBACKS, path)) {
+            content = ContentVersions.feedbacksOf(pathMatcher.extractUriTemplateVariables(LOCATION_FEEDBACKS, path).get("locationId"));
+        }
+        return content;
+    }
+
+    // If-None-Match uses the weak comparison, so a W/ prefix added by a proxy still matches
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,78 @@
+package com.epam.edp.demo.utility;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Version counters for the public catalogue content, bumped by the repositories whenever they write it.
+ * An ETag is built from the versions a response depends on, so it changes as soon as this instance writes.
+ * It also carries a per-process epoch and a time window of {@code app.etag.max-age-seconds}, so a tag handed
+ * out before a restart, by another instance, or before a write made elsewhere stops matching within that window,
+ * the same bound the in-process caches already have.
+ */
+@Component
+public class ContentVersions {
+
+    public static final String DISHES = "dishes";
+    public static final String LOCATIONS = "locations";
+    private static final String FEEDBACKS = "feedbacks:";
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, Character.MAX_RADIX);
+    private final long windowMillis;
+    private final LongSupplier currentTimeMillis;
+
+    @Autowired
+    public ContentVersions(@Value("${app.etag.max-age-seconds:300}") long maxAgeSeconds) {
+        this(maxAgeSeconds, System::currentTimeMillis);
+    }
+
+    ContentVersions(long maxAgeSeconds, LongSupplier currentTimeMillis) {
+        if (maxAgeSeconds < 1) {
+            throw new IllegalArgumentException("ETags must stay valid for at least a second");
+        }
+        this.windowMillis = maxAgeSeconds * 1000;
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    /**
+     * @param locationId The ID of the location
+     * @return The content name of the location's feedbacks
+     */
+    public static String feedbacksOf(String locationId) {
+        return FEEDBACKS + locationId;
+    }
+
+    /**
+     * Marks content as changed, invalidating every ETag built from it
+     * @param content The content name, such as {@link #DISHES}
+     */
+    public void bump(String content) {
+        versions.computeIfAbsent(content, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    public long current(String content) {
+        AtomicLong version = versions.get(content);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * @param contents The content names a response is built from
+     * @return A strong ETag, quoted, for the current versions of that content
+     */
+    public String etag(String... contents) {
+        StringBuilder tag = new StringBuilder("\"").append(epoch);
+        for (String content : contents) {
+            tag.append('-').append(current(content));
+        }
+        return tag.append('-').append(Long.toString(currentTimeMillis.getAsLong() / windowMillis, Character.MAX_RADIX))
+                .append('"').toString();
+    }
+}
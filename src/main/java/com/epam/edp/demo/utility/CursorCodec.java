@@ -0,0 +1,64 @@
+package com.epam.edp.demo.utility;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.epam.edp.demo.exception.ValidationException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Turns a DynamoDB LastEvaluatedKey into an opaque, URL-safe continuation token and back.
+ * Only string and number key attributes are supported, which covers every table key we use.
+ */
+public final class CursorCodec {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String STRING_PREFIX = "S:";
+    private static final String NUMBER_PREFIX = "N:";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Map<String, AttributeValue> lastEvaluatedKey) {
+        if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) {
+            return null;
+        }
+        Map<String, String> plainKey = new TreeMap<>();
+        lastEvaluatedKey.forEach((name, value) -> plainKey.put(name,
+                value.getN() != null ? NUMBER_PREFIX + value.getN() : STRING_PREFIX + value.getS()));
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(OBJECT_MAPPER.writeValueAsBytes(plainKey));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode pagination cursor", e);
+        }
+    }
+
+    public static Map<String, AttributeValue> decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            Map<String, String> plainKey = OBJECT_MAPPER.readValue(Base64.getUrlDecoder().decode(cursor),
+                    new TypeReference<Map<String, String>>() { });
+            Map<String, AttributeValue> key = new HashMap<>();
+            for (Map.Entry<String, String> entry : plainKey.entrySet()) {
+                String value = entry.getValue();
+                if (value.startsWith(NUMBER_PREFIX)) {
+                    key.put(entry.getKey(), new AttributeValue().withN(value.substring(NUMBER_PREFIX.length())));
+                } else if (value.startsWith(STRING_PREFIX)) {
+                    key.put(entry.getKey(), new AttributeValue(value.substring(STRING_PREFIX.length())));
+                } else {
+                    throw new ValidationException("Invalid cursor");
+                }
+            }
+            return key;
+        } catch (IllegalArgumentException | IOException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+}
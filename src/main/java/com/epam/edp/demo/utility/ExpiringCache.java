@@ -0,0 +1,177 @@
+package com.epam.edp.demo.utility;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded read-through cache for data that rarely changes. Entries expire a fixed time after they were
+ * loaded and the least recently used entry is dropped once the cache is full. Reports {@code cache.gets}
+ * by hit or miss, {@code cache.evictions} and {@code cache.size}, tagged with the cache's name.
+ * Loads run outside the lock, so two threads missing the same key at once may both load it. A load that
+ * overlaps an invalidation is returned to its caller but not cached, so it cannot bring back data the
+ * invalidation dropped.
+ */
+public final class ExpiringCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+    private final Map<K, Entry<V>> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    // Bumped by every invalidation, guarded by entries
+    private long generation;
+
+    /**
+     * @param name Name of the cache in its metrics
+     * @param maxSize Most entries kept
+     * @param ttl How long an entry is served after it was loaded
+     * @param meterRegistry Registry the cache reports to
+     */
+    public ExpiringCache(String name, int maxSize, Duration ttl, MeterRegistry meterRegistry) {
+        this(name, maxSize, ttl, meterRegistry, System::nanoTime);
+    }
+
+    ExpiringCache(String name, int maxSize, Duration ttl, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("A cache holds at least one entry");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ExpiringCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit")
+                .description("Lookups served from the cache").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss")
+                .description("Lookups that had to load the value").register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", name)
+                .description("Entries dropped because the cache was full or the entry expired").register(meterRegistry);
+        Gauge.builder("cache.size", this, ExpiringCache::size).tag("cache", name)
+                .description("Entries currently cached").register(meterRegistry);
+    }
+
+    /**
+     * @param key The key
+     * @param loader Loads the value on a miss; a null result is returned but not cached
+     * @return The cached or freshly loaded value
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long stamp;
+        synchronized (entries) {
+            V cached = lookup(key);
+            if (cached != null) {
+                return cached;
+            }
+            stamp = generation;
+        }
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            put(key, loaded, stamp);
+        }
+        return loaded;
+    }
+
+    /**
+     * Looks a key up without loading it, counting a hit or a miss
+     * @param key The key
+     * @return The cached value, or null when it is absent or expired
+     */
+    public V getIfPresent(K key) {
+        synchronized (entries) {
+            return lookup(key);
+        }
+    }
+
+    public void put(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, nanoTime.getAsLong() + ttlNanos));
+        }
+    }
+
+    /**
+     * @return A stamp to take before loading values that are then cached with {@link #put(Object, Object, long)}
+     */
+    public long stamp() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    /**
+     * Caches a loaded value unless the cache was invalidated since the load began, as the value may have been
+     * read before the change that invalidation stands for
+     * @param key The key
+     * @param value The loaded value
+     * @param stamp The {@link #stamp()} taken before the load
+     */
+    public void put(K key, V value, long stamp) {
+        synchronized (entries) {
+            if (stamp == generation) {
+                entries.put(key, new Entry<>(value, nanoTime.getAsLong() + ttlNanos));
+            }
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            generation++;
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // Caller holds the lock on entries
+    private V lookup(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && nanoTime.getAsLong() - entry.expiresAtNanos >= 0) {
+            entries.remove(key);
+            evictions.increment();
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAtNanos;
+
+        private Entry(V value, long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
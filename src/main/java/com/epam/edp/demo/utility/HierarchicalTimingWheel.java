@@ -0,0 +1,126 @@
+package com.epam.edp.demo.utility;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel with a one-minute tick.
+ * Level 0 holds tasks due within the next 64 minutes, one bucket per minute; each higher level covers
+ * 64 times the span of the one below and is cascaded down as its bucket comes due, so scheduling and
+ * advancing cost O(1) per task regardless of how many tasks are pending. Tasks beyond the top level wait
+ * in an overflow list that is re-examined whenever the top level turns.
+ * Time is expressed in minutes since any fixed origin, usually the epoch.
+ *
+ * @param <T> Type of the scheduled tasks
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    private static final int LEVELS = 3;
+    private static final int BITS_PER_LEVEL = 6;
+    private static final int SLOTS = 1 << BITS_PER_LEVEL;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final List<List<List<Entry<T>>>> levels = new ArrayList<>(LEVELS);
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    private long currentMinute;
+    private int size;
+
+    public HierarchicalTimingWheel(long startMinute) {
+        this.currentMinute = startMinute;
+        for (int level = 0; level < LEVELS; level++) {
+            List<List<Entry<T>>> buckets = new ArrayList<>(SLOTS);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                buckets.add(new ArrayList<>());
+            }
+            levels.add(buckets);
+        }
+    }
+
+    /**
+     * Schedules a task to fire when the wheel reaches the given minute
+     * @param dueMinute The minute the task is due at
+     * @param task The task
+     * @return false if the minute has already been reached, in which case the task is not kept
+     */
+    public synchronized boolean schedule(long dueMinute, T task) {
+        if (dueMinute <= currentMinute) {
+            return false;
+        }
+        place(new Entry<>(dueMinute, task));
+        size++;
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward one tick at a time up to the given minute
+     * @param minute The minute to advance to; earlier minutes are ignored
+     * @return Tasks that came due, in due order
+     */
+    public synchronized List<T> advanceTo(long minute) {
+        List<T> due = new ArrayList<>();
+        while (currentMinute < minute) {
+            currentMinute++;
+            cascade();
+
+            List<Entry<T>> bucket = levels.get(0).get((int) (currentMinute & SLOT_MASK));
+            for (Entry<T> entry : bucket) {
+                due.add(entry.task);
+            }
+            size -= bucket.size();
+            bucket.clear();
+        }
+        return due;
+    }
+
+    public synchronized long currentMinute() {
+        return currentMinute;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void place(Entry<T> entry) {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * BITS_PER_LEVEL;
+            if ((entry.dueMinute >> shift) - (currentMinute >> shift) < SLOTS) {
+                levels.get(level).get((int) ((entry.dueMinute >> shift) & SLOT_MASK)).add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    // Re-places the bucket of every level whose span starts at the current minute, highest level first
+    private void cascade() {
+        int top = LEVELS * BITS_PER_LEVEL - BITS_PER_LEVEL;
+        if ((currentMinute & ((1L << top) - 1)) == 0 && !overflow.isEmpty()) {
+            List<Entry<T>> waiting = new ArrayList<>(overflow);
+            overflow.clear();
+            waiting.forEach(this::place);
+        }
+        for (int level = LEVELS - 1; level > 0; level--) {
+            int shift = level * BITS_PER_LEVEL;
+            if ((currentMinute & ((1L << shift) - 1)) != 0) {
+                continue;
+            }
+            List<Entry<T>> bucket = levels.get(level).get((int) ((currentMinute >> shift) & SLOT_MASK));
+            if (bucket.isEmpty()) {
+                continue;
+            }
+            List<Entry<T>> moving = new ArrayList<>(bucket);
+            bucket.clear();
+            moving.forEach(this::place);
+        }
+    }
+
+    private static final class Entry<T> {
+        private final long dueMinute;
+        private final T task;
+
+        private Entry(long dueMinute, T task) {
+            this.dueMinute = dueMinute;
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.epam.edp.demo.utility;
+
+/**
+ * Source of IDs for new items
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * Time-ordered UUIDv7 IDs, the default for reservations and feedback
+     */
+    IdGenerator TIME_ORDERED = UuidV7Generator.INSTANCE;
+
+    String nextId();
+}
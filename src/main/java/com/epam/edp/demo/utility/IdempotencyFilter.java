@@ -0,0 +1,238 @@
+package com.epam.edp.demo.utility;
+
+import com.epam.edp.demo.entity.IdempotencyRecord;
+import com.epam.edp.demo.repository.IdempotencyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Makes the create endpoints safe to retry. A POST carrying an {@value #HEADER} header claims the key, scoped to
+ * the caller and path, before it runs; a successful response is stored under the key and a retry gets that
+ * response back without reaching the controller, so nothing is validated, assigned or written twice.
+ * The claim is only a short lease until the response is stored, so a key whose request died with its
+ * instance can be retried once the lease lapses rather than answering 409 for the whole TTL.
+ * Recent responses are also kept in a bounded local cache so most replays do not touch DynamoDB.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final List<String> IDEMPOTENT_PATHS = List.of(
+            "/api/bookings/client",
+            "/api/waiters/reservations/*",
+            "/api/feedbacks/**");
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final IdempotencyRepository idempotencyRepository;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Map<String, IdempotencyRecord> recent;
+
+    @Autowired
+    public IdempotencyFilter(IdempotencyRepository idempotencyRepository,
+                             @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+                             @Value("${app.idempotency.lease-seconds:300}") long leaseSeconds,
+                             @Value("${app.idempotency.cache-size:10000}") int cacheSize) {
+        this.idempotencyRepository = idempotencyRepository;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.recent = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String path = request.getServletPath();
+        return IDEMPOTENT_PATHS.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String clientKey = request.getHeader(HEADER).trim();
+        if (clientKey.isEmpty() || clientKey.length() > MAX_KEY_LENGTH) {
+            writeMessage(response, HttpStatus.BAD_REQUEST, HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        BufferedBodyRequest bufferedRequest = new BufferedBodyRequest(request);
+        String key = caller() + "#" + request.getServletPath() + "#" + clientKey;
+        String requestHash = hash(bufferedRequest.body);
+        long now = Instant.now().getEpochSecond();
+
+        IdempotencyRecord existing = recent.get(key);
+        if (existing == null || existing.getExpiresAt() < now) {
+            existing = idempotencyRepository.claim(key, requestHash, now + lease.getSeconds()).orElse(null);
+        }
+        if (existing != null) {
+            respondToRetry(existing, requestHash, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(bufferedRequest, cachingResponse);
+            if (HttpStatus.valueOf(cachingResponse.getStatus()).is2xxSuccessful()) {
+                IdempotencyRecord completed = IdempotencyRecord.builder()
+                        .idempotencyKey(key)
+                        .requestHash(requestHash)
+                        .status(IdempotencyRecord.STATUS_COMPLETED)
+                        .responseStatus(cachingResponse.getStatus())
+                        .contentType(cachingResponse.getContentType())
+                        .responseBody(new String(cachingResponse.getContentAsByteArray(), StandardCharsets.UTF_8))
+                        .expiresAt(Instant.now().getEpochSecond() + ttl.getSeconds())
+                        .build();
+                idempotencyRepository.complete(completed);
+                recent.put(key, completed);
+                stored = true;
+            }
+        } finally {
+            // A failed request was not applied, so the client may retry it under the same key
+            if (!stored) {
+                idempotencyRepository.release(key);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private void respondToRetry(IdempotencyRecord existing, String requestHash, HttpServletResponse response) throws IOException {
+        if (!requestHash.equals(existing.getRequestHash())) {
+            writeMessage(response, HttpStatus.UNPROCESSABLE_ENTITY, HEADER + " was already used for a different request");
+            return;
+        }
+        if (!existing.isCompleted()) {
+            writeMessage(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still being processed");
+            return;
+        }
+        recent.put(existing.getIdempotencyKey(), existing);
+        logger.info("Replaying stored response for idempotency key {}", existing.getIdempotencyKey());
+        response.setStatus(existing.getResponseStatus());
+        if (existing.getContentType() != null) {
+            response.setContentType(existing.getContentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        byte[] body = existing.getResponseBody() == null ? new byte[0] : existing.getResponseBody().getBytes(StandardCharsets.UTF_8);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void writeMessage(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(objectMapper.writeValueAsString(Map.of("message", message)));
+    }
+
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return "anonymous";
+        }
+        return authentication.getName();
+    }
+
+    private static String hash(byte[] body) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // Reads the body once up front so it can be hashed and still be read by the controller
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private BufferedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The body is already in memory, so all of it is available as soon as a listener is set
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() == null ? StandardCharsets.UTF_8.name() : getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.epam.edp.demo.utility;
+
+import java.util.*;
+
+/**
+ * The bookings of one table as half-open intervals [from, to) of epoch minutes, ordered by start.
+ * A query only looks back as far as the longest booking ever held, so checking a range for overlaps
+ * or walking the free gaps of a window costs O(log n) plus the handful of bookings near the range.
+ * Overlapping bookings, e.g. ones written before conflicts were enforced, are kept and reported as such.
+ */
+public final class IntervalIndex {
+
+    private final NavigableSet<Interval> byStart = new TreeSet<>(
+            Comparator.comparingLong(Interval::getFrom).thenComparing(Interval::getId));
+    private final Map<String, Interval> byId = new HashMap<>();
+    private long maxLength;
+
+    /**
+     * Adds a booking, replacing any earlier interval held under the same ID
+     * @param id The ID of the booking
+     * @param from Start, inclusive
+     * @param to End, exclusive
+     */
+    public void add(String id, long from, long to) {
+        if (to <= from) {
+            throw new IllegalArgumentException("Interval must end after it starts: [" + from + ", " + to + ")");
+        }
+        remove(id);
+        Interval interval = new Interval(id, from, to);
+        byStart.add(interval);
+        byId.put(id, interval);
+        maxLength = Math.max(maxLength, to - from);
+    }
+
+    /**
+     * @param id The ID of the booking
+     * @return The removed interval, or null when there was none under that ID
+     */
+    public Interval remove(String id) {
+        Interval removed = byId.remove(id);
+        if (removed != null) {
+            byStart.remove(removed);
+        }
+        return removed;
+    }
+
+    public boolean isEmpty() {
+        return byId.isEmpty();
+    }
+
+    /**
+     * @param from Start, inclusive
+     * @param to End, exclusive
+     * @return true when no booking overlaps [from, to)
+     */
+    public boolean isFree(long from, long to) {
+        return isFree(from, to, null);
+    }
+
+    /**
+     * @param from Start, inclusive
+     * @param to End, exclusive
+     * @param ignoredId A booking not to count, such as the one being moved, may be null
+     * @return true when no other booking overlaps [from, to)
+     */
+    public boolean isFree(long from, long to, String ignoredId) {
+        for (Interval interval : candidates(from, to)) {
+            if (interval.overlaps(from, to) && !interval.id.equals(ignoredId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lists the free stretches of a window that are long enough to book
+     * @param windowFrom Start of the window, inclusive
+     * @param windowTo End of the window, exclusive
+     * @param minLength Shortest gap to report
+     * @return Gaps in ascending order, with a null ID
+     */
+    public List<Interval> freeGaps(long windowFrom, long windowTo, long minLength) {
+        List<Interval> gaps = new ArrayList<>();
+        long cursor = windowFrom;
+        for (Interval interval : candidates(windowFrom, windowTo)) {
+            if (interval.from > cursor) {
+                addGap(gaps, cursor, Math.min(interval.from, windowTo), minLength);
+            }
+            cursor = Math.max(cursor, interval.to);
+        }
+        addGap(gaps, cursor, windowTo, minLength);
+        return gaps;
+    }
+
+    private static void addGap(List<Interval> gaps, long from, long to, long minLength) {
+        if (to - from >= Math.max(minLength, 1)) {
+            gaps.add(new Interval(null, from, to));
+        }
+    }
+
+    // Every interval that can overlap [from, to): starts before `to` and no earlier than the longest booking reaches
+    private NavigableSet<Interval> candidates(long from, long to) {
+        if (byStart.isEmpty() || to <= from) {
+            return Collections.emptyNavigableSet();
+        }
+        return byStart.subSet(new Interval("", from - maxLength + 1, from - maxLength + 1), true,
+                new Interval("", to, to), false);
+    }
+
+    public static final class Interval {
+        private final String id;
+        private final long from;
+        private final long to;
+
+        private Interval(String id, long from, long to) {
+            this.id = id;
+            this.from = from;
+            this.to = to;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public long getFrom() {
+            return from;
+        }
+
+        public long getTo() {
+            return to;
+        }
+
+        boolean overlaps(long otherFrom, long otherTo) {
+            return from < otherTo && otherFrom < to;
+        }
+    }
+}
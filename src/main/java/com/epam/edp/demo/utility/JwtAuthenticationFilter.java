@@ -1,5 +1,7 @@
 package com.epam.edp.demo.utility;
 
+import com.epam.edp.demo.entity.User;
+import com.epam.edp.demo.repository.PrincipalCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,8 +9,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,11 +19,11 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private  JwtService jwtService;
-    private  UserDetailsService userDetailService;
+    private  PrincipalCache principalCache;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailService) {
+    public JwtAuthenticationFilter(JwtService jwtService, PrincipalCache principalCache) {
         this.jwtService = jwtService;
-        this.userDetailService = userDetailService;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -60,8 +60,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         userEmail =  jwtService.extractUserName(jwt);
 
         if(userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null){
-            UserDetails userDetails = this.userDetailService.loadUserByUsername(userEmail);
-            if(jwtService.isTokenValid(jwt , userDetails)){
+            User userDetails = principalCache.findUser(userEmail);
+            if(userDetails != null && jwtService.isTokenValid(jwt , userDetails)){
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
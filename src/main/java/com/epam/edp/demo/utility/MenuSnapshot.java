@@ -0,0 +1,165 @@
+package com.epam.edp.demo.utility;
+
+import com.epam.edp.demo.entity.Dish;
+
+import java.util.*;
+
+/**
+ * An immutable snapshot of every dish, with each catalogue view sorted once up front.
+ * Price, calories and rating are parsed a single time into {@code double[]}s, and the order of every
+ * (dish type, sort field, direction) combination is kept as an index array, so serving a view is a map
+ * lookup plus a read-only list over that array. Dish types are matched case-insensitively.
+ */
+public final class MenuSnapshot {
+
+    public enum SortField {
+        NAME, PRICE, RATING, CALORIES;
+
+        /**
+         * @param sortBy A sort field such as "price", may be null
+         * @return The field, or {@link #NAME} when it is missing or not known
+         */
+        public static SortField parse(String sortBy) {
+            if (sortBy != null) {
+                for (SortField field : values()) {
+                    if (field.name().equalsIgnoreCase(sortBy)) {
+                        return field;
+                    }
+                }
+            }
+            return NAME;
+        }
+    }
+
+    private final Dish[] dishes;
+    private final List<Dish> all;
+    private final Map<String, Map<String, List<Dish>>> views = new HashMap<>();
+
+    private MenuSnapshot(Dish[] dishes) {
+        this.dishes = dishes;
+        this.all = List.of(dishes);
+
+        double[] prices = new double[dishes.length];
+        double[] calories = new double[dishes.length];
+        double[] ratings = new double[dishes.length];
+        String[] names = new String[dishes.length];
+        Map<String, List<Integer>> byType = new HashMap<>();
+        List<Integer> everyDish = new ArrayList<>(dishes.length);
+        for (int i = 0; i < dishes.length; i++) {
+            prices[i] = parseNumber(dishes[i].getPrice());
+            calories[i] = parseNumber(dishes[i].getCalories());
+            ratings[i] = parseNumber(dishes[i].getRating());
+            names[i] = dishes[i].getName() != null ? dishes[i].getName() : "";
+            everyDish.add(i);
+            if (dishes[i].getDishType() != null && !dishes[i].getDishType().isEmpty()) {
+                byType.computeIfAbsent(typeKey(dishes[i].getDishType()), key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Map<SortField, Comparator<Integer>> comparators = new EnumMap<>(SortField.class);
+        comparators.put(SortField.NAME, Comparator.comparing(i -> names[i]));
+        comparators.put(SortField.PRICE, (a, b) -> Double.compare(prices[a], prices[b]));
+        comparators.put(SortField.RATING, (a, b) -> Double.compare(ratings[a], ratings[b]));
+        comparators.put(SortField.CALORIES, (a, b) -> Double.compare(calories[a], calories[b]));
+
+        views.put("", sortedViews(everyDish, comparators));
+        byType.forEach((type, members) -> views.put(type, sortedViews(members, comparators)));
+    }
+
+    /**
+     * @param dishes Every dish, in the order they should be listed when unsorted
+     * @return The snapshot of those dishes
+     */
+    public static MenuSnapshot of(Collection<Dish> dishes) {
+        return new MenuSnapshot(dishes.toArray(new Dish[0]));
+    }
+
+    /**
+     * @return Every dish in the order the snapshot was built from
+     */
+    public List<Dish> getDishes() {
+        return all;
+    }
+
+    /**
+     * @param dishType The type to keep, or null/empty for every dish
+     * @param sortBy "name", "price", "rating" or "calories"; anything else sorts by name
+     * @param sortDirection "desc" for descending, anything else for ascending
+     * @return The matching dishes in the requested order; the list is read-only
+     */
+    public List<Dish> view(String dishType, String sortBy, String sortDirection) {
+        Map<String, List<Dish>> typeViews = views.get(dishType == null ? "" : typeKey(dishType));
+        if (typeViews == null) {
+            return Collections.emptyList();
+        }
+        return typeViews.get(viewKey(SortField.parse(sortBy), "desc".equalsIgnoreCase(sortDirection)));
+    }
+
+    public int size() {
+        return dishes.length;
+    }
+
+    /**
+     * Reads the number in a value such as "$12.50" or "350 kcal" by dropping everything but digits and dots
+     * @param value The value, may be null
+     * @return The number, or 0 when there is none
+     */
+    static double parseNumber(String value) {
+        if (value == null) {
+            return 0.0;
+        }
+        try {
+            return Double.parseDouble(value.replaceAll("[^\\d.]", ""));
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    // Descending views use the reversed comparator rather than the reversed ascending order, so ties keep their listing order
+    private Map<String, List<Dish>> sortedViews(List<Integer> members, Map<SortField, Comparator<Integer>> comparators) {
+        Map<String, List<Dish>> sorted = new HashMap<>();
+        comparators.forEach((field, comparator) -> {
+            sorted.put(viewKey(field, false), indexView(members, comparator));
+            sorted.put(viewKey(field, true), indexView(members, comparator.reversed()));
+        });
+        return sorted;
+    }
+
+    private List<Dish> indexView(List<Integer> members, Comparator<Integer> comparator) {
+        Integer[] boxed = members.toArray(new Integer[0]);
+        Arrays.sort(boxed, comparator);
+        int[] order = new int[boxed.length];
+        for (int i = 0; i < boxed.length; i++) {
+            order[i] = boxed[i];
+        }
+        return new IndexView(dishes, order);
+    }
+
+    private static String viewKey(SortField field, boolean descending) {
+        return descending ? field.name() + ":desc" : field.name();
+    }
+
+    private static String typeKey(String dishType) {
+        return dishType.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class IndexView extends AbstractList<Dish> implements RandomAccess {
+        private final Dish[] dishes;
+        private final int[] order;
+
+        private IndexView(Dish[] dishes, int[] order) {
+            this.dishes = dishes;
+            this.order = order;
+        }
+
+        @Override
+        public Dish get(int index) {
+            return dishes[order[index]];
+        }
+
+        @Override
+        public int size() {
+            return order.length;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.epam.edp.demo.utility;
+
+import com.epam.edp.demo.entity.Reservation;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+
+/**
+ * The single definition of how a reservation's status follows from its date and time slot.
+ * Shared by the read path, the status scheduler and the reconciler so they can never disagree.
+ */
+public final class ReservationStatusRules {
+
+    public static final String IN_PROGRESS = "IN_PROGRESS";
+    public static final String FINISHED = "FINISHED";
+    public static final Set<String> NOT_STARTED_STATUSES = Set.of("CONFIRMED", "POSTPONED");
+    public static final Set<String> UPCOMING_STATUSES = Set.of("CONFIRMED", "POSTPONED", IN_PROGRESS);
+
+    private ReservationStatusRules() {
+    }
+
+    /**
+     * Derives the current status of a reservation. Cancelled, finished and unknown statuses are kept as stored,
+     * as are reservations whose date or time cannot be parsed
+     * @param reservation The reservation as stored
+     * @param now The current time in the restaurant's zone
+     * @return IN_PROGRESS between start and end, FINISHED from the end on, otherwise the stored status
+     */
+    public static String derive(Reservation reservation, LocalDateTime now) {
+        String stored = reservation.getStatus();
+        if (!UPCOMING_STATUSES.contains(stored)) {
+            return stored;
+        }
+        try {
+            LocalDateTime start = LocalDateTime.parse(reservation.getDate() + "T" + reservation.getTimeFrom());
+            LocalDateTime end = LocalDateTime.parse(reservation.getDate() + "T" + reservation.getTimeTo());
+            if (!now.isBefore(end)) {
+                return FINISHED;
+            }
+            if (!now.isBefore(start)) {
+                return IN_PROGRESS;
+            }
+            return stored;
+        } catch (DateTimeParseException e) {
+            return stored;
+        }
+    }
+
+    /**
+     * @param target A derived status
+     * @return The stored statuses a reservation may be moved from to reach {@code target}
+     */
+    public static Set<String> expectedBefore(String target) {
+        return IN_PROGRESS.equals(target) ? NOT_STARTED_STATUSES : UPCOMING_STATUSES;
+    }
+}
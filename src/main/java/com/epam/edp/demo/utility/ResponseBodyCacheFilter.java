@@ -0,0 +1,148 @@
+package com.epam.edp.demo.utility;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialised JSON of the ETagged catalogue responses as bytes, with a gzip copy for larger bodies.
+ * Runs after {@link ContentETagFilter} and keys each body by path, query string and the ETag that filter set, so
+ * a write to the content moves requests onto a new key and stale bodies simply age out. A hit is written straight
+ * to the output stream without running the controller, Jackson or the compressor.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class ResponseBodyCacheFilter extends OncePerRequestFilter {
+
+    // Below this gzip saves too little to be worth the Content-Encoding
+    static final int MIN_COMPRESS_BYTES = 1024;
+    private static final String GZIP = "gzip";
+
+    private final ExpiringCache<String, CachedBody> bodies;
+
+    @Autowired
+    public ResponseBodyCacheFilter(MeterRegistry meterRegistry,
+                                   @Value("${app.response-cache.size:500}") int cacheSize,
+                                   @Value("${app.etag.max-age-seconds:300}") long maxAgeSeconds) {
+        this.bodies = new ExpiringCache<>("responses", cacheSize, Duration.ofSeconds(maxAgeSeconds), meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        if (etag == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = request.getServletPath() + "?" + Objects.toString(request.getQueryString(), "") + "#" + etag;
+        CachedBody cached = bodies.getIfPresent(key);
+        if (cached != null) {
+            write(cached, etag, request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, cachingResponse);
+        String contentType = cachingResponse.getContentType();
+        if (cachingResponse.getStatus() != HttpServletResponse.SC_OK || contentType == null
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            cachingResponse.copyBodyToResponse();
+            return;
+        }
+        CachedBody body = CachedBody.of(contentType, cachingResponse.getContentAsByteArray());
+        bodies.put(key, body);
+        // The body is written from the cached copy, so the one captured by the wrapper is dropped
+        cachingResponse.resetBuffer();
+        write(body, etag, request, response);
+    }
+
+    private static void write(CachedBody body, String etag, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(body.contentType);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        byte[] bytes = body.identity;
+        if (body.gzip != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            bytes = body.gzip;
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            // Another coding of the same content is only weakly equal to it
+            response.setHeader(HttpHeaders.ETAG, "W/" + etag);
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase(GZIP) || name.equals("*")) {
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim().replace(" ", "");
+                    if (parameter.matches("q=0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class CachedBody {
+        private final String contentType;
+        private final byte[] identity;
+        private final byte[] gzip;
+
+        private CachedBody(String contentType, byte[] identity, byte[] gzip) {
+            this.contentType = contentType;
+            this.identity = identity;
+            this.gzip = gzip;
+        }
+
+        private static CachedBody of(String contentType, byte[] identity) {
+            return new CachedBody(contentType, identity, identity.length < MIN_COMPRESS_BYTES ? null : gzip(identity));
+        }
+
+        private static byte[] gzip(byte[] identity) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(identity.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(identity);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return compressed.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.epam.edp.demo.utility;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The bookable time slots of a location, each identified by its ordinal.
+ * A set of slots, such as the ones booked on a table for a day, is a {@code long} with bit i set for the
+ * i-th slot, so availability, conflict and "from time X on" checks are plain bit operations and no slot
+ * string is parsed or copied on the request path.
+ */
+public final class SlotSchedule {
+
+    public static final int DEFAULT_DURATION_MINUTES = 90;
+
+    public static final SlotSchedule STANDARD = new SlotSchedule(
+            "10:30", "12:15", "14:00", "15:45", "17:30", "19:15", "21:00");
+
+    private final String[] slots;
+    private final int[] startMinutes;
+    private final List<String> slotList;
+    private final long allSlots;
+
+    /**
+     * @param slots Start times in HH:mm, ascending, at most 64
+     */
+    public SlotSchedule(String... slots) {
+        if (slots.length > Long.SIZE) {
+            throw new IllegalArgumentException("A schedule holds at most " + Long.SIZE + " slots");
+        }
+        this.slots = slots.clone();
+        this.startMinutes = new int[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            startMinutes[i] = minuteOfDay(slots[i]);
+            if (i > 0 && startMinutes[i] <= startMinutes[i - 1]) {
+                throw new IllegalArgumentException("Slots must be in ascending order: " + Arrays.toString(slots));
+            }
+        }
+        this.slotList = List.of(this.slots);
+        this.allSlots = slots.length == Long.SIZE ? -1L : (1L << slots.length) - 1;
+    }
+
+    public List<String> getSlots() {
+        return slotList;
+    }
+
+    public int size() {
+        return slots.length;
+    }
+
+    /**
+     * @param slot A start time such as "12:15"
+     * @return The ordinal of the slot, or -1 when it is not one of this schedule's slots
+     */
+    public int ordinal(String slot) {
+        if (slot == null || slot.length() != 5 || slot.charAt(2) != ':') {
+            return -1;
+        }
+        int minute = parseHhMm(slot);
+        if (minute < 0) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(startMinutes, minute);
+        return index < 0 ? -1 : index;
+    }
+
+    /**
+     * @param slot A start time such as "12:15"
+     * @return The slot's bit, or 0 when it is not one of this schedule's slots
+     */
+    public long bit(String slot) {
+        int ordinal = ordinal(slot);
+        return ordinal < 0 ? 0L : 1L << ordinal;
+    }
+
+    public boolean isValid(String slot) {
+        return ordinal(slot) >= 0;
+    }
+
+    /**
+     * @param minuteOfDay Minutes since midnight
+     * @return The bits of every slot starting at or after that minute
+     */
+    public long startingFrom(int minuteOfDay) {
+        long mask = 0L;
+        for (int i = startMinutes.length - 1; i >= 0 && startMinutes[i] >= minuteOfDay; i--) {
+            mask |= 1L << i;
+        }
+        return mask;
+    }
+
+    /**
+     * @param booked Bits of the slots already taken
+     * @param notBeforeMinute Minutes since midnight before which no slot is offered
+     * @return Bits of the free slots starting at or after {@code notBeforeMinute}
+     */
+    public long available(long booked, int notBeforeMinute) {
+        return allSlots & ~booked & startingFrom(notBeforeMinute);
+    }
+
+    public static boolean conflicts(long booked, long requested) {
+        return (booked & requested) != 0;
+    }
+
+    /**
+     * @param mask Bits of a set of slots
+     * @return The start times of those slots in ascending order
+     */
+    public List<String> toSlots(long mask) {
+        mask &= allSlots;
+        List<String> result = new ArrayList<>(Long.bitCount(mask));
+        while (mask != 0) {
+            result.add(slots[Long.numberOfTrailingZeros(mask)]);
+            mask &= mask - 1;
+        }
+        return result;
+    }
+
+    /**
+     * Parses a time of day without allocating for the usual HH:mm form
+     * @param time A time such as "09:00" or "09:00:30"
+     * @return Minutes since midnight
+     * @throws java.time.format.DateTimeParseException when the time cannot be parsed
+     */
+    public static int minuteOfDay(String time) {
+        if (time != null && time.length() == 5 && time.charAt(2) == ':') {
+            int minute = parseHhMm(time);
+            if (minute >= 0) {
+                return minute;
+            }
+        }
+        LocalTime parsed = LocalTime.parse(time);
+        return parsed.getHour() * 60 + parsed.getMinute();
+    }
+
+    /**
+     * @param time A time of day
+     * @return Minutes since midnight, rounded up to the next whole minute
+     */
+    public static int minuteOfDayCeil(LocalTime time) {
+        int minute = time.getHour() * 60 + time.getMinute();
+        return time.getSecond() == 0 && time.getNano() == 0 ? minute : minute + 1;
+    }
+
+    private static int parseHhMm(String time) {
+        int h1 = time.charAt(0) - '0';
+        int h2 = time.charAt(1) - '0';
+        int m1 = time.charAt(3) - '0';
+        int m2 = time.charAt(4) - '0';
+        if (h1 < 0 || h1 > 9 || h2 < 0 || h2 > 9 || m1 < 0 || m1 > 5 || m2 < 0 || m2 > 9) {
+            return -1;
+        }
+        int hour = h1 * 10 + h2;
+        return hour > 23 ? -1 : hour * 60 + m1 * 10 + m2;
+    }
+}
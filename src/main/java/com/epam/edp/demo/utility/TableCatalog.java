@@ -0,0 +1,149 @@
+package com.epam.edp.demo.utility;
+
+import com.epam.edp.demo.entity.Table;
+
+import java.util.*;
+
+/**
+ * An immutable snapshot of the tables of every location, each location's tables sorted by capacity.
+ * Capacities are parsed once into an {@code int[]}, so "tables seating at least n guests" is a binary search
+ * plus a view of the tail.
+ * Location IDs are matched case-insensitively, as the table scan used to.
+ */
+public final class TableCatalog {
+
+    public static final TableCatalog EMPTY = new TableCatalog(Collections.emptyMap(), 0);
+
+    private final Map<String, LocationTables> byLocation;
+    private final int size;
+
+    private TableCatalog(Map<String, LocationTables> byLocation, int size) {
+        this.byLocation = byLocation;
+        this.size = size;
+    }
+
+    /**
+     * @param tables Every table; ones without an ID or location are left out and an unreadable capacity counts as 0
+     * @return The catalog of those tables
+     */
+    public static TableCatalog of(Collection<Table> tables) {
+        Map<String, List<Table>> grouped = new HashMap<>();
+        int size = 0;
+        for (Table table : tables) {
+            if (table.getId() != null && table.getLocationId() != null) {
+                grouped.computeIfAbsent(key(table.getLocationId()), key -> new ArrayList<>()).add(table);
+                size++;
+            }
+        }
+        Map<String, LocationTables> byLocation = new HashMap<>();
+        grouped.forEach((key, locationTables) -> byLocation.put(key, new LocationTables(locationTables)));
+        return new TableCatalog(byLocation, size);
+    }
+
+    /**
+     * @param locationId The ID of the location
+     * @return The location's tables, smallest first
+     */
+    public List<Table> getTables(String locationId) {
+        LocationTables tables = tables(locationId);
+        return tables == null ? Collections.emptyList() : tables.list;
+    }
+
+    /**
+     * @param locationId The ID of the location
+     * @param guests Size of the party
+     * @return The location's tables with a capacity of at least {@code guests}, smallest first
+     */
+    public List<Table> tablesSeating(String locationId, int guests) {
+        LocationTables tables = tables(locationId);
+        return tables == null ? Collections.emptyList() : tables.list.subList(tables.lowerBound(guests), tables.list.size());
+    }
+
+    /**
+     * @param locationId The ID of the location
+     * @param tableId The ID of the table
+     * @return The table, or null when the location has no such table
+     */
+    public Table findTable(String locationId, String tableId) {
+        LocationTables tables = tables(locationId);
+        return tables == null ? null : tables.byId.get(tableId);
+    }
+
+    public boolean contains(String locationId, String tableId) {
+        return findTable(locationId, tableId) != null;
+    }
+
+    /**
+     * @param locationId The ID of the location
+     * @return The location's table capacities in ascending order; the array must not be modified
+     */
+    public int[] capacities(String locationId) {
+        LocationTables tables = tables(locationId);
+        return tables == null ? new int[0] : tables.capacities;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param table A table
+     * @return Its capacity, or 0 when it is missing or not a number
+     */
+    public static int capacityOf(Table table) {
+        try {
+            return table.getCapacity() == null ? 0 : Integer.parseInt(table.getCapacity().trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private LocationTables tables(String locationId) {
+        return locationId == null ? null : byLocation.get(key(locationId));
+    }
+
+    private static String key(String locationId) {
+        return locationId.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class LocationTables {
+        private final int[] capacities;
+        private final List<Table> list;
+        private final Map<String, Table> byId = new HashMap<>();
+
+        private LocationTables(List<Table> tables) {
+            Table[] sorted = tables.toArray(new Table[0]);
+            int[] parsed = new int[sorted.length];
+            Integer[] order = new Integer[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                parsed[i] = capacityOf(sorted[i]);
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.<Integer>comparingInt(i -> parsed[i]).thenComparing(i -> sorted[i].getId()));
+
+            this.capacities = new int[sorted.length];
+            Table[] ordered = new Table[sorted.length];
+            for (int i = 0; i < order.length; i++) {
+                capacities[i] = parsed[order[i]];
+                ordered[i] = sorted[order[i]];
+                byId.put(ordered[i].getId(), ordered[i]);
+            }
+            this.list = List.of(ordered);
+        }
+
+        // Index of the first table with a capacity of at least `guests`
+        private int lowerBound(int guests) {
+            int low = 0;
+            int high = capacities.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (capacities[mid] < guests) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.epam.edp.demo.utility;
+
+import java.util.Arrays;
+
+/**
+ * Finds the set of tables that seats a party with the fewest empty seats, then the fewest tables.
+ * Tables are only combined within one adjacency group; a table outside any group can only be used alone.
+ * Each group is searched branch-and-bound over its capacities in descending order, with equal capacities
+ * tried once per level and a branch dropped as soon as its largest possible completion falls short.
+ * The search stops at the deadline and returns the best allocation found so far.
+ */
+public final class TableCombinationAllocator {
+
+    public static final int NO_GROUP = -1;
+    public static final int DEFAULT_MAX_TABLES = 4;
+    private static final int DEADLINE_CHECK_INTERVAL = 256;
+
+    private final int maxTables;
+
+    public TableCombinationAllocator(int maxTables) {
+        if (maxTables < 1) {
+            throw new IllegalArgumentException("At least one table must be allowed per party");
+        }
+        this.maxTables = maxTables;
+    }
+
+    /**
+     * @param capacities Capacity of each candidate table, all free in the requested slot
+     * @param groups Adjacency group of each table, or {@link #NO_GROUP}
+     * @param guests Size of the party
+     * @param deadlineNanos {@link System#nanoTime()} value at which to give up searching
+     * @return Indices of the chosen tables, largest first, or an empty array when no allocation was found
+     */
+    public int[] allocate(int[] capacities, int[] groups, int guests, long deadlineNanos) {
+        if (capacities.length != groups.length) {
+            throw new IllegalArgumentException("Every table needs a group");
+        }
+        Search search = new Search(guests, deadlineNanos);
+
+        // Any single table is a candidate, grouped or not
+        for (int i = 0; i < capacities.length; i++) {
+            if (capacities[i] >= guests) {
+                search.offer(new int[]{i}, capacities[i]);
+            }
+        }
+        if (maxTables == 1 || search.isPerfect()) {
+            return search.best;
+        }
+
+        for (int[] members : groupMembers(capacities, groups)) {
+            if (search.timedOut || search.isPerfect()) {
+                break;
+            }
+            search.run(members, capacities);
+        }
+        return search.best;
+    }
+
+    // Indices of each group's tables, largest capacity first
+    private static int[][] groupMembers(int[] capacities, int[] groups) {
+        Integer[] order = new Integer[capacities.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> groups[a] != groups[b]
+                ? Integer.compare(groups[a], groups[b]) : Integer.compare(capacities[b], capacities[a]));
+
+        int[][] members = new int[capacities.length][];
+        int count = 0;
+        for (int start = 0; start < order.length; ) {
+            int end = start;
+            while (end < order.length && groups[order[end]] == groups[order[start]]) {
+                end++;
+            }
+            if (groups[order[start]] != NO_GROUP && end - start > 1) {
+                int[] group = new int[end - start];
+                for (int i = start; i < end; i++) {
+                    group[i - start] = order[i];
+                }
+                members[count++] = group;
+            }
+            start = end;
+        }
+        return Arrays.copyOf(members, count);
+    }
+
+    private final class Search {
+        private final int guests;
+        private final long deadlineNanos;
+        private final int[] chosen = new int[maxTables];
+        private int[] best = new int[0];
+        private int bestWaste = Integer.MAX_VALUE;
+        private long nodes;
+        private boolean timedOut;
+
+        private int[] members;
+        private int[] memberCapacities;
+        // prefix[i] is the total capacity of members[0..i)
+        private int[] prefix;
+
+        private Search(int guests, long deadlineNanos) {
+            this.guests = guests;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        private void run(int[] members, int[] capacities) {
+            this.members = members;
+            this.memberCapacities = new int[members.length];
+            this.prefix = new int[members.length + 1];
+            for (int i = 0; i < members.length; i++) {
+                memberCapacities[i] = capacities[members[i]];
+                prefix[i + 1] = prefix[i] + memberCapacities[i];
+            }
+            search(0, 0, 0);
+        }
+
+        private void search(int from, int depth, int seats) {
+            if (seats >= guests) {
+                offer(Arrays.copyOf(chosen, depth), seats);
+                return;
+            }
+            if (depth == maxTables || timedOut || isPerfect() && depth + 1 >= best.length) {
+                return;
+            }
+            if (++nodes % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() - deadlineNanos >= 0) {
+                timedOut = true;
+                return;
+            }
+            int remaining = maxTables - depth;
+            int previousCapacity = -1;
+            for (int i = from; i < members.length; i++) {
+                // The largest completion from here uses the next `remaining` tables; later ones are smaller still
+                if (seats + prefix[Math.min(members.length, i + remaining)] - prefix[i] < guests) {
+                    return;
+                }
+                if (memberCapacities[i] == previousCapacity) {
+                    continue;
+                }
+                previousCapacity = memberCapacities[i];
+                chosen[depth] = members[i];
+                search(i + 1, depth + 1, seats + memberCapacities[i]);
+                if (timedOut) {
+                    return;
+                }
+            }
+        }
+
+        private void offer(int[] tables, int seats) {
+            int waste = seats - guests;
+            if (waste < bestWaste || waste == bestWaste && tables.length < best.length) {
+                best = tables;
+                bestWaste = waste;
+            }
+        }
+
+        private boolean isPerfect() {
+            return bestWaste == 0;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.epam.edp.demo.utility;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates RFC 9562 version 7 UUIDs: 48 bits of Unix milliseconds, a 12-bit counter and 62 random bits.
+ * Their canonical strings sort by creation time, so an ID doubles as a creation-time key for range queries
+ * and cursors. Each thread keeps its own clock and counter and draws from {@link ThreadLocalRandom}, so no
+ * lock or shared {@code SecureRandom} is touched; IDs from one thread are strictly increasing even within a
+ * millisecond or when the clock steps back, and IDs from different threads differ in their random bits.
+ */
+public final class UuidV7Generator implements IdGenerator {
+
+    public static final UuidV7Generator INSTANCE = new UuidV7Generator();
+
+    private static final int COUNTER_BITS = 12;
+    private static final int MAX_COUNTER = (1 << COUNTER_BITS) - 1;
+    // The counter starts somewhere in its lower half each millisecond, leaving room for a burst
+    private static final int COUNTER_SEED_BOUND = 1 << (COUNTER_BITS - 1);
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+    private UuidV7Generator() {
+    }
+
+    @Override
+    public String nextId() {
+        State current = state.get();
+        long millis = System.currentTimeMillis();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (millis > current.millis) {
+            current.millis = millis;
+            current.counter = random.nextInt(COUNTER_SEED_BOUND);
+        } else if (current.counter < MAX_COUNTER) {
+            // Same millisecond, or the clock went back: stay on the last millisecond and count up
+            current.counter++;
+        } else {
+            // Counter exhausted: borrow the next millisecond
+            current.millis++;
+            current.counter = random.nextInt(COUNTER_SEED_BOUND);
+        }
+        long mostSignificant = current.millis << 16 | 0x7000L | current.counter;
+        long leastSignificant = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return format(mostSignificant, leastSignificant);
+    }
+
+    /**
+     * @param id A version 7 UUID
+     * @return The moment it was generated at, to the millisecond
+     * @throws IllegalArgumentException when the ID is not a version 7 UUID
+     */
+    public static Instant timestampOf(String id) {
+        if (id == null || id.length() != 36 || id.charAt(14) != '7') {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + id);
+        }
+        return Instant.ofEpochMilli(Long.parseLong(id.substring(0, 8) + id.substring(9, 13), 16));
+    }
+
+    /**
+     * @param instant A moment in time
+     * @return An ID that sorts before every ID generated at or after that moment and after every earlier one,
+     * for use as the lower bound of a creation-time range
+     */
+    public static String lowerBound(Instant instant) {
+        return format(instant.toEpochMilli() << 16 | 0x7000L, 0x8000000000000000L);
+    }
+
+    private static String format(long mostSignificant, long leastSignificant) {
+        char[] chars = new char[36];
+        int position = 0;
+        for (int nibble = 15; nibble >= 0; nibble--) {
+            position = hex(chars, position, (int) (mostSignificant >>> (nibble * 4)) & 0xF, nibble == 8 || nibble == 4);
+        }
+        chars[position++] = '-';
+        for (int nibble = 15; nibble >= 0; nibble--) {
+            position = hex(chars, position, (int) (leastSignificant >>> (nibble * 4)) & 0xF, nibble == 12);
+        }
+        return new String(chars);
+    }
+
+    // Writes one hex digit, followed by a dash where the canonical form has one
+    private static int hex(char[] chars, int position, int value, boolean dashAfter) {
+        chars[position++] = HEX[value];
+        if (dashAfter) {
+            chars[position++] = '-';
+        }
+        return position;
+    }
+
+    private static final class State {
+        private long millis = -1;
+        private int counter;
+    }
+}
@@ -0,0 +1,135 @@
+package com.epam.edp.demo.utility;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The reservation counts of the waiters of one location, ordered least busy first.
+ * Entries are immutable; a waiter's load moves by adding the next entry and then swapping it in with a
+ * compare-and-set on the waiter's slot, so concurrent claims never pick the same waiter for the same load,
+ * no lock is taken and the waiter's current entry is always in the ordered set. Claiming costs O(log n).
+ */
+public final class WaiterLoadHeap {
+
+    private final NavigableSet<Load> byLoad = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong(Load::getCount).thenComparing(Load::getEmail).thenComparingLong(Load::getSequence));
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Load> current = new ConcurrentHashMap<>();
+
+    /**
+     * Takes the least busy waiter and counts one more reservation against them
+     * @return The waiter's email, or null when the location has no waiters
+     */
+    public String claim() {
+        while (true) {
+            Load least;
+            try {
+                least = byLoad.first();
+            } catch (NoSuchElementException e) {
+                return null;
+            }
+            Load next = entry(least.email, least.count + 1);
+            byLoad.add(next);
+            if (current.replace(least.email, least, next)) {
+                byLoad.remove(least);
+                return least.email;
+            }
+            byLoad.remove(next);
+            // Lost the race for this entry; drop it if it has been replaced so the next pass sees the waiter's real load
+            Load latest = current.get(least.email);
+            if (latest == null || latest.sequence > least.sequence) {
+                byLoad.remove(least);
+            }
+        }
+    }
+
+    /**
+     * Sets a waiter's load, adding the waiter when it is not in the heap yet
+     * @param email The waiter's email
+     * @param count Reservations assigned to the waiter
+     */
+    public void set(String email, long count) {
+        Load next = entry(email, count);
+        byLoad.add(next);
+        while (true) {
+            Load previous = current.get(email);
+            if (previous == null ? current.putIfAbsent(email, next) == null : current.replace(email, previous, next)) {
+                if (previous != null) {
+                    byLoad.remove(previous);
+                }
+                // A claim racing with a removal may have dropped the entry before it became current
+                byLoad.add(next);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param email The waiter's email
+     * @return true when the waiter was in the heap
+     */
+    public boolean remove(String email) {
+        Load removed = current.remove(email);
+        if (removed != null) {
+            byLoad.remove(removed);
+        }
+        return removed != null;
+    }
+
+    /**
+     * Replaces every load with the given ones and drops waiters that are no longer listed
+     * @param counts Reservations per waiter email
+     */
+    public void reconcile(Map<String, Long> counts) {
+        counts.forEach(this::set);
+        for (String email : new ArrayList<>(current.keySet())) {
+            if (!counts.containsKey(email)) {
+                remove(email);
+            }
+        }
+    }
+
+    /**
+     * @param email The waiter's email
+     * @return The waiter's load, or -1 when the waiter is not in the heap
+     */
+    public long load(String email) {
+        Load load = current.get(email);
+        return load == null ? -1 : load.count;
+    }
+
+    public int size() {
+        return current.size();
+    }
+
+    private Load entry(String email, long count) {
+        return new Load(email, count, sequence.incrementAndGet());
+    }
+
+    // Compared by identity, so an entry that has been replaced can never be mistaken for the current one
+    private static final class Load {
+        private final String email;
+        private final long count;
+        private final long sequence;
+
+        private Load(String email, long count, long sequence) {
+            this.email = email;
+            this.count = count;
+            this.sequence = sequence;
+        }
+
+        String getEmail() {
+            return email;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        long getSequence() {
+            return sequence;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.epam.edp.demo.exception.ResourceNotFoundException;
 import com.epam.edp.demo.exception.ValidationException;
 import com.epam.edp.demo.repository.LocationRepository;
 import com.epam.edp.demo.service.TableService;
+import com.epam.edp.demo.utility.SlotSchedule;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,7 +15,6 @@ import org.springframework.stereotype.Service;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.Arrays;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -25,9 +25,11 @@ public class Validation {
     private final TableService tableService;
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
-    private static final List<String> STANDARD_TIME_SLOTS = Arrays.asList(
-            "10:30", "12:15", "14:00", "15:45", "17:30", "19:15", "21:00"
-    );
+    public static final List<String> STANDARD_TIME_SLOTS = SlotSchedule.STANDARD.getSlots();
+    public static final int MIN_RESERVATION_MINUTES = 30;
+    public static final int MAX_RESERVATION_MINUTES = 240;
+    public static final int MAX_GUESTS = 20;
+    public static final int MAX_COMBINED_TABLE_GUESTS = 60;
 
 
 
@@ -58,7 +60,7 @@ public class Validation {
             if (guests <= 0) {
                 logger.warn("Invalid guests value: " + guests + " (must be positive)");
                 throw new ValidationException("Number of guests must be greater than zero.");
-            } else if (guests > 20) {
+            } else if (guests > MAX_GUESTS) {
                 // Add a reasonable upper limit for number of guests
                 logger.warn("Too many guests: " + guests);
                 throw new ValidationException("For large parties (over 20 guests), please contact the restaurant directly.");
@@ -69,6 +71,29 @@ public class Validation {
     }
 
 
+    /**
+     * Validates the size of a party that may be seated at several tables pushed together
+     * @param guestsStr The number of guests
+     * @throws ValidationException if it is not a number between 1 and {@link #MAX_COMBINED_TABLE_GUESTS}
+     */
+    public void validateLargePartyGuests(String guestsStr) throws ValidationException {
+        if (guestsStr == null || guestsStr.isEmpty()) {
+            throw new ValidationException("Number of guests is required");
+        }
+
+        try {
+            int guests = Integer.parseInt(guestsStr);
+            if (guests <= 0) {
+                throw new ValidationException("Number of guests must be greater than zero.");
+            } else if (guests > MAX_COMBINED_TABLE_GUESTS) {
+                logger.warn("Too many guests for combined tables: " + guests);
+                throw new ValidationException("For parties over " + MAX_COMBINED_TABLE_GUESTS + " guests, please contact the restaurant directly.");
+            }
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid guests parameter. Please provide a valid number.");
+        }
+    }
+
     public void validateDate(String dateStr) {
             if (dateStr == null || dateStr.isEmpty()) {
                 throw new ValidationException("Date is required");
@@ -161,7 +186,7 @@ public class Validation {
 
 
     public boolean isValidTimeSlot(String timeSlot) {
-        return STANDARD_TIME_SLOTS.contains(timeSlot);
+        return SlotSchedule.STANDARD.isValid(timeSlot);
     }
 
 
@@ -206,9 +231,13 @@ public class Validation {
             LocalTime endTime = LocalTime.parse(timeTo);
             try {
                 LocalTime startTime = LocalTime.parse(timeFrom);
-                LocalTime endTime90 = startTime.plusMinutes(90);
-                if (endTime.isBefore(startTime) || endTime.equals(startTime) || (!endTime.equals(endTime90))) {
-                    throw new ValidationException("End time must be after start time or end time must be of 90 minutes gap");
+                if (!endTime.isAfter(startTime)) {
+                    throw new ValidationException("End time must be after start time");
+                }
+                long minutes = Duration.between(startTime, endTime).toMinutes();
+                if (minutes < MIN_RESERVATION_MINUTES || minutes > MAX_RESERVATION_MINUTES) {
+                    throw new ValidationException("Reservation must last between " + MIN_RESERVATION_MINUTES
+                            + " and " + MAX_RESERVATION_MINUTES + " minutes");
                 }
             } catch (DateTimeParseException e) {
                 throw new ValidationException("Invalid end time format. Please provide a valid time");
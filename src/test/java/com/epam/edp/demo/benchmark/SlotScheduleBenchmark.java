@@ -0,0 +1,71 @@
+package com.epam.edp.demo.benchmark;
+
+import com.epam.edp.demo.utility.SlotSchedule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares slot availability on {@link SlotSchedule} bitmasks with the string-list implementation it replaced.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.epam.edp.demo.benchmark.SlotScheduleBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlotScheduleBenchmark {
+
+    private static final List<String> LEGACY_SLOTS = List.of("10:30", "12:15", "14:00", "15:45", "17:30", "19:15", "21:00");
+
+    private final List<String> bookedStartTimes = List.of("12:15", "17:30");
+    private final String time = "11:00";
+    private final LocalTime now = LocalTime.of(11, 42, 10);
+    private long bookedSlots;
+
+    @Setup
+    public void setUp() {
+        for (String startTime : bookedStartTimes) {
+            bookedSlots |= SlotSchedule.STANDARD.bit(startTime);
+        }
+    }
+
+    @Benchmark
+    public List<String> legacyStringSlots() {
+        List<String> availableSlot = new ArrayList<>(LEGACY_SLOTS);
+        for (String startTime : bookedStartTimes) {
+            availableSlot.remove(startTime);
+        }
+        List<String> result = new ArrayList<>();
+        for (String slot : availableSlot) {
+            LocalTime slotTime = LocalTime.parse(slot);
+            if (!LocalTime.parse(time).isAfter(slotTime) && !slotTime.isBefore(now)) {
+                result.add(slot);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long slotScheduleMask() {
+        int notBefore = Math.max(SlotSchedule.minuteOfDay(time), SlotSchedule.minuteOfDayCeil(now));
+        return SlotSchedule.STANDARD.available(bookedSlots, notBefore);
+    }
+
+    @Benchmark
+    public List<String> slotScheduleSlots() {
+        return SlotSchedule.STANDARD.toSlots(slotScheduleMask());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SlotScheduleBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,64 @@
+package com.epam.edp.demo.benchmark;
+
+import com.epam.edp.demo.utility.TableCombinationAllocator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link TableCombinationAllocator} on locations of 50 to 200 tables in adjacency groups of 8,
+ * with about a third of the tables already booked.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.epam.edp.demo.benchmark.TableCombinationAllocatorBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TableCombinationAllocatorBenchmark {
+
+    private static final int[] TABLE_SIZES = {2, 2, 4, 4, 4, 6, 6, 8};
+    private static final int GROUP_SIZE = 8;
+
+    @Param({"50", "100", "200"})
+    private int tables;
+
+    @Param({"14", "23", "37"})
+    private int guests;
+
+    private final TableCombinationAllocator allocator = new TableCombinationAllocator(TableCombinationAllocator.DEFAULT_MAX_TABLES);
+    private int[] capacities;
+    private int[] groups;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int[] freeCapacities = new int[tables];
+        int[] freeGroups = new int[tables];
+        int free = 0;
+        for (int i = 0; i < tables; i++) {
+            if (random.nextInt(3) != 0) {
+                freeCapacities[free] = TABLE_SIZES[random.nextInt(TABLE_SIZES.length)];
+                freeGroups[free++] = i / GROUP_SIZE;
+            }
+        }
+        capacities = Arrays.copyOf(freeCapacities, free);
+        groups = Arrays.copyOf(freeGroups, free);
+    }
+
+    @Benchmark
+    public int[] allocate() {
+        return allocator.allocate(capacities, groups, guests, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TableCombinationAllocatorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -1,6 +1,7 @@
 package com.epam.edp.demo.controller;
 
 import com.epam.edp.demo.dto.request.ReservationRequestDto;
+import com.epam.edp.demo.dto.response.ReservationHoldResponse;
 import com.epam.edp.demo.dto.response.ReservationResponse;
 import com.epam.edp.demo.dto.response.TableResponseDto;
 import com.epam.edp.demo.exception.ResourceNotFoundException;
@@ -8,6 +9,7 @@ import com.epam.edp.demo.exception.UnAuthorizedException;
 import com.epam.edp.demo.exception.ValidationException;
 import com.epam.edp.demo.service.ReservationService;
 import com.epam.edp.demo.service.impl.AuthService;
+import com.epam.edp.demo.service.impl.ReservationHoldService;
 import com.epam.edp.demo.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -38,6 +40,9 @@ public class BookingControllerTest {
     @Mock
     private AuthService authService;
 
+    @Mock
+    private ReservationHoldService reservationHoldService;
+
     @InjectMocks
     private BookingController bookingController;
 
@@ -273,4 +278,33 @@ public class BookingControllerTest {
         verify(validation).validateReservationRequest(validReservationRequest);
         verify(reservationService).createReservation(validReservationRequest, validEmail);
     }
-}
\ No newline at end of file
+
+    @Test
+    void placeHold_Success() {
+        // Arrange
+        String authHeader = "Bearer " + validToken;
+        ReservationHoldResponse hold = ReservationHoldResponse.builder().holdId("hold-1").build();
+        when(authService.extractUserEmailFromAuthHeader(authHeader)).thenReturn(validEmail);
+        when(reservationHoldService.placeHold(validReservationRequest, validEmail)).thenReturn(hold);
+
+        // Act
+        ResponseEntity<Map<String, ReservationHoldResponse>> response =
+                bookingController.placeHold(validReservationRequest, authHeader);
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(hold, response.getBody().get("data"));
+        verify(validation).validateReservationRequest(validReservationRequest);
+    }
+
+    @Test
+    void releaseHold_MissingAuthHeader() {
+        // Arrange
+        when(authService.extractUserEmailFromAuthHeader(null))
+                .thenThrow(new UnAuthorizedException("Authorization token is missing or invalid"));
+
+        // Act & Assert
+        assertThrows(UnAuthorizedException.class, () -> bookingController.releaseHold("hold-1", null));
+        verifyNoInteractions(reservationHoldService);
+    }
+}
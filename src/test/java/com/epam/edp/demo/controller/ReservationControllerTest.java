@@ -2,6 +2,7 @@ package com.epam.edp.demo.controller;
 
 import com.amazonaws.services.dynamodbv2.model.ResourceNotFoundException;
 import com.epam.edp.demo.dto.request.ReservationRequestDto;
+import com.epam.edp.demo.dto.response.ReservationPageResponse;
 import com.epam.edp.demo.dto.response.ReservationResponse;
 import com.epam.edp.demo.exception.UnAuthorizedException;
 import com.epam.edp.demo.exception.ValidationException;
@@ -102,11 +103,12 @@ public class ReservationControllerTest {
         // Arrange
         String authHeader = "Bearer " + validToken;
         when(authService.extractUserEmailFromToken(validToken)).thenReturn(validEmail);
-        when(reservationService.getAllReservation(validEmail)).thenReturn(mockReservations);
+        when(reservationService.getReservationPage(validEmail, "cursor-1", 10))
+                .thenReturn(new ReservationPageResponse(mockReservations, "cursor-2"));
 
         // Act
-        ResponseEntity<Map<String, Map<String, List<ReservationResponse>>>> response =
-                reservationController.getReservations(authHeader);
+        ResponseEntity<Map<String, Map<String, Object>>> response =
+                reservationController.getReservations(authHeader, "cursor-1", 10);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -114,17 +116,18 @@ public class ReservationControllerTest {
         assertTrue(response.getBody().containsKey("data"));
         assertTrue(response.getBody().get("data").containsKey("reservation"));
         assertEquals(mockReservations, response.getBody().get("data").get("reservation"));
+        assertEquals("cursor-2", response.getBody().get("data").get("nextCursor"));
 
         // Verify interactions
         verify(authService).extractUserEmailFromToken(validToken);
-        verify(reservationService).getAllReservation(validEmail);
+        verify(reservationService).getReservationPage(validEmail, "cursor-1", 10);
     }
 
     @Test
     void getReservations_MissingAuthHeader() {
         try {
             // Act
-            reservationController.getReservations(null);
+            reservationController.getReservations(null, null, null);
             fail("Expected UnAuthorizedException was not thrown");
         } catch (UnAuthorizedException e) {
             // Assert
@@ -141,7 +144,7 @@ public class ReservationControllerTest {
 
         try {
             // Act
-            reservationController.getReservations(invalidAuthHeader);
+            reservationController.getReservations(invalidAuthHeader, null, null);
             fail("Expected UnAuthorizedException was not thrown");
         } catch (UnAuthorizedException e) {
             // Assert
@@ -160,7 +163,7 @@ public class ReservationControllerTest {
 
         try {
             // Act
-            reservationController.getReservations(authHeader);
+            reservationController.getReservations(authHeader, null, null);
             fail("Expected UnAuthorizedException was not thrown");
         } catch (UnAuthorizedException e) {
             // Assert
@@ -175,7 +178,7 @@ public class ReservationControllerTest {
         // Arrange
         String authHeader = "Bearer " + validToken;
         when(authService.extractUserEmailFromToken(validToken)).thenReturn(validEmail);
-        when(reservationService.deleteReservationOfUser(validReservationId)).thenReturn(true);
+        when(reservationService.deleteReservationOfUser(validReservationId, validEmail)).thenReturn(true);
 
         // Act
         ResponseEntity<Map<String, String>> response =
@@ -188,7 +191,7 @@ public class ReservationControllerTest {
 
         // Verify interactions
         verify(authService).extractUserEmailFromToken(validToken);
-        verify(reservationService).deleteReservationOfUser(validReservationId);
+        verify(reservationService).deleteReservationOfUser(validReservationId, validEmail);
     }
 
     @Test
@@ -196,7 +199,7 @@ public class ReservationControllerTest {
         // Arrange
         String authHeader = "Bearer " + validToken;
         when(authService.extractUserEmailFromToken(validToken)).thenReturn(validEmail);
-        when(reservationService.deleteReservationOfUser(validReservationId)).thenReturn(false);
+        when(reservationService.deleteReservationOfUser(validReservationId, validEmail)).thenReturn(false);
 
         // Act
         ResponseEntity<Map<String, String>> response =
@@ -209,7 +212,7 @@ public class ReservationControllerTest {
 
         // Verify interactions
         verify(authService).extractUserEmailFromToken(validToken);
-        verify(reservationService).deleteReservationOfUser(validReservationId);
+        verify(reservationService).deleteReservationOfUser(validReservationId, validEmail);
     }
 
 
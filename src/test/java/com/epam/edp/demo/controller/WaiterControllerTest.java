@@ -7,6 +7,7 @@ import com.epam.edp.demo.dto.request.WaiterRequest;
 import com.epam.edp.demo.dto.request.WaiterReservationRequestDto;
 import com.epam.edp.demo.dto.response.ReservationResponse;
 import com.epam.edp.demo.entity.Reservation;
+import com.epam.edp.demo.entity.ReservationPage;
 import com.epam.edp.demo.exception.UnAuthorizedException;
 import com.epam.edp.demo.exception.ValidationException;
 import com.epam.edp.demo.service.impl.CustomerVerificationService;
@@ -29,6 +30,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -470,12 +472,14 @@ public class WaiterControllerTest {
         // Arrange
         when(authService.extractUserEmailFromToken("valid-token")).thenReturn(waiterEmail);
         when(waiterService.isWaiter(waiterEmail)).thenReturn(true);
-        when(reservationService.getReservationsByWaiter(waiterEmail)).thenReturn(Collections.singletonList(reservationResponse));
-        when(reservationService.findReservationById(reservationId)).thenReturn(existingReservation);
-        when(customerVerificationService.getCustomerFullName(customerEmail)).thenReturn(customerName);
+        List<Reservation> pageReservations = Collections.singletonList(existingReservation);
+        when(reservationService.getReservationPageByWaiter(waiterEmail, null, null))
+                .thenReturn(new ReservationPage(pageReservations, "next-cursor"));
+        when(reservationService.mapToReservationResponses(pageReservations)).thenReturn(Collections.singletonList(reservationResponse));
+        when(customerVerificationService.getCustomerFullNames(Set.of(customerEmail))).thenReturn(Map.of(customerEmail, customerName));
 
         // Act
-        ResponseEntity<Map<String, Object>> response = waiterController.getWaiterReservations(validToken);
+        ResponseEntity<Map<String, Object>> response = waiterController.getWaiterReservations(validToken, null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -483,19 +487,56 @@ public class WaiterControllerTest {
         assertTrue(response.getBody().containsKey("reservations"));
         assertTrue(response.getBody().containsKey("count"));
         assertEquals(1, response.getBody().get("count"));
+        assertEquals("next-cursor", response.getBody().get("nextCursor"));
 
         List<Map<String, Object>> reservations = (List<Map<String, Object>>) response.getBody().get("reservations");
         assertEquals(1, reservations.size());
         Map<String, Object> reservation = reservations.get(0);
         assertEquals(reservationId, reservation.get("id"));
         assertEquals(customerName, reservation.get("userInfo"));
+        assertEquals("table-1", reservation.get("tableNumber"));
         assertEquals(false, reservation.get("isAnonymous"));
 
         verify(authService).extractUserEmailFromToken("valid-token");
         verify(waiterService).isWaiter(waiterEmail);
-        verify(reservationService).getReservationsByWaiter(waiterEmail);
-        verify(reservationService).findReservationById(reservationId);
-        verify(customerVerificationService).getCustomerFullName(customerEmail);
+        verify(reservationService).getReservationPageByWaiter(waiterEmail, null, null);
+        verify(reservationService, never()).findReservationById(anyString());
+        verify(customerVerificationService, never()).getCustomerFullName(anyString());
+    }
+
+    @Test
+    void getWaiterReservations_ResolvesEachCustomerOnce() {
+        // Arrange
+        when(authService.extractUserEmailFromToken("valid-token")).thenReturn(waiterEmail);
+        when(waiterService.isWaiter(waiterEmail)).thenReturn(true);
+
+        Reservation secondReservation = new Reservation();
+        secondReservation.setReservationId("reservation-456");
+        secondReservation.setUserId(customerEmail);
+        secondReservation.setWaiterId(waiterEmail);
+        secondReservation.setTableNumber("table-2");
+        ReservationResponse secondResponse = new ReservationResponse();
+        secondResponse.setId("reservation-456");
+
+        List<Reservation> pageReservations = Arrays.asList(existingReservation, secondReservation);
+        when(reservationService.getReservationPageByWaiter(waiterEmail, "cursor-1", 2))
+                .thenReturn(new ReservationPage(pageReservations, null));
+        when(reservationService.mapToReservationResponses(pageReservations)).thenReturn(Arrays.asList(reservationResponse, secondResponse));
+        when(customerVerificationService.getCustomerFullNames(Set.of(customerEmail))).thenReturn(Map.of(customerEmail, customerName));
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = waiterController.getWaiterReservations(validToken, "cursor-1", 2);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<Map<String, Object>> reservations = (List<Map<String, Object>>) response.getBody().get("reservations");
+        assertEquals(2, reservations.size());
+        assertEquals("reservation-456", reservations.get(1).get("id"));
+        assertEquals("table-2", reservations.get(1).get("tableNumber"));
+        assertEquals(customerName, reservations.get(1).get("userInfo"));
+        assertNull(response.getBody().get("nextCursor"));
+        verify(customerVerificationService, times(1)).getCustomerFullNames(anyCollection());
+        verify(reservationService, times(1)).mapToReservationResponses(anyList());
     }
 
     @Test
@@ -503,7 +544,6 @@ public class WaiterControllerTest {
         // Arrange
         when(authService.extractUserEmailFromToken("valid-token")).thenReturn(waiterEmail);
         when(waiterService.isWaiter(waiterEmail)).thenReturn(true);
-        when(reservationService.getReservationsByWaiter(waiterEmail)).thenReturn(Collections.singletonList(reservationResponse));
 
         // Create an anonymous reservation
         Reservation anonymousReservation = new Reservation();
@@ -512,10 +552,14 @@ public class WaiterControllerTest {
         anonymousReservation.setWaiterId(waiterEmail);
         anonymousReservation.setTableNumber("table-1");
 
-        when(reservationService.findReservationById(reservationId)).thenReturn(anonymousReservation);
+        List<Reservation> pageReservations = Collections.singletonList(anonymousReservation);
+        when(reservationService.getReservationPageByWaiter(waiterEmail, null, null))
+                .thenReturn(new ReservationPage(pageReservations, null));
+        when(reservationService.mapToReservationResponses(pageReservations)).thenReturn(Collections.singletonList(reservationResponse));
+        when(customerVerificationService.getCustomerFullNames(Collections.emptySet())).thenReturn(Collections.emptyMap());
 
         // Act
-        ResponseEntity<Map<String, Object>> response = waiterController.getWaiterReservations(validToken);
+        ResponseEntity<Map<String, Object>> response = waiterController.getWaiterReservations(validToken, null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -530,18 +574,34 @@ public class WaiterControllerTest {
 
         verify(authService).extractUserEmailFromToken("valid-token");
         verify(waiterService).isWaiter(waiterEmail);
-        verify(reservationService).getReservationsByWaiter(waiterEmail);
-        verify(reservationService).findReservationById(reservationId);
+        verify(reservationService).getReservationPageByWaiter(waiterEmail, null, null);
+        verify(reservationService, never()).findReservationById(anyString());
         verify(customerVerificationService, never()).getCustomerFullName(anyString());
     }
 
+    @Test
+    void getWaiterReservations_InvalidCursor() {
+        // Arrange
+        when(authService.extractUserEmailFromToken("valid-token")).thenReturn(waiterEmail);
+        when(waiterService.isWaiter(waiterEmail)).thenReturn(true);
+        when(reservationService.getReservationPageByWaiter(waiterEmail, "bad", null))
+                .thenThrow(new ValidationException("Invalid cursor"));
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = waiterController.getWaiterReservations(validToken, "bad", null);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid cursor", response.getBody().get("message"));
+    }
+
     @Test
     void getWaiterReservations_InvalidToken() {
         // Arrange
         String invalidToken = "Invalid token format";
 
         // Act
-        ResponseEntity<Map<String, Object>> response = waiterController.getWaiterReservations(invalidToken);
+        ResponseEntity<Map<String, Object>> response = waiterController.getWaiterReservations(invalidToken, null, null);
 
         // Assert
         assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
@@ -558,7 +618,7 @@ public class WaiterControllerTest {
         when(waiterService.isWaiter(waiterEmail)).thenReturn(false);
 
         // Act
-        ResponseEntity<Map<String, Object>> response = waiterController.getWaiterReservations(validToken);
+        ResponseEntity<Map<String, Object>> response = waiterController.getWaiterReservations(validToken, null, null);
 
         // Assert
         assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
@@ -567,7 +627,7 @@ public class WaiterControllerTest {
         assertTrue(response.getBody().get("message").toString().contains("not belong to a registered waiter"));
         verify(authService).extractUserEmailFromToken("valid-token");
         verify(waiterService).isWaiter(waiterEmail);
-        verify(reservationService, never()).getReservationsByWaiter(anyString());
+        verify(reservationService, never()).getReservationPageByWaiter(anyString(), any(), any());
     }
 
     // Tests for cancelReservation
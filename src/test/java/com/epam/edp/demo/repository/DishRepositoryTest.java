@@ -0,0 +1,107 @@
+package com.epam.edp.demo.repository;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.*;
+import com.epam.edp.demo.entity.Dish;
+import com.epam.edp.demo.utility.ContentVersions;
+import com.epam.edp.demo.utility.MenuSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DishRepositoryTest {
+
+    @Mock
+    private AmazonDynamoDB amazonDynamoDB;
+
+    private ContentVersions contentVersions;
+    private DishRepository dishRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        contentVersions = new ContentVersions(300);
+        dishRepository = new DishRepository(amazonDynamoDB, contentVersions);
+    }
+
+    @Test
+    void getMenu_ServesSnapshotUntilDishIsSaved() {
+        // Arrange
+        when(amazonDynamoDB.scan(any(ScanRequest.class)))
+                .thenReturn(new ScanResult().withItems(List.of(item("dish-1"))))
+                .thenReturn(new ScanResult().withItems(List.of(item("dish-1"), item("dish-2"))));
+        dishRepository.getMenu();
+        dishRepository.getMenu();
+
+        // Act
+        dishRepository.save(dish("dish-2"));
+        MenuSnapshot menu = dishRepository.getMenu();
+
+        // Assert
+        assertEquals(2, menu.size());
+        verify(amazonDynamoDB, times(2)).scan(any(ScanRequest.class));
+    }
+
+    @Test
+    void getMenu_RebuildsWhenDishIsSavedDuringScan() {
+        // Arrange
+        when(amazonDynamoDB.scan(any(ScanRequest.class)))
+                .thenAnswer(invocation -> {
+                    dishRepository.save(dish("dish-2"));
+                    return new ScanResult().withItems(List.of(item("dish-1")));
+                })
+                .thenReturn(new ScanResult().withItems(List.of(item("dish-1"), item("dish-2"))));
+
+        // Act
+        MenuSnapshot menu = dishRepository.getMenu();
+
+        // Assert
+        assertEquals(2, menu.size());
+        verify(amazonDynamoDB, times(2)).scan(any(ScanRequest.class));
+    }
+
+    @Test
+    void refreshMenu_ScanOverlappingSaveIsNotInstalled() {
+        // Arrange
+        when(amazonDynamoDB.scan(any(ScanRequest.class)))
+                .thenReturn(new ScanResult().withItems(List.of(item("dish-1"))))
+                .thenAnswer(invocation -> {
+                    dishRepository.save(dish("dish-2"));
+                    return new ScanResult().withItems(List.of(item("dish-1")));
+                })
+                .thenReturn(new ScanResult().withItems(List.of(item("dish-1"), item("dish-2"))));
+        dishRepository.getMenu();
+
+        // Act
+        dishRepository.refreshMenu();
+        MenuSnapshot menu = dishRepository.getMenu();
+
+        // Assert
+        assertEquals(2, menu.size());
+        assertEquals(1, contentVersions.current(ContentVersions.DISHES));
+        verify(amazonDynamoDB, times(3)).scan(any(ScanRequest.class));
+    }
+
+    private static Dish dish(String id) {
+        Dish dish = new Dish();
+        dish.setId(id);
+        dish.setName("Dish " + id);
+        dish.setLocationId("location-1");
+        return dish;
+    }
+
+    private static Map<String, AttributeValue> item(String id) {
+        return Map.of(
+                DishRepository.ATTR_DISH_ID, new AttributeValue(id),
+                DishRepository.ATTR_DISH_NAME, new AttributeValue("Dish " + id),
+                DishRepository.ATTR_DISH_LOCATION_ID, new AttributeValue("location-1"));
+    }
+}
@@ -0,0 +1,184 @@
+package com.epam.edp.demo.repository;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import com.epam.edp.demo.entity.Reservation;
+import com.epam.edp.demo.entity.ReservationPage;
+import com.epam.edp.demo.exception.ValidationException;
+import com.epam.edp.demo.repository.impl.DynamoDbReservationRepository;
+import com.epam.edp.demo.utility.CursorCodec;
+import com.epam.edp.demo.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DynamoDbReservationRepositoryTest {
+
+    @Mock
+    private AmazonDynamoDB amazonDynamoDB;
+
+    @Mock
+    private Validation validation;
+
+    private DynamoDbReservationRepository reservationRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        reservationRepository = new DynamoDbReservationRepository(amazonDynamoDB, validation);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.shutdownScanExecutor();
+    }
+
+    @Test
+    void getAllReservation_FollowsLastEvaluatedKey() {
+        // Arrange
+        Map<String, AttributeValue> lastKey = Map.of("reservationId", new AttributeValue("res-2"));
+        when(amazonDynamoDB.scan(any(ScanRequest.class)))
+                .thenReturn(new ScanResult().withItems(List.of(item("res-1"), item("res-2"))).withLastEvaluatedKey(lastKey))
+                .thenReturn(new ScanResult().withItems(List.of(item("res-3"))));
+
+        // Act
+        List<Reservation> result = reservationRepository.getAllReservation();
+
+        // Assert
+        assertEquals(List.of("res-1", "res-2", "res-3"),
+                result.stream().map(Reservation::getReservationId).collect(Collectors.toList()));
+        verify(amazonDynamoDB, times(2)).scan(any(ScanRequest.class));
+    }
+
+    @Test
+    void streamAllReservations_FetchesPagesLazily() {
+        // Arrange
+        Map<String, AttributeValue> lastKey = Map.of("reservationId", new AttributeValue("res-1"));
+        when(amazonDynamoDB.scan(any(ScanRequest.class)))
+                .thenReturn(new ScanResult().withItems(List.of(item("res-1"))).withLastEvaluatedKey(lastKey))
+                .thenReturn(new ScanResult().withItems(List.of(item("res-2"))));
+
+        // Act
+        Optional<Reservation> first;
+        try (Stream<Reservation> stream = reservationRepository.streamAllReservations()) {
+            first = stream.findFirst();
+        }
+
+        // Assert
+        assertEquals("res-1", first.map(Reservation::getReservationId).orElse(null));
+        verify(amazonDynamoDB, times(1)).scan(any(ScanRequest.class));
+    }
+
+    @Test
+    void forEachReservation_ScansEverySegment() {
+        // Arrange
+        when(amazonDynamoDB.scan(any(ScanRequest.class))).thenAnswer(invocation -> {
+            ScanRequest request = invocation.getArgument(0);
+            return new ScanResult().withItems(List.of(item("res-segment-" + request.getSegment())));
+        });
+        Queue<String> seen = new ConcurrentLinkedQueue<>();
+
+        // Act
+        reservationRepository.forEachReservation(3, reservation -> seen.add(reservation.getReservationId()));
+
+        // Assert
+        assertEquals(Set.of("res-segment-0", "res-segment-1", "res-segment-2"), new HashSet<>(seen));
+        assertEquals(3, seen.size());
+    }
+
+    @Test
+    void forEachReservation_PropagatesScanErrors() {
+        // Arrange
+        when(amazonDynamoDB.scan(any(ScanRequest.class))).thenThrow(new IllegalStateException("Database error"));
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> reservationRepository.forEachReservation(2, reservation -> { }));
+        assertEquals("Database error", exception.getMessage());
+    }
+
+    @Test
+    void findByUserId_ReturnsOpaqueCursorForNextPage() {
+        // Arrange
+        Map<String, AttributeValue> lastKey = Map.of(
+                "reservationId", new AttributeValue("res-1"),
+                "userId", new AttributeValue("user@example.com"),
+                "createdAt", new AttributeValue("2030-01-01T10:00"));
+        when(amazonDynamoDB.query(any(QueryRequest.class)))
+                .thenReturn(new QueryResult().withItems(List.of(item("res-1"))).withLastEvaluatedKey(lastKey))
+                .thenReturn(new QueryResult().withItems(List.of(item("res-2"))));
+
+        // Act
+        ReservationPage firstPage = reservationRepository.findByUserId("user@example.com", null, 1);
+        ReservationPage secondPage = reservationRepository.findByUserId("user@example.com", firstPage.getNextCursor(), 1);
+
+        // Assert
+        assertNotNull(firstPage.getNextCursor());
+        assertNull(secondPage.getNextCursor());
+        ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(amazonDynamoDB, times(2)).query(captor.capture());
+        QueryRequest secondRequest = captor.getAllValues().get(1);
+        assertEquals(DynamoDbReservationRepository.INDEX_USER_ID, secondRequest.getIndexName());
+        assertEquals(Integer.valueOf(1), secondRequest.getLimit());
+        assertEquals(lastKey, secondRequest.getExclusiveStartKey());
+        verify(amazonDynamoDB, never()).scan(any(ScanRequest.class));
+    }
+
+    @Test
+    void findByUserId_RejectsCursorOfAnotherUser() {
+        // Arrange
+        String foreignCursor = CursorCodec.encode(Map.of(
+                "reservationId", new AttributeValue("res-1"),
+                "userId", new AttributeValue("other@example.com")));
+
+        // Act & Assert
+        assertThrows(ValidationException.class,
+                () -> reservationRepository.findByUserId("user@example.com", foreignCursor, 10));
+        assertThrows(ValidationException.class,
+                () -> reservationRepository.findByUserId("user@example.com", "not-a-cursor!", 10));
+        verifyNoInteractions(amazonDynamoDB);
+    }
+
+    @Test
+    void findByWaiterId_QueriesWaiterIndex() {
+        // Arrange
+        when(amazonDynamoDB.query(any(QueryRequest.class)))
+                .thenReturn(new QueryResult().withItems(List.of(item("res-1"), item("res-2"))));
+
+        // Act
+        ReservationPage page = reservationRepository.findByWaiterId("waiter@example.com", null, 20);
+
+        // Assert
+        assertEquals(2, page.getReservations().size());
+        assertNull(page.getNextCursor());
+        ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(amazonDynamoDB).query(captor.capture());
+        assertEquals(DynamoDbReservationRepository.INDEX_WAITER_ID, captor.getValue().getIndexName());
+        assertEquals("waiterId", captor.getValue().getExpressionAttributeNames().get("#key"));
+        assertEquals("waiter@example.com", captor.getValue().getExpressionAttributeValues().get(":key").getS());
+        verify(amazonDynamoDB, never()).scan(any(ScanRequest.class));
+    }
+
+    private Map<String, AttributeValue> item(String reservationId) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("reservationId", new AttributeValue(reservationId));
+        item.put("status", new AttributeValue("CONFIRMED"));
+        return item;
+    }
+}
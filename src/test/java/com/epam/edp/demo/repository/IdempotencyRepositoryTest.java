@@ -0,0 +1,126 @@
+package com.epam.edp.demo.repository;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.*;
+import com.epam.edp.demo.entity.IdempotencyRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IdempotencyRepositoryTest {
+
+    @Mock
+    private AmazonDynamoDB amazonDynamoDB;
+
+    private IdempotencyRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        repository = new IdempotencyRepository(amazonDynamoDB);
+    }
+
+    @Test
+    void claim_FreeKeyIsClaimedWithConditionalPut() {
+        // Act
+        Optional<IdempotencyRecord> existing = repository.claim("user#/api/feedbacks#key-1", "hash", 1000L);
+
+        // Assert
+        assertTrue(existing.isEmpty());
+        ArgumentCaptor<PutItemRequest> captor = ArgumentCaptor.forClass(PutItemRequest.class);
+        verify(amazonDynamoDB).putItem(captor.capture());
+        assertEquals("attribute_not_exists(#key) OR #expiresAt < :now", captor.getValue().getConditionExpression());
+        assertEquals(IdempotencyRecord.STATUS_IN_PROGRESS, captor.getValue().getItem().get("status").getS());
+        verify(amazonDynamoDB, never()).getItem(any(GetItemRequest.class));
+    }
+
+    @Test
+    void claim_TakenKeyReturnsStoredRecord() {
+        // Arrange
+        when(amazonDynamoDB.putItem(any(PutItemRequest.class)))
+                .thenThrow(new ConditionalCheckFailedException("The conditional request failed"));
+        when(amazonDynamoDB.getItem(any(GetItemRequest.class))).thenReturn(new GetItemResult().withItem(Map.of(
+                "idempotencyKey", new AttributeValue("user#/api/feedbacks#key-1"),
+                "requestHash", new AttributeValue("hash"),
+                "status", new AttributeValue(IdempotencyRecord.STATUS_COMPLETED),
+                "responseStatus", new AttributeValue().withN("201"),
+                "responseBody", new AttributeValue("{}"),
+                "expiresAt", new AttributeValue().withN("1000"))));
+
+        // Act
+        Optional<IdempotencyRecord> existing = repository.claim("user#/api/feedbacks#key-1", "hash", 1000L);
+
+        // Assert
+        assertTrue(existing.isPresent());
+        assertTrue(existing.get().isCompleted());
+        assertEquals(201, existing.get().getResponseStatus());
+    }
+
+    @Test
+    void claim_KeyThatCannotBeClaimedIsReportedInProgress() {
+        // Arrange
+        when(amazonDynamoDB.putItem(any(PutItemRequest.class)))
+                .thenThrow(new ConditionalCheckFailedException("The conditional request failed"));
+        when(amazonDynamoDB.getItem(any(GetItemRequest.class))).thenReturn(new GetItemResult());
+
+        // Act
+        Optional<IdempotencyRecord> existing = repository.claim("user#/api/feedbacks#key-1", "hash", 1000L);
+
+        // Assert
+        assertTrue(existing.isPresent());
+        assertFalse(existing.get().isCompleted());
+        assertEquals("hash", existing.get().getRequestHash());
+        verify(amazonDynamoDB, times(2)).putItem(any(PutItemRequest.class));
+    }
+
+    @Test
+    void claim_ExpiredInProgressClaimIsTakenOver() {
+        // Arrange
+        Map<String, AttributeValue> stored = new HashMap<>();
+        when(amazonDynamoDB.putItem(any(PutItemRequest.class))).thenAnswer(invocation -> {
+            PutItemRequest request = invocation.getArgument(0);
+            long now = Long.parseLong(request.getExpressionAttributeValues().get(":now").getN());
+            if (!stored.isEmpty() && Long.parseLong(stored.get("expiresAt").getN()) >= now) {
+                throw new ConditionalCheckFailedException("The conditional request failed");
+            }
+            stored.putAll(request.getItem());
+            return new PutItemResult();
+        });
+        when(amazonDynamoDB.getItem(any(GetItemRequest.class))).thenAnswer(invocation -> new GetItemResult().withItem(stored));
+        long now = Instant.now().getEpochSecond();
+        // Claimed by an instance that died before completing, so its lease has lapsed
+        repository.claim("user#/api/feedbacks#key-1", "hash", now - 1);
+
+        // Act
+        Optional<IdempotencyRecord> retry = repository.claim("user#/api/feedbacks#key-1", "hash", now + 300);
+        Optional<IdempotencyRecord> concurrent = repository.claim("user#/api/feedbacks#key-1", "hash", now + 300);
+
+        // Assert
+        assertTrue(retry.isEmpty());
+        assertEquals(String.valueOf(now + 300), stored.get("expiresAt").getN());
+        assertTrue(concurrent.isPresent());
+        assertFalse(concurrent.get().isCompleted());
+    }
+
+    @Test
+    void release_OnlyDropsClaimsInProgress() {
+        // Act
+        repository.release("user#/api/feedbacks#key-1");
+
+        // Assert
+        ArgumentCaptor<DeleteItemRequest> captor = ArgumentCaptor.forClass(DeleteItemRequest.class);
+        verify(amazonDynamoDB).deleteItem(captor.capture());
+        assertEquals("#status = :inProgress", captor.getValue().getConditionExpression());
+    }
+}
@@ -0,0 +1,134 @@
+package com.epam.edp.demo.repository;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.*;
+import com.epam.edp.demo.dto.request.LocationRequestDTO;
+import com.epam.edp.demo.entity.Location;
+import com.epam.edp.demo.utility.ContentVersions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LocationRepositoryTest {
+
+    @Mock
+    private AmazonDynamoDB amazonDynamoDB;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ContentVersions contentVersions;
+    private LocationRepository locationRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        contentVersions = new ContentVersions(300);
+        locationRepository = new LocationRepository(amazonDynamoDB, meterRegistry, contentVersions, 100, 300);
+        when(amazonDynamoDB.getItem(any(GetItemRequest.class))).thenReturn(new GetItemResult().withItem(item("location-1")));
+        when(amazonDynamoDB.scan(any(ScanRequest.class))).thenReturn(new ScanResult()
+                .withItems(List.of(item("location-1"), item("location-2"))));
+    }
+
+    @Test
+    void findById_ServesRepeatedLookupsFromCache() {
+        // Act
+        Location first = locationRepository.findById("location-1");
+        Location second = locationRepository.findById("location-1");
+        boolean exists = locationRepository.existsById("location-1");
+
+        // Assert
+        assertSame(first, second);
+        assertTrue(exists);
+        verify(amazonDynamoDB, times(1)).getItem(any(GetItemRequest.class));
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "locations").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void findById_MissingLocationIsNotCached() {
+        // Arrange
+        when(amazonDynamoDB.getItem(any(GetItemRequest.class))).thenReturn(new GetItemResult());
+
+        // Act
+        assertNull(locationRepository.findById("missing"));
+        assertNull(locationRepository.findById("missing"));
+
+        // Assert
+        verify(amazonDynamoDB, times(2)).getItem(any(GetItemRequest.class));
+    }
+
+    @Test
+    void findAll_ScansOnceAndWarmsLookupsById() {
+        // Act
+        locationRepository.findAll();
+        List<Location> locations = locationRepository.findAll();
+        Map<String, Location> byId = locationRepository.findAllByIds(Set.of("location-1", "location-2"));
+
+        // Assert
+        assertEquals(2, locations.size());
+        assertEquals(2, byId.size());
+        verify(amazonDynamoDB, times(1)).scan(any(ScanRequest.class));
+        verify(amazonDynamoDB, never()).batchGetItem(any(BatchGetItemRequest.class));
+    }
+
+    @Test
+    void createLocation_InvalidatesCachedLists() {
+        // Arrange
+        locationRepository.findAll();
+        LocationRequestDTO request = new LocationRequestDTO();
+        request.setAddress("New Street");
+
+        // Act
+        locationRepository.createLocation("location-3", request);
+        locationRepository.findAll();
+
+        // Assert
+        verify(amazonDynamoDB, times(2)).scan(any(ScanRequest.class));
+        assertEquals(1, contentVersions.current(ContentVersions.LOCATIONS));
+    }
+
+    @Test
+    void findAll_ScanOverlappingCreateIsNotCached() {
+        // Arrange
+        LocationRequestDTO request = new LocationRequestDTO();
+        request.setAddress("New Street");
+        ScanResult beforeCreate = new ScanResult().withItems(List.of(item("location-1"), item("location-2")));
+        when(amazonDynamoDB.scan(any(ScanRequest.class)))
+                .thenAnswer(invocation -> {
+                    locationRepository.createLocation("location-3", request);
+                    return beforeCreate;
+                })
+                .thenReturn(new ScanResult().withItems(List.of(item("location-1"), item("location-2"), item("location-3"))));
+
+        // Act
+        locationRepository.findAll();
+        List<Location> locations = locationRepository.findAll();
+
+        // Assert
+        assertEquals(3, locations.size());
+        verify(amazonDynamoDB, times(2)).scan(any(ScanRequest.class));
+    }
+
+    @Test
+    void getSpecialDishes_ServedFromCache() {
+        // Act
+        locationRepository.getSpecialDishes("location-1");
+        locationRepository.getSpecialDishes("location-1");
+
+        // Assert
+        verify(amazonDynamoDB, times(1)).getItem(any(GetItemRequest.class));
+    }
+
+    private static Map<String, AttributeValue> item(String id) {
+        return Map.of("id", new AttributeValue(id), "address", new AttributeValue("Address of " + id));
+    }
+}
@@ -0,0 +1,79 @@
+package com.epam.edp.demo.repository;
+
+import com.epam.edp.demo.entity.Roles;
+import com.epam.edp.demo.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PrincipalCacheTest {
+
+    private static final String EMAIL = "waiter@example.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private WaiterRepository waiterRepository;
+
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        principalCache = new PrincipalCache(userRepository, waiterRepository, new SimpleMeterRegistry(), 100, 60);
+        User user = new User();
+        user.setEmail(EMAIL);
+        user.setRoles(Roles.WAITER);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(user);
+        when(waiterRepository.isWaiter(EMAIL)).thenReturn(true);
+    }
+
+    @Test
+    void get_RepeatedLookupsReadEachTableOnce() {
+        // Act
+        User user = principalCache.findUser(EMAIL);
+        boolean waiter = principalCache.isWaiter(EMAIL);
+        PrincipalCache.Principal principal = principalCache.get(EMAIL);
+
+        // Assert
+        assertEquals(EMAIL, user.getEmail());
+        assertTrue(waiter);
+        assertEquals(Roles.WAITER, principal.getRole());
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+        verify(waiterRepository, times(1)).isWaiter(EMAIL);
+    }
+
+    @Test
+    void get_UnknownEmailIsCachedWithoutUser() {
+        // Act
+        principalCache.findUser("unknown@example.com");
+        PrincipalCache.Principal principal = principalCache.get("unknown@example.com");
+
+        // Assert
+        assertNull(principal.getUser());
+        assertNull(principal.getRole());
+        assertFalse(principal.isWaiter());
+        verify(userRepository, times(1)).findByEmail("unknown@example.com");
+    }
+
+    @Test
+    void invalidate_NextLookupReloads() {
+        // Arrange
+        principalCache.get(EMAIL);
+        when(waiterRepository.isWaiter(EMAIL)).thenReturn(false);
+
+        // Act
+        principalCache.invalidate(EMAIL);
+        boolean waiter = principalCache.isWaiter(EMAIL);
+
+        // Assert
+        assertFalse(waiter);
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+}
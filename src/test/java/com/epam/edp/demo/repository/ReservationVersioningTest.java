@@ -0,0 +1,135 @@
+package com.epam.edp.demo.repository;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.*;
+import com.epam.edp.demo.entity.Reservation;
+import com.epam.edp.demo.exception.ConflictException;
+import com.epam.edp.demo.exception.VersionConflictException;
+import com.epam.edp.demo.repository.impl.DynamoDbReservationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReservationVersioningTest {
+
+    @Mock
+    private AmazonDynamoDB amazonDynamoDB;
+
+    private DynamoDbReservationRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        repository = new DynamoDbReservationRepository(amazonDynamoDB, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.shutdownScanExecutor();
+    }
+
+    @Test
+    void updateReservation_WritesEditAndClaimsInOneVersionedTransaction() {
+        // Arrange
+        Reservation previous = reservation("12:15", "13:45", 3L);
+        Reservation updated = reservation("14:00", "15:30", 3L);
+
+        // Act
+        Reservation result = repository.updateReservation(previous, updated);
+
+        // Assert
+        assertEquals(4L, result.getVersion());
+        ArgumentCaptor<TransactWriteItemsRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(amazonDynamoDB).transactWriteItems(captor.capture());
+        List<TransactWriteItem> writes = captor.getValue().getTransactItems();
+        Update update = writes.get(writes.size() - 1).getUpdate();
+        assertEquals("#version = :expectedVersion", update.getConditionExpression());
+        assertEquals("3", update.getExpressionAttributeValues().get(":expectedVersion").getN());
+        assertEquals("4", update.getExpressionAttributeValues().get(":nextVersion").getN());
+        assertTrue(writes.stream().anyMatch(write -> write.getPut() != null));
+        assertTrue(writes.stream().anyMatch(write -> write.getDelete() != null));
+        verify(amazonDynamoDB, never()).getItem(any(GetItemRequest.class));
+    }
+
+    @Test
+    void updateReservation_StaleVersionThrowsVersionConflict() {
+        // Arrange
+        Reservation previous = reservation("12:15", "13:45", 3L);
+        Reservation updated = reservation("14:00", "15:30", 3L);
+        when(amazonDynamoDB.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenAnswer(invocation -> { throw cancelled(invocation.getArgument(0), true); });
+
+        // Act & Assert
+        assertThrows(VersionConflictException.class, () -> repository.updateReservation(previous, updated));
+    }
+
+    @Test
+    void updateReservation_TakenTableThrowsPlainConflict() {
+        // Arrange
+        Reservation previous = reservation("12:15", "13:45", 3L);
+        Reservation updated = reservation("14:00", "15:30", 3L);
+        when(amazonDynamoDB.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenAnswer(invocation -> { throw cancelled(invocation.getArgument(0), false); });
+
+        // Act
+        ConflictException thrown = assertThrows(ConflictException.class, () -> repository.updateReservation(previous, updated));
+
+        // Assert
+        assertFalse(thrown instanceof VersionConflictException);
+    }
+
+    @Test
+    void updateReservation_UnversionedItemMatchesVersionZero() {
+        // Arrange
+        Reservation previous = reservation("12:15", "13:45", null);
+        Reservation updated = reservation("14:00", "15:30", null);
+
+        // Act
+        Reservation result = repository.updateReservation(previous, updated);
+
+        // Assert
+        assertEquals(1L, result.getVersion());
+        ArgumentCaptor<TransactWriteItemsRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(amazonDynamoDB).transactWriteItems(captor.capture());
+        List<TransactWriteItem> writes = captor.getValue().getTransactItems();
+        Update update = writes.get(writes.size() - 1).getUpdate();
+        assertTrue(update.getConditionExpression().contains("attribute_not_exists(#version)"));
+        assertEquals("1", update.getExpressionAttributeValues().get(":nextVersion").getN());
+    }
+
+    // Refuses a transaction either on its reservation update or on its first slot claim
+    private static TransactionCanceledException cancelled(TransactWriteItemsRequest request, boolean onVersion) {
+        List<CancellationReason> reasons = new ArrayList<>();
+        List<TransactWriteItem> writes = request.getTransactItems();
+        for (int i = 0; i < writes.size(); i++) {
+            boolean failed = onVersion ? writes.get(i).getUpdate() != null : i == 0;
+            reasons.add(new CancellationReason().withCode(failed ? "ConditionalCheckFailed" : "None"));
+        }
+        return new TransactionCanceledException("Transaction cancelled").withCancellationReasons(reasons);
+    }
+
+    private static Reservation reservation(String timeFrom, String timeTo, Long version) {
+        Reservation reservation = new Reservation();
+        reservation.setReservationId("reservation-1");
+        reservation.setUserId("customer@example.com");
+        reservation.setLocationId("location-123");
+        reservation.setTableNumber("table-1");
+        reservation.setDate("2030-01-15");
+        reservation.setTimeFrom(timeFrom);
+        reservation.setTimeTo(timeTo);
+        reservation.setStatus("CONFIRMED");
+        reservation.setVersion(version);
+        return reservation;
+    }
+}
@@ -0,0 +1,346 @@
+package com.epam.edp.demo.repository;
+
+import com.amazonaws.services.dynamodbv2.AbstractAmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.*;
+import com.epam.edp.demo.entity.Reservation;
+import com.epam.edp.demo.exception.ConflictException;
+import com.epam.edp.demo.exception.ForbiddenException;
+import com.epam.edp.demo.repository.impl.DynamoDbReservationRepository;
+import com.epam.edp.demo.utility.SlotSchedule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Books the same tables from many threads at once against an in-memory stand-in for DynamoDB that applies
+ * transactions and condition expressions atomically, and checks no two accepted bookings of a table overlap
+ */
+class SlotClaimConcurrencyTest {
+
+    private static final String LOCATION_ID = "location-123";
+    private static final String DATE = "2030-01-15";
+    private static final int THREADS = 16;
+
+    private InMemoryDynamoDb dynamoDb;
+    private DynamoDbReservationRepository repository;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        dynamoDb = new InMemoryDynamoDb();
+        repository = new DynamoDbReservationRepository(dynamoDb, null);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        repository.shutdownScanExecutor();
+    }
+
+    @Test
+    void insertReservation_OneWinnerPerContestedSlot() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            // Arrange
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger accepted = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            List<Future<?>> futures = new ArrayList<>();
+            String tableId = "table-" + round;
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        repository.insertReservation(reservation(tableId, "19:15", "20:45"));
+                        accepted.incrementAndGet();
+                    } catch (ConflictException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            // Act
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+
+            // Assert
+            assertEquals(1, accepted.get());
+            assertEquals(THREADS - 1, rejected.get());
+        }
+    }
+
+    @Test
+    void insertReservation_NoOverlapsUnderLoad() throws Exception {
+        // Arrange
+        int requestsPerThread = 500;
+        List<String> slots = SlotSchedule.STANDARD.getSlots();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < requestsPerThread; i++) {
+                    String timeFrom = slots.get(random.nextInt(slots.size()));
+                    int from = SlotSchedule.minuteOfDay(timeFrom);
+                    int to = Math.min(from + 15 * (4 + random.nextInt(9)), 23 * 60 + 45);
+                    try {
+                        repository.insertReservation(reservation("table-" + random.nextInt(4), timeFrom,
+                                String.format("%02d:%02d", to / 60, to % 60)));
+                    } catch (ConflictException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        // Act
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        Map<String, List<Reservation>> byTable = new HashMap<>();
+        for (Map<String, AttributeValue> item : dynamoDb.items("tm5-restaurant-reservations-table-a4v2")) {
+            Reservation reservation = new Reservation();
+            reservation.setTableNumber(item.get("tableNumber").getS());
+            reservation.setTimeFrom(item.get("timeFrom").getS());
+            reservation.setTimeTo(item.get("timeTo").getS());
+            byTable.computeIfAbsent(reservation.getTableNumber(), tableId -> new ArrayList<>()).add(reservation);
+        }
+        int accepted = byTable.values().stream().mapToInt(List::size).sum();
+        assertEquals(THREADS * requestsPerThread, accepted + rejected.get());
+        assertTrue(accepted > 0);
+        assertTrue(rejected.get() > 0);
+        for (List<Reservation> bookings : byTable.values()) {
+            bookings.sort(Comparator.comparingInt(reservation -> SlotSchedule.minuteOfDay(reservation.getTimeFrom())));
+            for (int i = 1; i < bookings.size(); i++) {
+                assertTrue(SlotSchedule.minuteOfDay(bookings.get(i - 1).getTimeTo())
+                        <= SlotSchedule.minuteOfDay(bookings.get(i).getTimeFrom()), "Overlapping bookings on one table");
+            }
+        }
+    }
+
+    @Test
+    void releaseSlotClaims_FreesTableForNextBooking() {
+        // Arrange
+        Reservation first = repository.insertReservation(reservation("table-1", "12:15", "13:45"));
+        assertThrows(ConflictException.class, () -> repository.insertReservation(reservation("table-1", "13:00", "14:00")));
+
+        // Act
+        repository.releaseSlotClaims(first);
+
+        // Assert
+        assertNotNull(repository.insertReservation(reservation("table-1", "13:00", "14:00")));
+    }
+
+    @Test
+    void updateReservation_KeepsOwnQuartersAndRejectsTakenOnes() {
+        // Arrange
+        Reservation lunch = repository.insertReservation(reservation("table-1", "12:15", "13:45"));
+        repository.insertReservation(reservation("table-1", "14:00", "15:30"));
+        Reservation later = reservation("table-1", "12:45", "14:15");
+        later.setReservationId(lunch.getReservationId());
+        Reservation earlier = reservation("table-1", "11:45", "13:15");
+        earlier.setReservationId(lunch.getReservationId());
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> repository.updateReservation(lunch, later));
+        repository.updateReservation(lunch, earlier);
+        assertNotNull(repository.insertReservation(reservation("table-1", "13:15", "14:00")));
+    }
+
+    @Test
+    void placeHold_BlocksOthersUntilConfirmedByHolder() {
+        // Arrange
+        Reservation hold = reservation("table-1", "19:15", "20:45");
+        hold.setUserId("holder@example.com");
+        repository.placeHold(hold, Instant.now().getEpochSecond() + 300);
+        Reservation rival = reservation("table-1", "19:15", "20:45");
+        rival.setUserId("rival@example.com");
+        Reservation booking = reservation("table-1", "19:15", "20:45");
+        booking.setUserId("holder@example.com");
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> repository.insertReservation(rival));
+        assertThrows(ConflictException.class, () -> repository.insertReservation(rival, hold.getReservationId()));
+        assertNotNull(repository.insertReservation(booking, hold.getReservationId()));
+        assertTrue(repository.releaseHold(hold.getReservationId(), "holder@example.com").isEmpty());
+    }
+
+    @Test
+    void placeHold_ExpiredHoldDoesNotBlock() {
+        // Arrange
+        Reservation hold = reservation("table-1", "12:15", "13:45");
+        hold.setUserId("holder@example.com");
+        repository.placeHold(hold, Instant.now().getEpochSecond() - 1);
+
+        // Act & Assert
+        assertNotNull(repository.insertReservation(reservation("table-1", "12:15", "13:45")));
+    }
+
+    @Test
+    void releaseHold_FreesTableAndChecksHolder() {
+        // Arrange
+        Reservation hold = reservation("table-1", "14:00", "15:30");
+        hold.setUserId("holder@example.com");
+        repository.placeHold(hold, Instant.now().getEpochSecond() + 300);
+
+        // Act & Assert
+        assertThrows(ForbiddenException.class, () -> repository.releaseHold(hold.getReservationId(), "rival@example.com"));
+        assertTrue(repository.releaseHold(hold.getReservationId(), "holder@example.com").isPresent());
+        assertNotNull(repository.insertReservation(reservation("table-1", "14:00", "15:30")));
+    }
+
+    private Reservation reservation(String tableId, String timeFrom, String timeTo) {
+        Reservation reservation = new Reservation();
+        reservation.setReservationId(UUID.randomUUID().toString());
+        reservation.setLocationId(LOCATION_ID);
+        reservation.setTableNumber(tableId);
+        reservation.setDate(DATE);
+        reservation.setTimeFrom(timeFrom);
+        reservation.setTimeTo(timeTo);
+        reservation.setStatus("CONFIRMED");
+        reservation.setUserId("customer@example.com");
+        return reservation;
+    }
+
+    /**
+     * Keeps items per table in memory and applies each transaction atomically, supporting the
+     * attribute_exists, attribute_not_exists and equality conditions used for slot claims and versioned updates
+     */
+    private static final class InMemoryDynamoDb extends AbstractAmazonDynamoDB {
+
+        private final Map<String, Map<String, Map<String, AttributeValue>>> tables = new HashMap<>();
+
+        @Override
+        public synchronized TransactWriteItemsResult transactWriteItems(TransactWriteItemsRequest request) {
+            List<CancellationReason> reasons = new ArrayList<>();
+            boolean failed = false;
+            for (TransactWriteItem write : request.getTransactItems()) {
+                boolean holds;
+                if (write.getPut() != null) {
+                    holds = holds(write.getPut().getTableName(), write.getPut().getItem(), write.getPut().getConditionExpression(),
+                            write.getPut().getExpressionAttributeNames(), write.getPut().getExpressionAttributeValues());
+                } else if (write.getUpdate() != null) {
+                    holds = holds(write.getUpdate().getTableName(), write.getUpdate().getKey(), write.getUpdate().getConditionExpression(),
+                            write.getUpdate().getExpressionAttributeNames(), write.getUpdate().getExpressionAttributeValues());
+                } else {
+                    holds = holds(write.getDelete().getTableName(), write.getDelete().getKey(), write.getDelete().getConditionExpression(),
+                            write.getDelete().getExpressionAttributeNames(), write.getDelete().getExpressionAttributeValues());
+                }
+                reasons.add(new CancellationReason().withCode(holds ? "None" : "ConditionalCheckFailed"));
+                failed |= !holds;
+            }
+            if (failed) {
+                throw new TransactionCanceledException("Transaction cancelled").withCancellationReasons(reasons);
+            }
+            for (TransactWriteItem write : request.getTransactItems()) {
+                if (write.getPut() != null) {
+                    table(write.getPut().getTableName()).put(key(write.getPut().getItem()), new HashMap<>(write.getPut().getItem()));
+                } else if (write.getUpdate() != null) {
+                    apply(write.getUpdate());
+                } else {
+                    table(write.getDelete().getTableName()).remove(key(write.getDelete().getKey()));
+                }
+            }
+            return new TransactWriteItemsResult();
+        }
+
+        @Override
+        public synchronized DeleteItemResult deleteItem(DeleteItemRequest request) {
+            if (!holds(request.getTableName(), request.getKey(), request.getConditionExpression(),
+                    request.getExpressionAttributeNames(), request.getExpressionAttributeValues())) {
+                throw new ConditionalCheckFailedException("Condition not met");
+            }
+            return new DeleteItemResult().withAttributes(table(request.getTableName()).remove(key(request.getKey())));
+        }
+
+        @Override
+        public synchronized GetItemResult getItem(GetItemRequest request) {
+            Map<String, AttributeValue> item = table(request.getTableName()).get(key(request.getKey()));
+            return new GetItemResult().withItem(item == null ? null : new HashMap<>(item));
+        }
+
+        synchronized List<Map<String, AttributeValue>> items(String tableName) {
+            return new ArrayList<>(table(tableName).values());
+        }
+
+        private boolean holds(String tableName, Map<String, AttributeValue> keyOrItem, String condition,
+                              Map<String, String> names, Map<String, AttributeValue> values) {
+            if (condition == null) {
+                return true;
+            }
+            Map<String, AttributeValue> existing = table(tableName).get(key(keyOrItem));
+            for (String clause : condition.split(" AND ")) {
+                if (!holdsAny(existing, clause.replace("(", " ").replace(")", " ").trim(), names, values)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Whether any of the OR-ed terms of a clause holds for the item, with parentheses already blanked out
+        private boolean holdsAny(Map<String, AttributeValue> existing, String clause,
+                                 Map<String, String> names, Map<String, AttributeValue> values) {
+            for (String term : clause.split(" OR ")) {
+                term = term.trim();
+                if (term.startsWith("attribute_exists ")) {
+                    String name = names.get(term.substring("attribute_exists ".length()).trim());
+                    if (existing != null && existing.containsKey(name)) {
+                        return true;
+                    }
+                } else if (term.startsWith("attribute_not_exists ")) {
+                    String name = names.get(term.substring("attribute_not_exists ".length()).trim());
+                    if (existing == null || !existing.containsKey(name)) {
+                        return true;
+                    }
+                } else if (term.contains(" < ")) {
+                    String[] sides = term.split(" < ");
+                    AttributeValue current = existing == null ? null : existing.get(names.get(sides[0]));
+                    if (current != null && Long.parseLong(current.getN()) < Long.parseLong(values.get(sides[1]).getN())) {
+                        return true;
+                    }
+                } else {
+                    String[] sides = term.split(" = ");
+                    if (existing != null && values.get(sides[1]).equals(existing.get(names.get(sides[0])))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        // Applies an update of the form "SET #a = :a, #b = :b" to the stored item
+        private void apply(Update update) {
+            Map<String, AttributeValue> item = table(update.getTableName())
+                    .computeIfAbsent(key(update.getKey()), id -> new HashMap<>(update.getKey()));
+            for (String assignment : update.getUpdateExpression().substring("SET ".length()).split(", ")) {
+                String[] sides = assignment.split(" = ");
+                item.put(update.getExpressionAttributeNames().get(sides[0]), update.getExpressionAttributeValues().get(sides[1]));
+            }
+        }
+
+        private Map<String, Map<String, AttributeValue>> table(String tableName) {
+            return tables.computeIfAbsent(tableName, name -> new HashMap<>());
+        }
+
+        private static String key(Map<String, AttributeValue> item) {
+            AttributeValue key = item.containsKey("claimId") ? item.get("claimId") : item.get("reservationId");
+            return key.getS();
+        }
+    }
+}
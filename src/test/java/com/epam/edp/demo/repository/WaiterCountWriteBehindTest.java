@@ -0,0 +1,141 @@
+package com.epam.edp.demo.repository;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class WaiterCountWriteBehindTest {
+
+    @Mock
+    private AmazonDynamoDB amazonDynamoDB;
+
+    private SimpleMeterRegistry meterRegistry;
+    private WaiterCountWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        writeBehind = new WaiterCountWriteBehind(amazonDynamoDB, meterRegistry);
+        when(amazonDynamoDB.updateItem(any(UpdateItemRequest.class))).thenReturn(new UpdateItemResult());
+    }
+
+    @Test
+    void flush_CoalescesDeltasIntoOneAddPerWaiter() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            writeBehind.add("waiter@example.com", 1);
+        }
+        writeBehind.add("other@example.com", 1);
+
+        // Act
+        int written = writeBehind.flush();
+
+        // Assert
+        assertEquals(2, written);
+        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(amazonDynamoDB, times(2)).updateItem(captor.capture());
+        UpdateItemRequest busy = captor.getAllValues().stream()
+                .filter(request -> "waiter@example.com".equals(request.getKey().get("email").getS()))
+                .findFirst().orElseThrow();
+        assertEquals("ADD #reservationCount :delta", busy.getUpdateExpression());
+        assertEquals("5", busy.getExpressionAttributeValues().get(":delta").getN());
+        assertEquals(0, writeBehind.pendingTotal());
+        assertEquals(0, writeBehind.flush());
+    }
+
+    @Test
+    void flush_RejectedWriteIsRetried() {
+        // Arrange
+        writeBehind.add("waiter@example.com", 2);
+        when(amazonDynamoDB.updateItem(any(UpdateItemRequest.class)))
+                .thenThrow(serviceError(new ProvisionedThroughputExceededException("Throttled"), 400))
+                .thenReturn(new UpdateItemResult());
+
+        // Act
+        assertEquals(0, writeBehind.flush());
+        writeBehind.add("waiter@example.com", 1);
+
+        // Assert
+        assertEquals(3, writeBehind.pending("waiter@example.com"));
+        assertEquals(1, writeBehind.flush());
+        assertEquals(0, writeBehind.pending("waiter@example.com"));
+    }
+
+    @Test
+    void flush_DropsDeltaWhoseWriteMayHaveBeenApplied() {
+        // Arrange
+        writeBehind.add("waiter@example.com", 2);
+        writeBehind.add("other@example.com", 1);
+        when(amazonDynamoDB.updateItem(any(UpdateItemRequest.class)))
+                .thenThrow(new SdkClientException("Read timed out"))
+                .thenThrow(serviceError(new AmazonServiceException("Internal server error"), 500));
+
+        // Act
+        int written = writeBehind.flush();
+
+        // Assert
+        assertEquals(0, written);
+        assertEquals(0, writeBehind.pendingTotal());
+        assertEquals(0, writeBehind.flush());
+        verify(amazonDynamoDB, times(2)).updateItem(any(UpdateItemRequest.class));
+    }
+
+    @Test
+    void flush_DropsDeltaOfRemovedWaiter() {
+        // Arrange
+        writeBehind.add("gone@example.com", 1);
+        when(amazonDynamoDB.updateItem(any(UpdateItemRequest.class)))
+                .thenThrow(new ConditionalCheckFailedException("Waiter removed"));
+
+        // Act
+        writeBehind.flush();
+
+        // Assert
+        assertEquals(0, writeBehind.pendingTotal());
+    }
+
+    @Test
+    void shutdown_FlushesPendingDeltas() {
+        // Arrange
+        writeBehind.add("waiter@example.com", 1);
+
+        // Act
+        writeBehind.shutdown();
+
+        // Assert
+        verify(amazonDynamoDB).updateItem(any(UpdateItemRequest.class));
+        assertEquals(0, writeBehind.pendingTotal());
+    }
+
+    @Test
+    void metrics_ReportPendingDeltasAndFlushTime() {
+        // Arrange
+        writeBehind.add("waiter@example.com", 4);
+
+        // Act & Assert
+        assertEquals(4.0, meterRegistry.get("waiter.count.pending").gauge().value());
+        writeBehind.flush();
+        assertEquals(0.0, meterRegistry.get("waiter.count.pending").gauge().value());
+        assertEquals(1, meterRegistry.get("waiter.count.flush").timer().count());
+    }
+
+    private static AmazonServiceException serviceError(AmazonServiceException e, int statusCode) {
+        e.setStatusCode(statusCode);
+        return e;
+    }
+}
@@ -8,7 +8,9 @@ import com.epam.edp.demo.dto.response.SignInResponse;
 import com.epam.edp.demo.dto.response.UserProfileResponse;
 import com.epam.edp.demo.entity.Roles;
 import com.epam.edp.demo.entity.User;
+import com.epam.edp.demo.exception.UnAuthorizedException;
 import com.epam.edp.demo.exceptions.ResourceNotFoundException;
+import com.epam.edp.demo.repository.PrincipalCache;
 import com.epam.edp.demo.repository.UserRepository;
 import com.epam.edp.demo.repository.WaiterRepository;
 import com.epam.edp.demo.service.impl.AuthService;
@@ -51,6 +53,9 @@ import static org.mockito.Mockito.*;
     @Mock
     private WaiterRepository waiterRepository;
 
+    @Mock
+    private PrincipalCache principalCache;
+
     @InjectMocks
     private AuthService authService;
 
@@ -223,6 +228,19 @@ import static org.mockito.Mockito.*;
     }
 
 
+    @Test
+    void testExtractUserEmailFromAuthHeader() {
+        // Arrange
+        when(jwtService.extractUserName("test-token")).thenReturn("test@example.com");
+        when(jwtService.extractUserName("bad-token")).thenThrow(new IllegalArgumentException("Malformed token"));
+
+        // Act & Assert
+        assertEquals("test@example.com", authService.extractUserEmailFromAuthHeader("Bearer test-token"));
+        assertThrows(UnAuthorizedException.class, () -> authService.extractUserEmailFromAuthHeader(null));
+        assertThrows(UnAuthorizedException.class, () -> authService.extractUserEmailFromAuthHeader("test-token"));
+        assertThrows(UnAuthorizedException.class, () -> authService.extractUserEmailFromAuthHeader("Bearer bad-token"));
+    }
+
     @Test
      void testUpdate_UserNotFound() {
         // Arrange
@@ -252,6 +270,7 @@ import static org.mockito.Mockito.*;
         // Assert
         verify(userRepository).findByEmail("test@example.com");
         verify(userRepository).deleteUser("test@example.com");
+        verify(principalCache).invalidate("test@example.com");
     }
 
     @Test
@@ -12,11 +12,13 @@ import com.epam.edp.demo.repository.FeedbackRepository;
 import com.epam.edp.demo.repository.ReservationRepository;
 import com.epam.edp.demo.repository.UserRepository;
 import com.epam.edp.demo.service.impl.FeedbackService;
+import com.epam.edp.demo.utility.IdGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -36,6 +38,9 @@ class FeedbackServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private IdGenerator idGenerator = IdGenerator.TIME_ORDERED;
+
     @InjectMocks
     private FeedbackService feedbackService;
 
@@ -235,15 +240,15 @@ class FeedbackServiceTest {
     @Test
     void getLocationIdFromReservation_Success() {
         // Arrange
-        List<Reservation> reservations = Collections.singletonList(testReservation);
-        when(reservationRepository.getAllReservation()).thenReturn(reservations);
+        when(reservationRepository.findById("reservation-123")).thenReturn(Optional.of(testReservation));
 
         // Act
         String result = feedbackService.getLocationIdFromReservation("reservation-123");
 
         // Assert
         assertEquals("location-123", result);
-        verify(reservationRepository).getAllReservation();
+        verify(reservationRepository).findById("reservation-123");
+        verify(reservationRepository, never()).getAllReservation();
     }
 
     @Test
@@ -253,7 +258,7 @@ class FeedbackServiceTest {
 
         // Assert
         assertNull(result);
-        verify(reservationRepository, never()).getAllReservation();
+        verify(reservationRepository, never()).findById(any());
     }
 
     @Test
@@ -263,38 +268,13 @@ class FeedbackServiceTest {
 
         // Assert
         assertNull(result);
-        verify(reservationRepository, never()).getAllReservation();
-    }
-
-    @Test
-    void getLocationIdFromReservation_NoReservations() {
-        // Arrange
-        when(reservationRepository.getAllReservation()).thenReturn(null);
-
-        // Act
-        String result = feedbackService.getLocationIdFromReservation("reservation-123");
-
-        // Assert
-        assertNull(result);
-    }
-
-    @Test
-    void getLocationIdFromReservation_EmptyReservationsList() {
-        // Arrange
-        when(reservationRepository.getAllReservation()).thenReturn(Collections.emptyList());
-
-        // Act
-        String result = feedbackService.getLocationIdFromReservation("reservation-123");
-
-        // Assert
-        assertNull(result);
+        verify(reservationRepository, never()).findById(any());
     }
 
     @Test
     void getLocationIdFromReservation_ReservationNotFound() {
         // Arrange
-        List<Reservation> reservations = Collections.singletonList(testReservation);
-        when(reservationRepository.getAllReservation()).thenReturn(reservations);
+        when(reservationRepository.findById("nonexistent-reservation")).thenReturn(Optional.empty());
 
         // Act
         String result = feedbackService.getLocationIdFromReservation("nonexistent-reservation");
@@ -310,8 +290,7 @@ class FeedbackServiceTest {
         reservationWithoutLocation.setReservationId("reservation-123");
         reservationWithoutLocation.setLocationId(null);
 
-        List<Reservation> reservations = Collections.singletonList(reservationWithoutLocation);
-        when(reservationRepository.getAllReservation()).thenReturn(reservations);
+        when(reservationRepository.findById("reservation-123")).thenReturn(Optional.of(reservationWithoutLocation));
 
         // Act
         String result = feedbackService.getLocationIdFromReservation("reservation-123");
@@ -323,7 +302,7 @@ class FeedbackServiceTest {
     @Test
     void getLocationIdFromReservation_Exception() {
         // Arrange
-        when(reservationRepository.getAllReservation()).thenThrow(new RuntimeException("Database error"));
+        when(reservationRepository.findById("reservation-123")).thenThrow(new RuntimeException("Database error"));
 
         // Act
         String result = feedbackService.getLocationIdFromReservation("reservation-123");
@@ -403,6 +382,21 @@ class FeedbackServiceTest {
         verify(feedbackRepository).save(any(Feedback.class));
     }
 
+    @Test
+    void createFeedback_UsesInjectedIdGenerator() {
+        // Arrange
+        when(idGenerator.nextId()).thenReturn("feedback-42");
+        when(feedbackRepository.save(any(Feedback.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reservationRepository.findByReservationId(testFeedbackRequestDto.getReservationId()))
+                .thenReturn(testReservation);
+
+        // Act
+        FeedbackResponseDto result = feedbackService.createFeedback(testFeedbackRequestDto);
+
+        // Assert
+        assertEquals("feedback-42", result.getId());
+    }
+
     @Test
     void createFeedback_Exception() {
         // Arrange
@@ -421,8 +415,7 @@ class FeedbackServiceTest {
         String type = "cuisine";
         when(userRepository.findByEmail(userName)).thenReturn(testUser);
 
-        List<Reservation> reservations = Collections.singletonList(testReservation);
-        when(reservationRepository.getAllReservation()).thenReturn(reservations);
+        when(reservationRepository.findById("reservation-123")).thenReturn(Optional.of(testReservation));
 
         // Act
         FeedbackRequestDto result = feedbackService.createFeedbackRequestDto(testNewFeedbackRequestDto, userName, type);
@@ -445,8 +438,7 @@ class FeedbackServiceTest {
         String type = "service";
         when(userRepository.findByEmail(userName)).thenReturn(testUser);
 
-        List<Reservation> reservations = Collections.singletonList(testReservation);
-        when(reservationRepository.getAllReservation()).thenReturn(reservations);
+        when(reservationRepository.findById("reservation-123")).thenReturn(Optional.of(testReservation));
 
         // Act
         FeedbackRequestDto result = feedbackService.createFeedbackRequestDto(testNewFeedbackRequestDto, userName, type);
@@ -0,0 +1,164 @@
+package com.epam.edp.demo.service;
+
+import com.epam.edp.demo.entity.Reservation;
+import com.epam.edp.demo.repository.ReservationRepository;
+import com.epam.edp.demo.service.impl.ReservationAvailabilityIndex;
+import com.epam.edp.demo.utility.IntervalIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReservationAvailabilityIndexTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private ReservationAvailabilityIndex availabilityIndex;
+
+    private final String locationId = "location-123";
+    private final String date = "2030-01-15";
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        availabilityIndex = new ReservationAvailabilityIndex(reservationRepository);
+    }
+
+    @Test
+    void getBookedSlots_LoadsDayOnceForAllTables() {
+        // Arrange
+        when(reservationRepository.findByLocationAndDate(locationId, date, ReservationAvailabilityIndex.BLOCKING_STATUSES))
+                .thenReturn(Arrays.asList(
+                        reservation("res-1", "table-1", "10:30", "CONFIRMED"),
+                        reservation("res-2", "table-1", "14:00", "IN_PROGRESS"),
+                        reservation("res-4", "table-2", "21:00", "CONFIRMED")
+                ));
+
+        // Act & Assert
+        assertEquals(0b101L, availabilityIndex.getBookedSlots(locationId, date, "table-1"));
+        assertEquals(0b1000000L, availabilityIndex.getBookedSlots(locationId, date, "table-2"));
+        assertEquals(0L, availabilityIndex.getBookedSlots(locationId, date, "table-3"));
+        verify(reservationRepository, times(1)).findByLocationAndDate(locationId, date, ReservationAvailabilityIndex.BLOCKING_STATUSES);
+        verify(reservationRepository, never()).getAllReservation();
+    }
+
+    @Test
+    void onReservationSaved_MarksAndMovesSlot() {
+        // Arrange
+        when(reservationRepository.findByLocationAndDate(locationId, date, ReservationAvailabilityIndex.BLOCKING_STATUSES))
+                .thenReturn(new ArrayList<>());
+        availabilityIndex.getBookedSlots(locationId, date, "table-1");
+
+        // Act
+        Reservation created = reservation("res-1", "table-1", "12:15", "CONFIRMED");
+        availabilityIndex.onReservationSaved(created);
+        long afterCreate = availabilityIndex.getBookedSlots(locationId, date, "table-1");
+
+        Reservation postponed = reservation("res-1", "table-1", "17:30", "POSTPONED");
+        availabilityIndex.onReservationSaved(postponed);
+        long afterPostpone = availabilityIndex.getBookedSlots(locationId, date, "table-1");
+
+        // Assert
+        assertEquals(0b10L, afterCreate);
+        assertEquals(0b10000L, afterPostpone);
+        verify(reservationRepository, times(1)).findByLocationAndDate(locationId, date, ReservationAvailabilityIndex.BLOCKING_STATUSES);
+        verify(reservationRepository, never()).getAllReservation();
+    }
+
+    @Test
+    void onReservationReleased_FreesSlot() {
+        // Arrange
+        when(reservationRepository.findByLocationAndDate(locationId, date, ReservationAvailabilityIndex.BLOCKING_STATUSES)).thenReturn(List.of(
+                reservation("res-1", "table-1", "15:45", "CONFIRMED")
+        ));
+        assertEquals(0b1000L, availabilityIndex.getBookedSlots(locationId, date, "table-1"));
+
+        // Act
+        availabilityIndex.onReservationReleased("res-1");
+
+        // Assert
+        assertEquals(0L, availabilityIndex.getBookedSlots(locationId, date, "table-1"));
+    }
+
+    @Test
+    void onReservationSaved_IgnoresDaysNotLoaded() {
+        // Act
+        availabilityIndex.onReservationSaved(reservation("res-1", "table-1", "10:30", "CONFIRMED"));
+
+        // Assert
+        verifyNoInteractions(reservationRepository);
+    }
+
+    @Test
+    void hasConflict_DetectsOverlapNotStartingAtSlot() {
+        // Arrange
+        Reservation longDinner = reservation("res-1", "table-1", "17:30", "CONFIRMED");
+        longDinner.setTimeTo("20:00");
+        when(reservationRepository.findByLocationAndDate(locationId, date, ReservationAvailabilityIndex.BLOCKING_STATUSES))
+                .thenReturn(List.of(longDinner));
+
+        // Act & Assert
+        assertTrue(availabilityIndex.hasConflict(locationId, date, "table-1", "19:15", "20:45", null));
+        assertTrue(availabilityIndex.hasConflict(locationId, date, "table-1", "16:30", "17:45", null));
+        assertFalse(availabilityIndex.hasConflict(locationId, date, "table-1", "20:00", "21:00", null));
+        assertFalse(availabilityIndex.hasConflict(locationId, date, "table-1", "19:15", "20:45", "res-1"));
+        assertFalse(availabilityIndex.hasConflict(locationId, date, "table-2", "19:15", "20:45", null));
+        assertEquals(0b110000L, availabilityIndex.getBookedSlots(locationId, date, "table-1"));
+    }
+
+    @Test
+    void getBookedSlots_OffGridBookingBlocksEverySlotItOverlaps() {
+        // Arrange
+        Reservation lateLunch = reservation("res-1", "table-1", "13:00", "CONFIRMED");
+        lateLunch.setTimeTo("14:30");
+        Reservation shortDinner = reservation("res-2", "table-1", "20:30", "CONFIRMED");
+        shortDinner.setTimeTo("21:00");
+        when(reservationRepository.findByLocationAndDate(locationId, date, ReservationAvailabilityIndex.BLOCKING_STATUSES))
+                .thenReturn(List.of(lateLunch, shortDinner));
+
+        // Act
+        long booked = availabilityIndex.getBookedSlots(locationId, date, "table-1");
+
+        // Assert
+        assertEquals(0b0100110L, booked);
+    }
+
+    @Test
+    void getFreeGaps_ListsStretchesBetweenBookings() {
+        // Arrange
+        Reservation lunch = reservation("res-1", "table-1", "12:15", "CONFIRMED");
+        lunch.setTimeTo("13:45");
+        when(reservationRepository.findByLocationAndDate(locationId, date, ReservationAvailabilityIndex.BLOCKING_STATUSES))
+                .thenReturn(List.of(lunch));
+
+        // Act
+        List<IntervalIndex.Interval> gaps = availabilityIndex.getFreeGaps(locationId, date, "table-1", "10:30", "22:30", 120);
+
+        // Assert
+        long midnight = LocalDate.parse(date).atStartOfDay(ZoneId.of("Asia/Kolkata")).toEpochSecond() / 60;
+        assertEquals(1, gaps.size());
+        assertEquals(midnight + 13 * 60 + 45, gaps.get(0).getFrom());
+        assertEquals(midnight + 22 * 60 + 30, gaps.get(0).getTo());
+    }
+
+    private Reservation reservation(String id, String tableId, String timeFrom, String status) {
+        Reservation reservation = new Reservation();
+        reservation.setReservationId(id);
+        reservation.setLocationId(locationId);
+        reservation.setDate(date);
+        reservation.setTableNumber(tableId);
+        reservation.setTimeFrom(timeFrom);
+        reservation.setStatus(status);
+        return reservation;
+    }
+}
@@ -0,0 +1,103 @@
+package com.epam.edp.demo.service;
+
+import com.epam.edp.demo.dto.request.ReservationRequestDto;
+import com.epam.edp.demo.dto.response.ReservationHoldResponse;
+import com.epam.edp.demo.entity.Reservation;
+import com.epam.edp.demo.exception.ConflictException;
+import com.epam.edp.demo.exception.ResourceNotFoundException;
+import com.epam.edp.demo.repository.ReservationRepository;
+import com.epam.edp.demo.service.impl.ReservationAvailabilityIndex;
+import com.epam.edp.demo.service.impl.ReservationHoldService;
+import com.epam.edp.demo.utility.IdGenerator;
+import com.epam.edp.demo.utility.UuidV7Generator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReservationHoldServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private ReservationAvailabilityIndex availabilityIndex;
+    private ReservationHoldService holdService;
+
+    private final String email = "test@example.com";
+    private ReservationRequestDto request;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        availabilityIndex = new ReservationAvailabilityIndex(reservationRepository);
+        holdService = new ReservationHoldService(reservationRepository, availabilityIndex, IdGenerator.TIME_ORDERED, 5);
+        when(reservationRepository.findByLocationAndDate(anyString(), anyString(), anyCollection())).thenReturn(List.of());
+
+        request = ReservationRequestDto.builder()
+                .locationId("location-123")
+                .tableNumber("table-1")
+                .date("2030-01-15")
+                .guestsNumber("2")
+                .timeFrom("19:15")
+                .timeTo("20:45")
+                .build();
+    }
+
+    @Test
+    void placeHold_HidesSlotAtOnce() {
+        // Act
+        ReservationHoldResponse hold = holdService.placeHold(request, email);
+
+        // Assert
+        ArgumentCaptor<Long> expiresAt = ArgumentCaptor.forClass(Long.class);
+        verify(reservationRepository).placeHold(argThat(held -> hold.getHoldId().equals(held.getReservationId())
+                && email.equals(held.getUserId())), expiresAt.capture());
+        long now = Instant.now().getEpochSecond();
+        assertTrue(expiresAt.getValue() > now + 240 && expiresAt.getValue() <= now + 300);
+        assertEquals(0b100000L, availabilityIndex.getBookedSlots("location-123", "2030-01-15", "table-1"));
+        assertDoesNotThrow(() -> UuidV7Generator.timestampOf(hold.getHoldId()));
+        assertThrows(ConflictException.class, () -> holdService.placeHold(request, "other@example.com"));
+    }
+
+    @Test
+    void placeHold_RejectedByDatabaseLeavesSlotFree() {
+        // Arrange
+        doThrow(new ConflictException("Table table-1 is already booked"))
+                .when(reservationRepository).placeHold(any(Reservation.class), anyLong());
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> holdService.placeHold(request, email));
+        assertEquals(0L, availabilityIndex.getBookedSlots("location-123", "2030-01-15", "table-1"));
+    }
+
+    @Test
+    void releaseHold_FreesSlot() {
+        // Arrange
+        ReservationHoldResponse hold = holdService.placeHold(request, email);
+        when(reservationRepository.releaseHold(hold.getHoldId(), email)).thenReturn(Optional.of(new Reservation()));
+
+        // Act
+        holdService.releaseHold(hold.getHoldId(), email);
+
+        // Assert
+        assertEquals(0L, availabilityIndex.getBookedSlots("location-123", "2030-01-15", "table-1"));
+    }
+
+    @Test
+    void releaseHold_UnknownHold() {
+        // Arrange
+        when(reservationRepository.releaseHold("missing", email)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> holdService.releaseHold("missing", email));
+    }
+}
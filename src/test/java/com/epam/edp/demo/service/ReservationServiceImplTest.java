@@ -9,20 +9,27 @@ import com.epam.edp.demo.dto.request.AnonymousVisitorReservationDto;
 import com.epam.edp.demo.dto.response.ReservationResponse;
 import com.epam.edp.demo.entity.Location;
 import com.epam.edp.demo.entity.Reservation;
+import com.epam.edp.demo.entity.ReservationPage;
 import com.epam.edp.demo.exception.ResourceNotFoundException;
+import com.epam.edp.demo.exception.ConflictException;
 import com.epam.edp.demo.repository.LocationRepository;
 import com.epam.edp.demo.repository.ReservationRepository;
 import com.epam.edp.demo.repository.TableRepository;
 import com.epam.edp.demo.repository.WaiterRepository;
 import com.epam.edp.demo.repository.impl.DynamoDbReservationRepository;
+import com.epam.edp.demo.service.impl.ReservationAvailabilityIndex;
 import com.epam.edp.demo.service.impl.ReservationServiceImpl;
+import com.epam.edp.demo.service.impl.ReservationStatusResolver;
+import com.epam.edp.demo.service.impl.ReservationStatusScheduler;
 import com.epam.edp.demo.validation.Validation;
+import com.epam.edp.demo.utility.IdGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -52,9 +59,21 @@ class ReservationServiceImplTest {
     @Mock
     private Validation validation;
 
+    @Mock
+    private ReservationAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private ReservationStatusScheduler statusScheduler;
+
+    @Mock
+    private ReservationStatusResolver statusResolver;
+
     @Mock
     private AmazonDynamoDB amazonDynamoDB;
 
+    @Spy
+    private IdGenerator idGenerator = IdGenerator.TIME_ORDERED;
+
     @InjectMocks
     private ReservationServiceImpl reservationService;
 
@@ -71,6 +90,7 @@ class ReservationServiceImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(statusResolver.resolve(any(Reservation.class))).thenAnswer(invocation -> invocation.<Reservation>getArgument(0).getStatus());
 
         testReservationId = UUID.randomUUID().toString();
         testEmail = "test@example.com";
@@ -229,14 +249,15 @@ class ReservationServiceImplTest {
                 locationRepository,
                 waiterRepository,
                 validation,
-                amazonDynamoDB
+                amazonDynamoDB,
+                availabilityIndex,
+                statusScheduler,
+                statusResolver,
+                IdGenerator.TIME_ORDERED
         );
 
-        // Create a list of reservations containing our test reservation
-        List<Reservation> reservations = Collections.singletonList(testReservation);
-
-        // Mock the repository to return our list when getAllReservation is called
-        when(dynamoDbReservationRepository.getAllReservation()).thenReturn(reservations);
+        // Mock the repository to return our reservation when it is looked up by ID
+        when(dynamoDbReservationRepository.findById(testReservationId)).thenReturn(Optional.of(testReservation));
 
         // Mock the dynamoDbReservationRepository to return true when completelyDeleteReservation is called
         when(dynamoDbReservationRepository.completelyDeleteReservation(testReservationId)).thenReturn(true);
@@ -252,7 +273,7 @@ class ReservationServiceImplTest {
     @Test
     void cancelReservation_ReservationNotFound() {
         // Arrange
-        when(reservationRepository.getAllReservation()).thenReturn(new ArrayList<>());
+        when(reservationRepository.findById(testReservationId)).thenReturn(Optional.empty());
 
         // Act
         boolean result = reservationService.cancelReservation(testReservationId);
@@ -291,7 +312,7 @@ class ReservationServiceImplTest {
         when(locationRepository.findById(testLocationId)).thenReturn(testLocation);
 
         // The service might be using dynamoDbReservationRepository instead
-        when(dynamoDbReservationRepository.saveReservation(any(Reservation.class))).thenReturn(expectedReservation);
+        when(dynamoDbReservationRepository.insertReservation(any(Reservation.class))).thenReturn(expectedReservation);
 
         // Create a new service instance that uses dynamoDbReservationRepository
         ReservationServiceImpl testService = new ReservationServiceImpl(
@@ -300,7 +321,11 @@ class ReservationServiceImplTest {
                 locationRepository,
                 waiterRepository,
                 validation,
-                amazonDynamoDB
+                amazonDynamoDB,
+                availabilityIndex,
+                statusScheduler,
+                statusResolver,
+                IdGenerator.TIME_ORDERED
         );
 
         // Act
@@ -313,7 +338,7 @@ class ReservationServiceImplTest {
         assertEquals("CONFIRMED", result.getStatus());
 
         // Verify the dynamoDbReservationRepository was used
-        verify(dynamoDbReservationRepository).saveReservation(any(Reservation.class));
+        verify(dynamoDbReservationRepository).insertReservation(any(Reservation.class));
     }
 
     @Test
@@ -330,7 +355,11 @@ class ReservationServiceImplTest {
                 locationRepository,
                 waiterRepository,
                 validation,
-                amazonDynamoDB
+                amazonDynamoDB,
+                availabilityIndex,
+                statusScheduler,
+                statusResolver,
+                IdGenerator.TIME_ORDERED
         );
 
         // Use a real spy instead of the injected one
@@ -342,22 +371,9 @@ class ReservationServiceImplTest {
         // Mock the location repository
         when(locationRepository.findById(testLocationId)).thenReturn(testLocation);
 
-        // Create the updated reservation that will be returned by saveReservation
-        Reservation updatedReservation = new Reservation();
-        updatedReservation.setReservationId(testReservationId);
-        updatedReservation.setUserId(testEmail);
-        updatedReservation.setLocationId(testLocationId);
-        updatedReservation.setTableNumber(testTableId);
-        updatedReservation.setDate(newDate);
-        updatedReservation.setTimeFrom(newTimeFrom);
-        updatedReservation.setTimeTo(newTimeTo);
-        updatedReservation.setGuestNumber("3");
-        updatedReservation.setStatus("POSTPONED");
-        updatedReservation.setWaiterId(testWaiterId);
-        updatedReservation.setCreatedAt(testReservation.getCreatedAt());
-
-        // Mock the saveReservation method
-        when(reservationRepository.saveReservation(any(Reservation.class))).thenReturn(updatedReservation);
+        // Mock the versioned write, which returns the reservation it was given
+        when(reservationRepository.updateReservation(any(Reservation.class), any(Reservation.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1));
 
         // Act
         ReservationResponse result = spyService.postponeReservation(testReservationId, newDate, newTimeFrom, newTimeTo);
@@ -371,7 +387,8 @@ class ReservationServiceImplTest {
 
         // Verify the reservation was saved with the correct values
         ArgumentCaptor<Reservation> reservationCaptor = ArgumentCaptor.forClass(Reservation.class);
-        verify(reservationRepository).saveReservation(reservationCaptor.capture());
+        verify(reservationRepository).updateReservation(eq(testReservation), reservationCaptor.capture());
+        verify(reservationRepository, never()).saveReservation(any(Reservation.class));
 
         Reservation capturedReservation = reservationCaptor.getValue();
         assertEquals(testReservationId, capturedReservation.getReservationId());
@@ -381,6 +398,23 @@ class ReservationServiceImplTest {
         assertEquals("POSTPONED", capturedReservation.getStatus());
     }
 
+    @Test
+    void postponeReservation_OverlapsAnotherBooking() {
+        // Arrange
+        when(reservationRepository.findById(testReservationId)).thenReturn(Optional.of(testReservation));
+        when(dynamoDbReservationRepository.findById(testReservationId)).thenReturn(Optional.of(testReservation));
+        when(availabilityIndex.hasConflict(testLocationId, "2023-07-01", testTableId, "16:00", "17:45", testReservationId))
+                .thenReturn(true);
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () ->
+                reservationService.postponeReservation(testReservationId, "2023-07-01", "16:00", "17:45"));
+        verify(reservationRepository, never()).saveReservation(any(Reservation.class));
+        verify(dynamoDbReservationRepository, never()).saveReservation(any(Reservation.class));
+        verify(availabilityIndex, never()).onReservationSaved(any(Reservation.class));
+        verify(reservationRepository, never()).updateReservation(any(Reservation.class), any(Reservation.class));
+    }
+
     @Test
     void postponeReservation_ReservationNotFound() {
         // Arrange
@@ -388,7 +422,7 @@ class ReservationServiceImplTest {
         String newTimeFrom = "16:00";
         String newTimeTo = "17:45";
 
-        when(reservationRepository.getAllReservation()).thenReturn(new ArrayList<>());
+        when(reservationRepository.findById(testReservationId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(com.amazonaws.services.dynamodbv2.model.ResourceNotFoundException.class, () ->
@@ -468,10 +502,13 @@ class ReservationServiceImplTest {
         // Try different variations of the waiter ID
         debugReservation.setWaiterId("WAITER@EXAMPLE.COM"); // Uppercase
 
-        when(locationRepository.findById(testLocationId)).thenReturn(testLocation);
+        when(locationRepository.findAllByIds(anySet())).thenReturn(Map.of(testLocationId, testLocation));
 
         List<Reservation> reservations = Collections.singletonList(debugReservation);
-        when(reservationRepository.getAllReservation()).thenReturn(reservations);
+        when(reservationRepository.findByWaiterId(eq(testWaiterId), any(), anyInt()))
+                .thenReturn(new ReservationPage(reservations, null));
+        when(dynamoDbReservationRepository.findByWaiterId(eq(testWaiterId), any(), anyInt()))
+                .thenReturn(new ReservationPage(reservations, null));
 
         // Act
         List<ReservationResponse> result = reservationService.getReservationsByWaiter(testWaiterId);
@@ -3,27 +3,36 @@ package com.epam.edp.demo.service;
 
 import com.epam.edp.demo.dto.request.ReservationRequestDto;
 import com.epam.edp.demo.dto.request.WaiterReservationRequestDto;
+import com.epam.edp.demo.dto.response.ReservationPageResponse;
 import com.epam.edp.demo.dto.response.ReservationResponse;
 import com.epam.edp.demo.dto.response.TableResponseDto;
 import com.epam.edp.demo.entity.Location;
 import com.epam.edp.demo.entity.Reservation;
+import com.epam.edp.demo.entity.ReservationPage;
 import com.epam.edp.demo.entity.Table;
 import com.epam.edp.demo.exception.ForbiddenException;
 import com.epam.edp.demo.exception.ResourceNotFoundException;
 import com.epam.edp.demo.exception.TooLateForCancellationException;
 import com.epam.edp.demo.exception.ValidationException;
+import com.epam.edp.demo.exception.VersionConflictException;
 import com.epam.edp.demo.repository.LocationRepository;
 import com.epam.edp.demo.repository.ReservationRepository;
 import com.epam.edp.demo.repository.TableRepository;
 import com.epam.edp.demo.repository.WaiterRepository;
+import com.epam.edp.demo.service.impl.ReservationAvailabilityIndex;
 import com.epam.edp.demo.service.impl.ReservationServiceImpl;
+import com.epam.edp.demo.service.impl.ReservationStatusResolver;
+import com.epam.edp.demo.service.impl.ReservationStatusScheduler;
 import com.epam.edp.demo.validation.Validation;
+import com.epam.edp.demo.utility.IdGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -31,7 +40,11 @@ import java.time.LocalTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -55,6 +68,18 @@ class ReservationServiceTest {
     @Mock
     private Validation validation;
 
+    @Mock
+    private ReservationAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private ReservationStatusScheduler statusScheduler;
+
+    @Mock
+    private ReservationStatusResolver statusResolver;
+
+
+    @Spy
+    private IdGenerator idGenerator = IdGenerator.TIME_ORDERED;
 
     @InjectMocks
     private ReservationServiceImpl reservationService;
@@ -74,6 +99,7 @@ class ReservationServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(statusResolver.resolve(any(Reservation.class))).thenAnswer(invocation -> invocation.<Reservation>getArgument(0).getStatus());
 
         testReservationId = UUID.randomUUID().toString();
         testEmail = "test@example.com";
@@ -153,27 +179,25 @@ class ReservationServiceTest {
     @Test
     void deleteReservationOfUser_Success() {
         // Arrange
-        when(reservationRepository.deleteReservation(testReservationId)).thenReturn(true);
+        when(reservationRepository.deleteReservation(testReservationId, testEmail)).thenReturn(true);
 
         // Act
-        boolean result = reservationService.deleteReservationOfUser(testReservationId);
+        boolean result = reservationService.deleteReservationOfUser(testReservationId, testEmail);
 
         // Assert
         assertTrue(result);
-        verify(reservationRepository).deleteReservation(testReservationId);
+        verify(reservationRepository).deleteReservation(testReservationId, testEmail);
     }
 
     @Test
     void getReservationByLocationIdDateTableId_Success() {
         // Arrange
-        List<Reservation> allReservations = Arrays.asList(
+        List<Reservation> dayReservations = Arrays.asList(
                 testReservation,
-                createReservation("other-id", "other-location", testDate, testTableId, "CONFIRMED"),
-                createReservation("another-id", testLocationId, "2023-01-01", testTableId, "CONFIRMED"),
-                createReservation("yet-another-id", testLocationId, testDate, "other-table", "CONFIRMED"),
-                createReservation("cancelled-id", testLocationId, testDate, testTableId, "CANCELLED")
+                createReservation("yet-another-id", testLocationId, testDate, "other-table", "CONFIRMED")
         );
-        when(reservationRepository.getAllReservation()).thenReturn(allReservations);
+        when(reservationRepository.findByLocationAndDate(testLocationId, testDate, List.of("CONFIRMED", "IN_PROGRESS")))
+                .thenReturn(dayReservations);
 
         // Act
         List<Reservation> result = reservationService.getReservationByLocationIdDateTableId(
@@ -182,7 +206,8 @@ class ReservationServiceTest {
         // Assert
         assertEquals(1, result.size());
         assertEquals(testReservationId, result.get(0).getReservationId());
-        verify(reservationRepository).getAllReservation();
+        verify(reservationRepository).findByLocationAndDate(testLocationId, testDate, List.of("CONFIRMED", "IN_PROGRESS"));
+        verify(reservationRepository, never()).getAllReservation();
     }
 
 
@@ -196,9 +221,7 @@ class ReservationServiceTest {
     void getAvailableSlots_NoTablesAvailable() {
         // Arrange
         String guests = "10"; // More than table capacity
-        List<Table> tables = Arrays.asList(testTable);
-
-        when(tableRepository.getTablesByLocationId(testLocationId)).thenReturn(tables);
+        when(tableRepository.getTablesSeating(testLocationId, 10)).thenReturn(Collections.emptyList());
 
         // Act
         List<TableResponseDto> result = reservationService.getAvailableSlots(
@@ -208,10 +231,29 @@ class ReservationServiceTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void getAvailableSlots_UsesAvailabilityIndex() {
+        // Arrange
+        String futureDate = LocalDate.now().plusDays(1).toString();
+        when(tableRepository.getTablesSeating(testLocationId, 2)).thenReturn(Arrays.asList(testTable));
+        // 10:30 and 14:00 are taken
+        when(availabilityIndex.getBookedSlots(testLocationId, futureDate, testTableId)).thenReturn(0b101L);
+
+        // Act
+        List<TableResponseDto> result = reservationService.getAvailableSlots(
+                testLocationId, futureDate, "10:00", "2");
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(Arrays.asList("12:15", "15:45", "17:30", "19:15", "21:00"), result.get(0).getAvailableSlots());
+        assertEquals("123 Test Street", result.get(0).getLocationAddress());
+        verify(reservationRepository, never()).getAllReservation();
+    }
+
     @Test
     void createReservation_Success() {
         // Arrange
-        when(reservationRepository.saveReservation(any(Reservation.class))).thenReturn(testReservation);
+        when(reservationRepository.insertReservation(any(Reservation.class), isNull())).thenReturn(testReservation);
 
         // Act
         ReservationResponse result = reservationService.createReservation(testRequestDto, testEmail);
@@ -221,16 +263,16 @@ class ReservationServiceTest {
         assertEquals(testLocation.getAddress(), result.getLocationAddress());
         assertEquals(testRequestDto.getGuestsNumber(), result.getGuestNumber());
         assertEquals("CONFIRMED", result.getStatus());
-        verify(reservationRepository).saveReservation(any(Reservation.class));
+        verify(reservationRepository).insertReservation(any(Reservation.class), isNull());
     }
 
     @Test
     void updateReservation_Success() {
         // Arrange
-        List<Reservation> allReservations = Arrays.asList(testReservation);
-        when(reservationRepository.getAllReservation()).thenReturn(allReservations);
+        when(reservationRepository.findById(testReservationId)).thenReturn(Optional.of(testReservation));
         when(validation.isWithin30MinutesOfCreation(anyString())).thenReturn(true);
-        when(reservationRepository.updateReservation(any(Reservation.class))).thenReturn(testReservation);
+        when(reservationRepository.updateReservation(any(Reservation.class), any(Reservation.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1));
 
         // Act
         ReservationResponse result = reservationService.updateReservation(
@@ -241,13 +283,77 @@ class ReservationServiceTest {
         assertEquals(testLocation.getAddress(), result.getLocationAddress());
         assertEquals(testRequestDto.getGuestsNumber(), result.getGuestNumber());
         assertEquals("CONFIRMED", result.getStatus());
-        verify(reservationRepository).updateReservation(any(Reservation.class));
+        verify(reservationRepository).updateReservation(eq(testReservation), any(Reservation.class));
+    }
+
+    @Test
+    void updateReservation_VersionConflict_MergesIntoFreshCopy() {
+        // Arrange
+        testReservation.setVersion(1L);
+        Reservation fresh = createReservation(testReservationId, testLocationId, testDate, "table-456", "CONFIRMED");
+        fresh.setVersion(2L);
+        when(reservationRepository.findById(testReservationId))
+                .thenReturn(Optional.of(testReservation))
+                .thenReturn(Optional.of(fresh));
+        when(validation.isWithin30MinutesOfCreation(anyString())).thenReturn(true);
+        when(reservationRepository.updateReservation(eq(testReservation), any(Reservation.class)))
+                .thenThrow(new VersionConflictException("changed"));
+        when(reservationRepository.updateReservation(eq(fresh), any(Reservation.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        testRequestDto.setGuestsNumber("5");
+
+        // Act
+        ReservationResponse result = reservationService.updateReservation(testReservationId, testEmail, testRequestDto);
+
+        // Assert
+        assertEquals("5", result.getGuestNumber());
+        ArgumentCaptor<Reservation> merged = ArgumentCaptor.forClass(Reservation.class);
+        verify(reservationRepository).updateReservation(eq(fresh), merged.capture());
+        assertEquals("table-456", merged.getValue().getTableNumber());
+        assertEquals("5", merged.getValue().getGuestNumber());
+        verify(waiterRepository, times(1)).getLeastBusyWaiterForLocation(testLocationId);
+    }
+
+    @Test
+    void updateReservation_VersionConflict_ChecksFreshCopy() {
+        // Arrange
+        Reservation cancelled = createReservation(testReservationId, testLocationId, testDate, testTableId, "CANCELLED");
+        cancelled.setVersion(1L);
+        when(reservationRepository.findById(testReservationId))
+                .thenReturn(Optional.of(testReservation))
+                .thenReturn(Optional.of(cancelled));
+        when(validation.isWithin30MinutesOfCreation(anyString())).thenReturn(true);
+        when(reservationRepository.updateReservation(eq(testReservation), any(Reservation.class)))
+                .thenThrow(new VersionConflictException("changed"));
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () ->
+                reservationService.updateReservation(testReservationId, testEmail, testRequestDto)
+        );
+        verify(reservationRepository, never()).updateReservation(eq(cancelled), any(Reservation.class));
+    }
+
+    @Test
+    void updateReservation_VersionConflict_GivesUpAfterMaxAttempts() {
+        // Arrange
+        when(reservationRepository.findById(testReservationId)).thenReturn(Optional.of(testReservation));
+        when(validation.isWithin30MinutesOfCreation(anyString())).thenReturn(true);
+        when(reservationRepository.updateReservation(any(Reservation.class), any(Reservation.class)))
+                .thenThrow(new VersionConflictException("changed"));
+
+        // Act & Assert
+        assertThrows(VersionConflictException.class, () ->
+                reservationService.updateReservation(testReservationId, testEmail, testRequestDto)
+        );
+        verify(reservationRepository, times(ReservationServiceImpl.MAX_EDIT_ATTEMPTS))
+                .updateReservation(any(Reservation.class), any(Reservation.class));
+        verify(availabilityIndex, never()).onReservationSaved(any(Reservation.class));
     }
 
     @Test
     void updateReservation_ReservationNotFound() {
         // Arrange
-        when(reservationRepository.getAllReservation()).thenReturn(new ArrayList<>());
+        when(reservationRepository.findById(testReservationId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () ->
@@ -258,8 +364,7 @@ class ReservationServiceTest {
     @Test
     void updateReservation_NotWithin30Minutes() {
         // Arrange
-        List<Reservation> allReservations = Arrays.asList(testReservation);
-        when(reservationRepository.getAllReservation()).thenReturn(allReservations);
+        when(reservationRepository.findById(testReservationId)).thenReturn(Optional.of(testReservation));
         when(validation.isWithin30MinutesOfCreation(anyString())).thenReturn(false);
 
         // Act & Assert
@@ -271,8 +376,7 @@ class ReservationServiceTest {
     @Test
     void updateReservation_NotOwnedByUser() {
         // Arrange
-        List<Reservation> allReservations = Arrays.asList(testReservation);
-        when(reservationRepository.getAllReservation()).thenReturn(allReservations);
+        when(reservationRepository.findById(testReservationId)).thenReturn(Optional.of(testReservation));
         when(validation.isWithin30MinutesOfCreation(anyString())).thenReturn(true);
 
         // Act & Assert
@@ -289,8 +393,7 @@ class ReservationServiceTest {
                 testReservationId, testLocationId, testDate, testTableId, "CANCELLED");
         cancelledReservation.setUserId(testEmail);
 
-        List<Reservation> allReservations = Arrays.asList(cancelledReservation);
-        when(reservationRepository.getAllReservation()).thenReturn(allReservations);
+        when(reservationRepository.findById(testReservationId)).thenReturn(Optional.of(cancelledReservation));
         when(validation.isWithin30MinutesOfCreation(anyString())).thenReturn(true);
 
         // Act & Assert
@@ -302,19 +405,57 @@ class ReservationServiceTest {
     @Test
     void getAllReservation_ByEmail_Success() {
         // Arrange
-        List<Reservation> allReservations = Arrays.asList(
-                testReservation,
-                createReservation("other-id", testLocationId, testDate, testTableId, "CONFIRMED", "other@example.com")
-        );
-        when(reservationRepository.getAllReservation()).thenReturn(allReservations);
+        Reservation olderReservation = createReservation("older-id", testLocationId, testDate, testTableId, "FINISHED", testEmail);
+        when(reservationRepository.findByUserId(testEmail, null, ReservationServiceImpl.MAX_PAGE_SIZE))
+                .thenReturn(new ReservationPage(Arrays.asList(testReservation), "next-page"));
+        when(reservationRepository.findByUserId(testEmail, "next-page", ReservationServiceImpl.MAX_PAGE_SIZE))
+                .thenReturn(new ReservationPage(Arrays.asList(olderReservation), null));
+        when(locationRepository.findAllByIds(Set.of(testLocationId))).thenReturn(Map.of(testLocationId, testLocation));
 
         // Act
         List<ReservationResponse> result = reservationService.getAllReservation(testEmail);
 
         // Assert
-        assertEquals(1, result.size());
+        assertEquals(2, result.size());
         assertEquals(testReservationId, result.get(0).getId());
-        verify(reservationRepository).getAllReservation();
+        assertEquals("older-id", result.get(1).getId());
+        assertEquals("123 Test Street", result.get(1).getLocationAddress());
+        verify(reservationRepository, never()).getAllReservation();
+        verify(locationRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void getReservationPage_ReturnsCursorAndBatchesLocations() {
+        // Arrange
+        Reservation secondReservation = createReservation("second-id", testLocationId, testDate, "table-2", "CONFIRMED", testEmail);
+        when(reservationRepository.findByUserId(testEmail, "cursor-1", 2))
+                .thenReturn(new ReservationPage(Arrays.asList(testReservation, secondReservation), "cursor-2"));
+        when(locationRepository.findAllByIds(Set.of(testLocationId))).thenReturn(Map.of(testLocationId, testLocation));
+
+        // Act
+        ReservationPageResponse result = reservationService.getReservationPage(testEmail, "cursor-1", 2);
+
+        // Assert
+        assertEquals(2, result.getReservations().size());
+        assertEquals("cursor-2", result.getNextCursor());
+        assertEquals("123 Test Street", result.getReservations().get(0).getLocationAddress());
+        verify(locationRepository, times(1)).findAllByIds(anyCollection());
+        verify(locationRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void getReservationPage_BoundsPageSize() {
+        // Arrange
+        when(reservationRepository.findByUserId(eq(testEmail), isNull(), anyInt()))
+                .thenReturn(new ReservationPage(new ArrayList<>(), null));
+
+        // Act
+        reservationService.getReservationPage(testEmail, null, 10_000);
+        reservationService.getReservationPage(testEmail, null, null);
+
+        // Assert
+        verify(reservationRepository).findByUserId(testEmail, null, ReservationServiceImpl.MAX_PAGE_SIZE);
+        verify(reservationRepository).findByUserId(testEmail, null, ReservationServiceImpl.DEFAULT_PAGE_SIZE);
     }
 
     @Test
@@ -331,7 +472,7 @@ class ReservationServiceTest {
         String waiterEmail = "waiter@example.com";
         String customerEmail = "customer@example.com";
 
-        when(reservationRepository.saveReservation(any(Reservation.class))).thenReturn(testReservation);
+        when(reservationRepository.insertReservation(any(Reservation.class))).thenReturn(testReservation);
 
         // Act
         ReservationResponse result = reservationService.createReservationByWaiter(
@@ -342,14 +483,13 @@ class ReservationServiceTest {
         assertEquals(testLocation.getAddress(), result.getLocationAddress());
         assertEquals(waiterRequestDto.getGuestsNumber(), result.getGuestNumber());
         assertEquals("CONFIRMED", result.getStatus());
-        verify(reservationRepository).saveReservation(any(Reservation.class));
+        verify(reservationRepository).insertReservation(any(Reservation.class));
     }
 
     @Test
     void findReservationById_Success() {
         // Arrange
-        List<Reservation> allReservations = Arrays.asList(testReservation);
-        when(reservationRepository.getAllReservation()).thenReturn(allReservations);
+        when(reservationRepository.findById(testReservationId)).thenReturn(Optional.of(testReservation));
 
         // Act
         Reservation result = reservationService.findReservationById(testReservationId);
@@ -357,21 +497,21 @@ class ReservationServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(testReservationId, result.getReservationId());
-        verify(reservationRepository).getAllReservation();
+        verify(reservationRepository).findById(testReservationId);
+        verify(reservationRepository, never()).getAllReservation();
     }
 
     @Test
     void findReservationById_NotFound() {
         // Arrange
-        List<Reservation> allReservations = Arrays.asList(testReservation);
-        when(reservationRepository.getAllReservation()).thenReturn(allReservations);
+        when(reservationRepository.findById(testReservationId)).thenReturn(Optional.of(testReservation));
 
         // Act
         Reservation result = reservationService.findReservationById("non-existent-id");
 
         // Assert
         assertNull(result);
-        verify(reservationRepository).getAllReservation();
+        verify(reservationRepository).findById("non-existent-id");
     }
 
     // Helper method to create test reservations with different properties
@@ -0,0 +1,113 @@
+package com.epam.edp.demo.service;
+
+import com.epam.edp.demo.entity.Reservation;
+import com.epam.edp.demo.repository.ReservationRepository;
+import com.epam.edp.demo.service.impl.ReservationStatusResolver;
+import com.epam.edp.demo.utility.ReservationStatusRules;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReservationStatusResolverTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private ReservationStatusResolver statusResolver;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        statusResolver = new ReservationStatusResolver(reservationRepository, true, 60_000);
+        now = LocalDateTime.now(ZoneId.of("Asia/Kolkata"));
+        when(reservationRepository.transitionStatus(any(Reservation.class), anyString(), anyCollection())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statusResolver.shutdown();
+    }
+
+    @Test
+    void derive_FollowsTimeSlot() {
+        // Arrange
+        Reservation reservation = reservation("res-1", LocalDateTime.of(2030, 1, 15, 12, 15), "CONFIRMED");
+
+        // Act & Assert
+        assertEquals("CONFIRMED", ReservationStatusRules.derive(reservation, LocalDateTime.of(2030, 1, 15, 12, 14)));
+        assertEquals("IN_PROGRESS", ReservationStatusRules.derive(reservation, LocalDateTime.of(2030, 1, 15, 12, 15)));
+        assertEquals("FINISHED", ReservationStatusRules.derive(reservation, LocalDateTime.of(2030, 1, 15, 13, 45)));
+
+        reservation.setStatus("CANCELLED");
+        assertEquals("CANCELLED", ReservationStatusRules.derive(reservation, LocalDateTime.of(2030, 1, 15, 13, 45)));
+    }
+
+    @Test
+    void resolve_ReturnsDerivedStatusAndCoalescesWrites() {
+        // Arrange
+        Reservation reservation = reservation("res-1", now.minusDays(1), "CONFIRMED");
+
+        // Act
+        String first = statusResolver.resolve(reservation);
+        String second = statusResolver.resolve(reservation);
+        int written = statusResolver.flush();
+
+        // Assert
+        assertEquals("FINISHED", first);
+        assertEquals("FINISHED", second);
+        assertEquals(1, written);
+        assertEquals(0, statusResolver.pendingCount());
+        verify(reservationRepository, times(1)).transitionStatus(any(Reservation.class), eq("FINISHED"),
+                eq(ReservationStatusRules.UPCOMING_STATUSES));
+    }
+
+    @Test
+    void resolve_LeavesUpcomingReservationAlone() {
+        // Arrange
+        Reservation reservation = reservation("res-1", now.plusDays(1), "CONFIRMED");
+
+        // Act
+        String status = statusResolver.resolve(reservation);
+
+        // Assert
+        assertEquals("CONFIRMED", status);
+        assertEquals(0, statusResolver.flush());
+        verifyNoInteractions(reservationRepository);
+    }
+
+    @Test
+    void resolve_ReturnsStoredStatusWhenDisabled() {
+        // Arrange
+        ReservationStatusResolver disabled = new ReservationStatusResolver(reservationRepository, false, 60_000);
+        Reservation reservation = reservation("res-1", now.minusDays(1), "CONFIRMED");
+
+        // Act
+        String status = disabled.resolve(reservation);
+        disabled.shutdown();
+
+        // Assert
+        assertEquals("CONFIRMED", status);
+        verifyNoInteractions(reservationRepository);
+    }
+
+    private Reservation reservation(String id, LocalDateTime start, String status) {
+        Reservation reservation = new Reservation();
+        reservation.setReservationId(id);
+        reservation.setDate(start.toLocalDate().toString());
+        reservation.setTimeFrom(String.format("%02d:%02d", start.getHour(), start.getMinute()));
+        reservation.setTimeTo(String.format("%02d:%02d", Math.min(start.getHour() + 1, 23), 45));
+        reservation.setStatus(status);
+        return reservation;
+    }
+}
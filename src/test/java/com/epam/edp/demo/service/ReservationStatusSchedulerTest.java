@@ -0,0 +1,153 @@
+package com.epam.edp.demo.service;
+
+import com.epam.edp.demo.entity.Location;
+import com.epam.edp.demo.entity.Reservation;
+import com.epam.edp.demo.repository.LocationRepository;
+import com.epam.edp.demo.repository.ReservationRepository;
+import com.epam.edp.demo.service.impl.ReservationStatusScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReservationStatusSchedulerTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    private ReservationStatusScheduler statusScheduler;
+
+    private LocalDateTime now;
+    private LocalDateTime start;
+    private Reservation reservation;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        statusScheduler = new ReservationStatusScheduler(reservationRepository, locationRepository);
+
+        now = LocalDateTime.now(ZoneId.of("Asia/Kolkata"));
+        start = now.toLocalDate().plusDays(1).atTime(10, 30);
+        reservation = reservation("res-1", start, start.plusMinutes(90), "CONFIRMED");
+
+        Location location = new Location();
+        location.setId("location-123");
+        when(locationRepository.findAll()).thenReturn(List.of(location));
+        when(reservationRepository.findByLocationAndDate(anyString(), anyString(), anyCollection())).thenReturn(Collections.emptyList());
+        when(reservationRepository.transitionStatus(any(Reservation.class), anyString(), anyCollection())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statusScheduler.shutdown();
+    }
+
+    @Test
+    void loadUpcoming_QueriesTodayAndTomorrowOfEachLocation() {
+        // Act
+        statusScheduler.loadUpcoming(now);
+
+        // Assert
+        verify(reservationRepository).findByLocationAndDate("location-123", now.toLocalDate().toString(),
+                ReservationStatusScheduler.UPCOMING_STATUSES);
+        verify(reservationRepository).findByLocationAndDate("location-123", now.toLocalDate().plusDays(1).toString(),
+                ReservationStatusScheduler.UPCOMING_STATUSES);
+        verify(reservationRepository, never()).getAllReservation();
+        verify(reservationRepository, never()).forEachReservation(anyInt(), any());
+    }
+
+    @Test
+    void advance_WritesEachTransitionAtItsBoundary() {
+        // Arrange
+        when(reservationRepository.findByLocationAndDate("location-123", start.toLocalDate().toString(),
+                ReservationStatusScheduler.UPCOMING_STATUSES)).thenReturn(List.of(reservation));
+        statusScheduler.loadUpcoming(now);
+        statusScheduler.loadUpcoming(now);
+
+        // Act
+        statusScheduler.advance(start.minusMinutes(1));
+        statusScheduler.advance(start);
+        statusScheduler.advance(start.plusMinutes(90));
+        statusScheduler.shutdown();
+
+        // Assert
+        verify(reservationRepository, times(1)).transitionStatus(any(Reservation.class), eq("IN_PROGRESS"),
+                eq(Set.of("CONFIRMED", "POSTPONED")));
+        verify(reservationRepository, times(1)).transitionStatus(any(Reservation.class), eq("FINISHED"),
+                eq(ReservationStatusScheduler.UPCOMING_STATUSES));
+    }
+
+    @Test
+    void onReservationReleased_DropsPendingTransitions() {
+        // Arrange
+        statusScheduler.onReservationSaved(reservation);
+
+        // Act
+        statusScheduler.onReservationReleased("res-1");
+        statusScheduler.advance(start.plusMinutes(90));
+        statusScheduler.shutdown();
+
+        // Assert
+        verify(reservationRepository, never()).transitionStatus(any(Reservation.class), anyString(), anyCollection());
+    }
+
+    @Test
+    void onReservationSaved_ReplacesTransitionsOfAMovedReservation() {
+        // Arrange
+        statusScheduler.onReservationSaved(reservation);
+        Reservation postponed = reservation("res-1", start.plusMinutes(30), start.plusMinutes(120), "POSTPONED");
+
+        // Act
+        statusScheduler.onReservationSaved(postponed);
+        statusScheduler.advance(start);
+        statusScheduler.advance(start.plusMinutes(30));
+        statusScheduler.shutdown();
+
+        // Assert
+        verify(reservationRepository, times(1)).transitionStatus(
+                argThat(r -> postponed.getTimeFrom().equals(r.getTimeFrom())), eq("IN_PROGRESS"), anyCollection());
+        verify(reservationRepository, never()).transitionStatus(
+                argThat(r -> reservation.getTimeFrom().equals(r.getTimeFrom())), anyString(), anyCollection());
+    }
+
+    @Test
+    void loadUpcoming_FinishesReservationsAlreadyOver() {
+        // Arrange
+        LocalDateTime yesterday = start.minusDays(2);
+        Reservation overdue = reservation("res-2", yesterday, yesterday.plusMinutes(90), "IN_PROGRESS");
+        when(reservationRepository.findByLocationAndDate("location-123", now.toLocalDate().toString(),
+                ReservationStatusScheduler.UPCOMING_STATUSES)).thenReturn(List.of(overdue));
+
+        // Act
+        statusScheduler.loadUpcoming(now);
+        statusScheduler.shutdown();
+
+        // Assert
+        verify(reservationRepository, times(1)).transitionStatus(any(Reservation.class), eq("FINISHED"), anyCollection());
+        verify(reservationRepository, never()).transitionStatus(any(Reservation.class), eq("IN_PROGRESS"), anyCollection());
+    }
+
+    private Reservation reservation(String id, LocalDateTime from, LocalDateTime to, String status) {
+        Reservation reservation = new Reservation();
+        reservation.setReservationId(id);
+        reservation.setLocationId("location-123");
+        reservation.setDate(from.toLocalDate().toString());
+        reservation.setTimeFrom(from.toLocalTime().toString());
+        reservation.setTimeTo(to.toLocalTime().toString());
+        reservation.setStatus(status);
+        return reservation;
+    }
+}
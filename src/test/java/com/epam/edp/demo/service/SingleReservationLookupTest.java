@@ -0,0 +1,259 @@
+package com.epam.edp.demo.service;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.*;
+import com.epam.edp.demo.dto.request.ReservationRequestDto;
+import com.epam.edp.demo.entity.Location;
+import com.epam.edp.demo.entity.Reservation;
+import com.epam.edp.demo.exception.ForbiddenException;
+import com.epam.edp.demo.exception.ResourceNotFoundException;
+import com.epam.edp.demo.exception.TooLateForCancellationException;
+import com.epam.edp.demo.exception.ValidationException;
+import com.epam.edp.demo.repository.FeedbackRepository;
+import com.epam.edp.demo.repository.LocationRepository;
+import com.epam.edp.demo.repository.TableRepository;
+import com.epam.edp.demo.repository.UserRepository;
+import com.epam.edp.demo.repository.WaiterRepository;
+import com.epam.edp.demo.repository.impl.DynamoDbReservationRepository;
+import com.epam.edp.demo.service.impl.FeedbackService;
+import com.epam.edp.demo.service.impl.ReservationAvailabilityIndex;
+import com.epam.edp.demo.service.impl.ReservationServiceImpl;
+import com.epam.edp.demo.service.impl.ReservationStatusResolver;
+import com.epam.edp.demo.service.impl.ReservationStatusScheduler;
+import com.epam.edp.demo.validation.Validation;
+import com.epam.edp.demo.utility.IdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the single-reservation paths against the real repository to make sure none of them falls back to a table scan
+ */
+class SingleReservationLookupTest {
+
+    @Mock
+    private AmazonDynamoDB amazonDynamoDB;
+
+    @Mock
+    private Validation validation;
+
+    @Mock
+    private TableRepository tableRepository;
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    @Mock
+    private WaiterRepository waiterRepository;
+
+    @Mock
+    private ReservationAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private ReservationStatusScheduler statusScheduler;
+
+    @Mock
+    private ReservationStatusResolver statusResolver;
+
+    @Mock
+    private FeedbackRepository feedbackRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private DynamoDbReservationRepository reservationRepository;
+    private ReservationServiceImpl reservationService;
+    private FeedbackService feedbackService;
+
+    private final String reservationId = "reservation-123";
+    private final String email = "test@example.com";
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(statusResolver.resolve(any(Reservation.class))).thenAnswer(invocation -> invocation.<Reservation>getArgument(0).getStatus());
+        reservationRepository = new DynamoDbReservationRepository(amazonDynamoDB, validation);
+        reservationService = new ReservationServiceImpl(reservationRepository, tableRepository, locationRepository,
+                waiterRepository, validation, amazonDynamoDB, availabilityIndex, statusScheduler, statusResolver, IdGenerator.TIME_ORDERED);
+        feedbackService = new FeedbackService(feedbackRepository, userRepository, reservationRepository, IdGenerator.TIME_ORDERED);
+
+        Location location = new Location();
+        location.setId("location-123");
+        location.setAddress("123 Test Street");
+        when(locationRepository.findById("location-123")).thenReturn(location);
+        when(validation.isWithin30MinutesOfCreation(anyString())).thenReturn(true);
+
+        Map<String, AttributeValue> item = item();
+        when(amazonDynamoDB.getItem(any(GetItemRequest.class))).thenReturn(new GetItemResult().withItem(item));
+        when(amazonDynamoDB.updateItem(any(UpdateItemRequest.class))).thenReturn(new UpdateItemResult().withAttributes(item));
+        when(amazonDynamoDB.deleteItem(any(DeleteItemRequest.class))).thenReturn(new DeleteItemResult().withAttributes(item));
+        when(amazonDynamoDB.putItem(any(PutItemRequest.class))).thenReturn(new PutItemResult());
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.shutdownScanExecutor();
+        verify(amazonDynamoDB, never()).scan(any(ScanRequest.class));
+    }
+
+    @Test
+    void findReservationById_UsesGetItem() {
+        // Act
+        Reservation result = reservationService.findReservationById(reservationId);
+
+        // Assert
+        assertEquals(reservationId, result.getReservationId());
+        verify(amazonDynamoDB).getItem(any(GetItemRequest.class));
+    }
+
+    @Test
+    void findReservationById_MissingReservation() {
+        // Arrange
+        when(amazonDynamoDB.getItem(any(GetItemRequest.class))).thenReturn(new GetItemResult());
+
+        // Act & Assert
+        assertNull(reservationService.findReservationById("missing"));
+    }
+
+    @Test
+    void updateReservation_UsesGetItem() {
+        // Arrange
+        ReservationRequestDto request = new ReservationRequestDto();
+        request.setLocationId("location-123");
+        request.setTableNumber("table-1");
+        request.setDate("2030-01-15");
+        request.setGuestsNumber("2");
+        request.setTimeFrom("12:15");
+        request.setTimeTo("13:45");
+
+        // Act
+        assertNotNull(reservationService.updateReservation(reservationId, email, request));
+
+        // Assert
+        verify(amazonDynamoDB).getItem(any(GetItemRequest.class));
+        verify(amazonDynamoDB).transactWriteItems(argThat((TransactWriteItemsRequest transaction) ->
+                transaction.getTransactItems().stream().anyMatch(write -> write.getUpdate() != null
+                        && "#version = :expectedVersion".equals(write.getUpdate().getConditionExpression()))));
+    }
+
+    @Test
+    void cancelReservation_SingleConditionalDelete() {
+        // Act & Assert
+        assertTrue(reservationService.cancelReservation(reservationId));
+        verify(amazonDynamoDB).deleteItem(argThat((DeleteItemRequest request) ->
+                "attribute_exists(#reservationId)".equals(request.getConditionExpression())));
+        verify(amazonDynamoDB, never()).getItem(any(GetItemRequest.class));
+    }
+
+    @Test
+    void cancelReservation_MissingReservation() {
+        // Arrange
+        when(amazonDynamoDB.deleteItem(any(DeleteItemRequest.class)))
+                .thenThrow(new ConditionalCheckFailedException("The conditional request failed"));
+
+        // Act & Assert
+        assertFalse(reservationService.cancelReservation("missing"));
+    }
+
+    @Test
+    void deleteReservationOfUser_SingleConditionalUpdate() {
+        // Act
+        assertTrue(reservationService.deleteReservationOfUser(reservationId, email));
+
+        // Assert
+        verify(amazonDynamoDB).updateItem(argThat((UpdateItemRequest request) ->
+                request.getConditionExpression().contains("#userId = :userId")
+                        && request.getConditionExpression().contains("#createdAt > :cancellableAfter")));
+        verify(amazonDynamoDB, never()).getItem(any(GetItemRequest.class));
+    }
+
+    @Test
+    void deleteReservationOfUser_RefusalMapsToExistingExceptions() {
+        // Arrange
+        when(amazonDynamoDB.updateItem(any(UpdateItemRequest.class)))
+                .thenThrow(new ConditionalCheckFailedException("The conditional request failed"));
+        Map<String, AttributeValue> late = item();
+        late.put("createdAt", new AttributeValue(LocalDateTime.now().minusHours(2).toString()));
+        Map<String, AttributeValue> finished = item();
+        finished.put("status", new AttributeValue("FINISHED"));
+        when(amazonDynamoDB.getItem(any(GetItemRequest.class)))
+                .thenReturn(new GetItemResult().withItem(item()))
+                .thenReturn(new GetItemResult().withItem(finished))
+                .thenReturn(new GetItemResult().withItem(late))
+                .thenReturn(new GetItemResult());
+
+        // Act & Assert
+        assertThrows(ForbiddenException.class, () -> reservationService.deleteReservationOfUser(reservationId, "other@example.com"));
+        assertThrows(ValidationException.class, () -> reservationService.deleteReservationOfUser(reservationId, email));
+        assertThrows(TooLateForCancellationException.class, () -> reservationService.deleteReservationOfUser(reservationId, email));
+        assertThrows(ResourceNotFoundException.class, () -> reservationService.deleteReservationOfUser(reservationId, email));
+    }
+
+    @Test
+    void postponeReservation_UsesGetItem() {
+        // Act
+        assertNotNull(reservationService.postponeReservation(reservationId, "2030-01-16", "14:00", "15:30"));
+
+        // Assert
+        verify(amazonDynamoDB).getItem(any(GetItemRequest.class));
+        verify(amazonDynamoDB).transactWriteItems(any(TransactWriteItemsRequest.class));
+        verify(amazonDynamoDB, never()).putItem(any(PutItemRequest.class));
+    }
+
+    @Test
+    void getLocationIdFromReservation_UsesGetItem() {
+        // Act & Assert
+        assertEquals("location-123", feedbackService.getLocationIdFromReservation(reservationId));
+        verify(amazonDynamoDB).getItem(any(GetItemRequest.class));
+    }
+
+    @Test
+    void findByIds_UsesBatchGetItem() {
+        // Arrange
+        Map<String, KeysAndAttributes> unprocessed = Map.of("tm5-restaurant-reservations-table-a4v2",
+                new KeysAndAttributes().withKeys(List.of(Map.of("reservationId", new AttributeValue("reservation-456")))));
+        when(amazonDynamoDB.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(new BatchGetItemResult()
+                        .withResponses(Map.of("tm5-restaurant-reservations-table-a4v2", List.of(item())))
+                        .withUnprocessedKeys(unprocessed))
+                .thenReturn(new BatchGetItemResult()
+                        .withResponses(Map.of("tm5-restaurant-reservations-table-a4v2", List.of(item("reservation-456"))))
+                        .withUnprocessedKeys(Collections.emptyMap()));
+
+        // Act
+        List<Reservation> result = reservationRepository.findByIds(List.of(reservationId, "reservation-456", reservationId));
+
+        // Assert
+        assertEquals(2, result.size());
+        verify(amazonDynamoDB, times(2)).batchGetItem(any(BatchGetItemRequest.class));
+    }
+
+    private Map<String, AttributeValue> item() {
+        return item(reservationId);
+    }
+
+    private Map<String, AttributeValue> item(String id) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("reservationId", new AttributeValue(id));
+        item.put("userId", new AttributeValue(email));
+        item.put("locationId", new AttributeValue("location-123"));
+        item.put("tableNumber", new AttributeValue("table-1"));
+        item.put("date", new AttributeValue("2030-01-15"));
+        item.put("timeFrom", new AttributeValue("12:15"));
+        item.put("timeTo", new AttributeValue("13:45"));
+        item.put("guestNumber", new AttributeValue().withN("2"));
+        item.put("status", new AttributeValue("CONFIRMED"));
+        item.put("createdAt", new AttributeValue(LocalDateTime.now().toString()));
+        item.put("version", new AttributeValue().withN("4"));
+        return item;
+    }
+}
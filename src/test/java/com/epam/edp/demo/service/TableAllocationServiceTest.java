@@ -0,0 +1,87 @@
+package com.epam.edp.demo.service;
+
+import com.epam.edp.demo.dto.response.TableCombinationResponseDto;
+import com.epam.edp.demo.entity.Location;
+import com.epam.edp.demo.entity.Table;
+import com.epam.edp.demo.repository.LocationRepository;
+import com.epam.edp.demo.repository.TableRepository;
+import com.epam.edp.demo.service.impl.ReservationAvailabilityIndex;
+import com.epam.edp.demo.service.impl.TableAllocationService;
+import com.epam.edp.demo.utility.TableCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class TableAllocationServiceTest {
+
+    @Mock
+    private TableRepository tableRepository;
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    @Mock
+    private ReservationAvailabilityIndex availabilityIndex;
+
+    private TableAllocationService allocationService;
+
+    private final String locationId = "location-123";
+    private final String date = LocalDate.now().plusDays(1).toString();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        allocationService = new TableAllocationService(tableRepository, locationRepository, availabilityIndex, 4, 50);
+
+        Location location = new Location();
+        location.setId(locationId);
+        location.setAddress("123 Test Street");
+        when(locationRepository.findById(locationId)).thenReturn(location);
+        when(tableRepository.getCatalog()).thenReturn(TableCatalog.of(List.of(
+                table("t1", "8", "terrace"),
+                table("t2", "8", "terrace"),
+                table("t3", "6", "terrace"),
+                table("t4", "10", null))));
+    }
+
+    @Test
+    void getAvailableTableCombinations_CombinesFreeTablesPerSlot() {
+        // Arrange: t1 is booked at 21:00, so only t2 and t3 remain on the terrace
+        when(availabilityIndex.getBookedSlots(eq(locationId), eq(date), anyString())).thenReturn(0L);
+        when(availabilityIndex.getBookedSlots(locationId, date, "t1")).thenReturn(0b1000000L);
+
+        // Act
+        List<TableCombinationResponseDto> result =
+                allocationService.getAvailableTableCombinations(locationId, date, "19:00", "16");
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("19:15", result.get(0).getTimeFrom());
+        assertEquals(List.of("t1", "t2"), result.get(0).getTableNumbers().stream().sorted().toList());
+        assertEquals("16", result.get(0).getCapacity());
+        assertEquals("123 Test Street", result.get(0).getLocationAddress());
+    }
+
+    @Test
+    void getAvailableTableCombinations_UnknownLocation() {
+        // Arrange
+        when(tableRepository.getCatalog()).thenReturn(TableCatalog.EMPTY);
+
+        // Act & Assert
+        assertTrue(allocationService.getAvailableTableCombinations(locationId, date, "10:00", "16").isEmpty());
+    }
+
+    private Table table(String id, String capacity, String adjacencyGroup) {
+        return Table.builder().id(id).locationId(locationId).tableNumber(id)
+                .capacity(capacity).adjacencyGroup(adjacencyGroup).build();
+    }
+}
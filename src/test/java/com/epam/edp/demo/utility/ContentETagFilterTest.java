@@ -0,0 +1,133 @@
+package com.epam.edp.demo.utility;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentETagFilterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private ContentVersions contentVersions;
+    private ContentETagFilter filter;
+    private int controllerCalls;
+
+    @BeforeEach
+    void setUp() {
+        contentVersions = new ContentVersions(300, now::get);
+        filter = new ContentETagFilter(contentVersions);
+    }
+
+    @Test
+    void doFilter_MatchingTagSkipsController() throws Exception {
+        // Arrange
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(get("/api/dishes", null), first, controller());
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        // Act
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(get("/api/dishes", "W/" + etag), second, controller());
+
+        // Assert
+        assertEquals(200, first.getStatus());
+        assertEquals("{}", first.getContentAsString());
+        assertEquals("no-cache", first.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals(304, second.getStatus());
+        assertEquals(etag, second.getHeader(HttpHeaders.ETAG));
+        assertEquals("", second.getContentAsString());
+        assertEquals(1, controllerCalls);
+    }
+
+    @Test
+    void doFilter_WriteChangesTag() throws Exception {
+        // Arrange
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(get("/api/locations/select-options", null), first, controller());
+        contentVersions.bump(ContentVersions.LOCATIONS);
+
+        // Act
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(get("/api/locations", first.getHeader(HttpHeaders.ETAG)), second, controller());
+
+        // Assert
+        assertEquals(200, second.getStatus());
+        assertNotEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG));
+        assertEquals(2, controllerCalls);
+    }
+
+    @Test
+    void doFilter_FeedbackTagsArePerLocation() throws Exception {
+        // Arrange
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(get("/api/locations/location-1/feedbacks", null), first, controller());
+        contentVersions.bump(ContentVersions.feedbacksOf("location-2"));
+
+        // Act
+        MockHttpServletResponse unchanged = new MockHttpServletResponse();
+        filter.doFilter(get("/api/locations/location-1/feedbacks", first.getHeader(HttpHeaders.ETAG)), unchanged, controller());
+        contentVersions.bump(ContentVersions.feedbacksOf("location-1"));
+        MockHttpServletResponse changed = new MockHttpServletResponse();
+        filter.doFilter(get("/api/locations/location-1/feedbacks", first.getHeader(HttpHeaders.ETAG)), changed, controller());
+
+        // Assert
+        assertEquals(304, unchanged.getStatus());
+        assertEquals(200, changed.getStatus());
+    }
+
+    @Test
+    void doFilter_TagExpiresAfterMaxAge() throws Exception {
+        // Arrange
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(get("/api/dishes/popular", null), first, controller());
+        now.addAndGet(300_000L);
+
+        // Act
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(get("/api/dishes/popular", first.getHeader(HttpHeaders.ETAG)), second, controller());
+
+        // Assert
+        assertEquals(200, second.getStatus());
+    }
+
+    @Test
+    void doFilter_OtherEndpointsAndMethodsAreUntouched() throws Exception {
+        // Arrange
+        MockHttpServletRequest post = get("/api/dishes", null);
+        post.setMethod("POST");
+        MockHttpServletResponse postResponse = new MockHttpServletResponse();
+        MockHttpServletResponse byIdResponse = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(post, postResponse, controller());
+        filter.doFilter(get("/api/dishes/dish-1", null), byIdResponse, controller());
+
+        // Assert
+        assertNull(postResponse.getHeader(HttpHeaders.ETAG));
+        assertNull(byIdResponse.getHeader(HttpHeaders.ETAG));
+        assertEquals(2, controllerCalls);
+    }
+
+    private FilterChain controller() {
+        return (request, response) -> {
+            controllerCalls++;
+            ((HttpServletResponse) response).getWriter().write("{}");
+        };
+    }
+
+    private static MockHttpServletRequest get(String path, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,130 @@
+package com.epam.edp.demo.utility;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private ExpiringCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ExpiringCache<>("test", 2, Duration.ofSeconds(10), meterRegistry, now::get);
+    }
+
+    @Test
+    void get_LoadsOnceWhileFresh() {
+        // Act
+        cache.get("a", this::load);
+        String second = cache.get("a", this::load);
+
+        // Assert
+        assertEquals("value-a", second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "test").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "test").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void get_ReloadsAfterTtl() {
+        // Arrange
+        cache.get("a", this::load);
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // Act
+        cache.get("a", this::load);
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.evictions").tag("cache", "test").counter().count());
+    }
+
+    @Test
+    void put_EvictsLeastRecentlyUsedWhenFull() {
+        // Arrange
+        cache.get("a", this::load);
+        cache.get("b", this::load);
+        cache.get("a", this::load);
+
+        // Act
+        cache.get("c", this::load);
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertNotNull(cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+        assertEquals(1.0, meterRegistry.get("cache.evictions").tag("cache", "test").counter().count());
+        assertEquals(2.0, meterRegistry.get("cache.size").tag("cache", "test").gauge().value());
+    }
+
+    @Test
+    void get_NullIsNotCached() {
+        // Act
+        assertNull(cache.get("a", key -> null));
+        cache.get("a", this::load);
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertEquals("value-a", cache.getIfPresent("a"));
+    }
+
+    @Test
+    void invalidate_ForcesReload() {
+        // Arrange
+        cache.get("a", this::load);
+
+        // Act
+        cache.invalidate("a");
+        cache.get("a", this::load);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_LoadOverlappingInvalidationIsNotCached() {
+        // Arrange
+        String stale = cache.get("all", key -> {
+            // A write lands after the scan read its data but before the scan finished
+            String read = load(key);
+            cache.invalidateAll();
+            return read;
+        });
+
+        // Act
+        cache.get("all", this::load);
+
+        // Assert
+        assertEquals("value-all", stale);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void put_StampedBeforeInvalidationIsDropped() {
+        // Arrange
+        long stamp = cache.stamp();
+        cache.invalidate("b");
+
+        // Act
+        cache.put("a", "stale", stamp);
+
+        // Assert
+        assertNull(cache.getIfPresent("a"));
+    }
+
+    private String load(String key) {
+        loads.incrementAndGet();
+        return "value-" + key;
+    }
+}
@@ -0,0 +1,68 @@
+package com.epam.edp.demo.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void advanceTo_FiresEachTaskAtItsMinute() {
+        // Arrange
+        long start = 28_000_000L;
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(start);
+        wheel.schedule(start + 1, "near");
+        wheel.schedule(start + 90, "next-hour");
+        wheel.schedule(start + 2 * 24 * 60, "day-after-tomorrow");
+        wheel.schedule(start + 400_000, "overflow");
+
+        // Act & Assert
+        assertEquals(List.of("near"), wheel.advanceTo(start + 1));
+        assertEquals(List.of(), wheel.advanceTo(start + 89));
+        assertEquals(List.of("next-hour"), wheel.advanceTo(start + 90));
+        assertEquals(List.of(), wheel.advanceTo(start + 2 * 24 * 60 - 1));
+        assertEquals(List.of("day-after-tomorrow"), wheel.advanceTo(start + 2 * 24 * 60));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(), wheel.advanceTo(start + 399_999));
+        assertEquals(List.of("overflow"), wheel.advanceTo(start + 400_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advanceTo_FiresEveryMinuteOfARangeExactlyOnce() {
+        // Arrange
+        long start = 12_345L;
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(start);
+        for (long due = start + 1; due <= start + 5000; due++) {
+            wheel.schedule(due, due);
+        }
+
+        // Act
+        List<Long> fired = new ArrayList<>();
+        for (long minute = start + 7; minute <= start + 5000; minute += 7) {
+            for (Long due : wheel.advanceTo(minute)) {
+                assertTrue(due <= minute && due > minute - 7, "fired " + due + " at " + minute);
+                fired.add(due);
+            }
+        }
+        fired.addAll(wheel.advanceTo(start + 5000));
+
+        // Assert
+        assertEquals(5000, fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_RejectsPastMinutes() {
+        // Arrange
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100);
+
+        // Act & Assert
+        assertFalse(wheel.schedule(100, "now"));
+        assertFalse(wheel.schedule(99, "past"));
+        assertEquals(0, wheel.size());
+    }
+}
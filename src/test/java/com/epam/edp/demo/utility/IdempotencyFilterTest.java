@@ -0,0 +1,209 @@
+package com.epam.edp.demo.utility;
+
+import com.epam.edp.demo.entity.IdempotencyRecord;
+import com.epam.edp.demo.repository.IdempotencyRepository;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"locationId\":\"location-123\",\"guestsNumber\":\"2\"}";
+    private static final String RESPONSE = "{\"data\":{\"reservationId\":\"reservation-1\"}}";
+
+    @Mock
+    private IdempotencyRepository idempotencyRepository;
+
+    private IdempotencyFilter filter;
+    private int controllerCalls;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        filter = new IdempotencyFilter(idempotencyRepository, 24, 300, 100);
+        when(idempotencyRepository.claim(anyString(), anyString(), anyLong())).thenReturn(Optional.empty());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("customer@example.com", null, Collections.emptyList()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_RetryReplaysStoredResponseWithoutRunningAgain() throws Exception {
+        // Arrange
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", BODY), first, controller());
+
+        // Act
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", BODY), retry, controller());
+
+        // Assert
+        assertEquals(1, controllerCalls);
+        assertEquals(201, retry.getStatus());
+        assertEquals(RESPONSE, retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(RESPONSE, first.getContentAsString());
+        ArgumentCaptor<IdempotencyRecord> stored = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRepository).complete(stored.capture());
+        assertEquals("customer@example.com#/api/bookings/client#key-1", stored.getValue().getIdempotencyKey());
+        verify(idempotencyRepository, times(1)).claim(anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    void doFilter_RetryOnAnotherInstanceReplaysFromDynamoDb() throws Exception {
+        // Arrange
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .idempotencyKey("customer@example.com#/api/bookings/client#key-1")
+                .requestHash(hashOf(BODY))
+                .status(IdempotencyRecord.STATUS_COMPLETED)
+                .responseStatus(201)
+                .contentType("application/json")
+                .responseBody(RESPONSE)
+                .expiresAt(Instant.now().getEpochSecond() + 3600)
+                .build();
+        when(idempotencyRepository.claim(anyString(), anyString(), anyLong())).thenReturn(Optional.of(record));
+
+        // Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", BODY), response, controller());
+
+        // Assert
+        assertEquals(0, controllerCalls);
+        assertEquals(201, response.getStatus());
+        assertEquals(RESPONSE, response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_KeyReusedForDifferentBodyIsRejected() throws Exception {
+        // Arrange
+        filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(), controller());
+
+        // Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{\"guestsNumber\":\"4\"}"), response, controller());
+
+        // Assert
+        assertEquals(422, response.getStatus());
+        assertEquals(1, controllerCalls);
+    }
+
+    @Test
+    void doFilter_RequestStillRunningIsConflict() throws Exception {
+        // Arrange
+        when(idempotencyRepository.claim(anyString(), anyString(), anyLong())).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .idempotencyKey("key")
+                .requestHash(hashOf(BODY))
+                .status(IdempotencyRecord.STATUS_IN_PROGRESS)
+                .expiresAt(Instant.now().getEpochSecond() + 3600)
+                .build()));
+
+        // Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", BODY), response, controller());
+
+        // Assert
+        assertEquals(409, response.getStatus());
+        assertEquals(0, controllerCalls);
+    }
+
+    @Test
+    void doFilter_FailedRequestReleasesKey() throws Exception {
+        // Arrange
+        FilterChain failing = (request, response) -> {
+            controllerCalls++;
+            ((HttpServletResponse) response).setStatus(400);
+        };
+
+        // Act
+        filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(), failing);
+        filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(), controller());
+
+        // Assert
+        assertEquals(2, controllerCalls);
+        verify(idempotencyRepository).release("customer@example.com#/api/bookings/client#key-1");
+        verify(idempotencyRepository, times(1)).complete(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void doFilter_ClaimsWithShortLeaseAndStoresResponseForFullTtl() throws Exception {
+        // Arrange
+        long before = Instant.now().getEpochSecond();
+
+        // Act
+        filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(), controller());
+
+        // Assert
+        ArgumentCaptor<Long> leaseExpiry = ArgumentCaptor.forClass(Long.class);
+        verify(idempotencyRepository).claim(anyString(), anyString(), leaseExpiry.capture());
+        assertTrue(leaseExpiry.getValue() <= Instant.now().getEpochSecond() + 300);
+        ArgumentCaptor<IdempotencyRecord> stored = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRepository).complete(stored.capture());
+        assertTrue(stored.getValue().getExpiresAt() >= before + 24 * 3600);
+    }
+
+    @Test
+    void doFilter_RequestsWithoutKeyAreNotTracked() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = request("key-1", BODY);
+        request.removeHeader(IdempotencyFilter.HEADER);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), controller());
+        filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(), controller());
+        MockHttpServletRequest other = request("key-1", BODY);
+        other.setServletPath("/api/reservations");
+        filter.doFilter(other, new MockHttpServletResponse(), controller());
+
+        // Assert
+        assertEquals(3, controllerCalls);
+        verify(idempotencyRepository, times(1)).claim(anyString(), anyString(), anyLong());
+    }
+
+    // Stands in for the controller: reads the body and writes a created reservation
+    private FilterChain controller() {
+        return (request, response) -> {
+            controllerCalls++;
+            assertFalse(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8).isEmpty());
+            response.setContentType("application/json");
+            ((HttpServletResponse) response).setStatus(201);
+            response.getOutputStream().write(RESPONSE.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bookings/client");
+        request.setServletPath("/api/bookings/client");
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static String hashOf(String body) throws Exception {
+        return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
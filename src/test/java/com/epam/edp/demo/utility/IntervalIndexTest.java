@@ -0,0 +1,103 @@
+package com.epam.edp.demo.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalIndexTest {
+
+    @Test
+    void isFree_DetectsPartialOverlaps() {
+        // Arrange
+        IntervalIndex index = new IntervalIndex();
+        index.add("res-1", 630, 720);
+
+        // Act & Assert
+        assertFalse(index.isFree(700, 760));
+        assertFalse(index.isFree(600, 640));
+        assertFalse(index.isFree(640, 650));
+        assertFalse(index.isFree(600, 800));
+        assertTrue(index.isFree(720, 810));
+        assertTrue(index.isFree(540, 630));
+    }
+
+    @Test
+    void isFree_LooksBackPastShorterBookings() {
+        // Arrange
+        IntervalIndex index = new IntervalIndex();
+        index.add("long", 600, 840);
+        index.add("short", 700, 710);
+
+        // Act & Assert
+        assertFalse(index.isFree(800, 820));
+        assertTrue(index.isFree(840, 900));
+    }
+
+    @Test
+    void isFree_IgnoresGivenBooking() {
+        // Arrange
+        IntervalIndex index = new IntervalIndex();
+        index.add("res-1", 630, 720);
+
+        // Act & Assert
+        assertTrue(index.isFree(660, 750, "res-1"));
+        assertFalse(index.isFree(660, 750, "res-2"));
+    }
+
+    @Test
+    void add_ReplacesIntervalOfSameId() {
+        // Arrange
+        IntervalIndex index = new IntervalIndex();
+        index.add("res-1", 630, 720);
+
+        // Act
+        index.add("res-1", 900, 990);
+
+        // Assert
+        assertTrue(index.isFree(630, 720));
+        assertFalse(index.isFree(900, 910));
+    }
+
+    @Test
+    void remove_FreesInterval() {
+        // Arrange
+        IntervalIndex index = new IntervalIndex();
+        index.add("res-1", 630, 720);
+
+        // Act
+        IntervalIndex.Interval removed = index.remove("res-1");
+
+        // Assert
+        assertEquals(630, removed.getFrom());
+        assertTrue(index.isEmpty());
+        assertTrue(index.isFree(630, 720));
+        assertNull(index.remove("res-1"));
+    }
+
+    @Test
+    void freeGaps_ReturnsStretchesLongEnough() {
+        // Arrange
+        IntervalIndex index = new IntervalIndex();
+        index.add("res-1", 630, 720);
+        index.add("res-2", 750, 840);
+        index.add("res-3", 900, 990);
+
+        // Act
+        List<IntervalIndex.Interval> gaps = index.freeGaps(600, 1380, 60);
+
+        // Assert
+        assertEquals(2, gaps.size());
+        assertEquals(840, gaps.get(0).getFrom());
+        assertEquals(900, gaps.get(0).getTo());
+        assertEquals(990, gaps.get(1).getFrom());
+        assertEquals(1380, gaps.get(1).getTo());
+    }
+
+    @Test
+    void add_RejectsEmptyInterval() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new IntervalIndex().add("res-1", 720, 720));
+    }
+}
@@ -0,0 +1,69 @@
+package com.epam.edp.demo.utility;
+
+import com.epam.edp.demo.entity.Dish;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MenuSnapshotTest {
+
+    private final MenuSnapshot menu = MenuSnapshot.of(List.of(
+            dish("soup", "Tomato Soup", "Appetizers", "$8.50", "180 kcal", "4.2"),
+            dish("steak", "Ribeye", "Main Courses", "$32", "900 kcal", "4.9"),
+            dish("salad", "Caesar", "appetizers", "$11", "350 kcal", "3.8"),
+            dish("pasta", "Arrabbiata", "Main Courses", null, "650 kcal", null),
+            dish("cake", "Cheesecake", "Desserts", "$9", "420 kcal", "10")));
+
+    @Test
+    void view_SortsNumericFieldsByValue() {
+        // Act & Assert
+        assertEquals(List.of("pasta", "soup", "cake", "salad", "steak"), ids(menu.view(null, "price", "asc")));
+        assertEquals(List.of("cake", "steak", "soup", "salad", "pasta"), ids(menu.view(null, "rating", "desc")));
+        assertEquals(List.of("soup", "salad", "cake", "pasta", "steak"), ids(menu.view("", "CALORIES", null)));
+    }
+
+    @Test
+    void view_FiltersByTypeIgnoringCase() {
+        // Act & Assert
+        assertEquals(List.of("salad", "soup"), ids(menu.view("APPETIZERS", "name", "asc")));
+        assertEquals(List.of("steak", "pasta"), ids(menu.view("main courses", "price", "desc")));
+        assertTrue(menu.view("Drinks", "name", "asc").isEmpty());
+    }
+
+    @Test
+    void view_UnknownSortFieldSortsByName() {
+        // Act & Assert
+        assertEquals(List.of("pasta", "salad", "cake", "steak", "soup"), ids(menu.view(null, "weight", "asc")));
+    }
+
+    @Test
+    void view_IsReadOnly() {
+        // Act
+        List<Dish> view = menu.view(null, "name", "asc");
+
+        // Assert
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(0));
+        assertEquals(5, menu.size());
+        assertEquals(List.of("soup", "steak", "salad", "pasta", "cake"), ids(menu.getDishes()));
+    }
+
+    @Test
+    void parseNumber_IgnoresUnitsAndBadValues() {
+        // Act & Assert
+        assertEquals(12.5, MenuSnapshot.parseNumber("$12.50"));
+        assertEquals(0.0, MenuSnapshot.parseNumber("n/a"));
+        assertEquals(0.0, MenuSnapshot.parseNumber(null));
+    }
+
+    private static List<String> ids(List<Dish> dishes) {
+        return dishes.stream().map(Dish::getId).collect(Collectors.toList());
+    }
+
+    private static Dish dish(String id, String name, String type, String price, String calories, String rating) {
+        return Dish.builder().id(id).name(name).dishType(type).price(price).calories(calories).rating(rating)
+                .locationId("loc-1").build();
+    }
+}
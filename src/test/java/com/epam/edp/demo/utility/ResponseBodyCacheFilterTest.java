@@ -0,0 +1,128 @@
+package com.epam.edp.demo.utility;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseBodyCacheFilterTest {
+
+    private static final String ETAG = "\"epoch-1-abc\"";
+    private static final String LARGE_BODY = "{\"data\":\"" + "x".repeat(ResponseBodyCacheFilter.MIN_COMPRESS_BYTES) + "\"}";
+
+    private ResponseBodyCacheFilter filter;
+    private int controllerCalls;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ResponseBodyCacheFilter(new SimpleMeterRegistry(), 100, 300);
+    }
+
+    @Test
+    void doFilter_RepeatedRequestIsServedFromCache() throws Exception {
+        // Arrange
+        MockHttpServletResponse first = tagged(ETAG);
+        filter.doFilter(get("sortBy=price", null), first, controller("{\"data\":[]}", 200));
+
+        // Act
+        MockHttpServletResponse second = tagged(ETAG);
+        filter.doFilter(get("sortBy=price", null), second, controller("{\"data\":[]}", 200));
+
+        // Assert
+        assertEquals(1, controllerCalls);
+        assertEquals("{\"data\":[]}", first.getContentAsString());
+        assertEquals("{\"data\":[]}", second.getContentAsString());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, second.getContentType());
+        assertNull(second.getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void doFilter_KeyedByQueryAndTag() throws Exception {
+        // Act
+        filter.doFilter(get("sortBy=price", null), tagged(ETAG), controller("{}", 200));
+        filter.doFilter(get("sortBy=name", null), tagged(ETAG), controller("{}", 200));
+        filter.doFilter(get("sortBy=price", null), tagged("\"epoch-2-abc\""), controller("{}", 200));
+
+        // Assert
+        assertEquals(3, controllerCalls);
+    }
+
+    @Test
+    void doFilter_GzipServedWhenAccepted() throws Exception {
+        // Arrange
+        filter.doFilter(get(null, null), tagged(ETAG), controller(LARGE_BODY, 200));
+
+        // Act
+        MockHttpServletResponse gzipped = tagged(ETAG);
+        filter.doFilter(get(null, "br, gzip;q=0.8"), gzipped, controller(LARGE_BODY, 200));
+        MockHttpServletResponse refused = tagged(ETAG);
+        filter.doFilter(get(null, "gzip;q=0"), refused, controller(LARGE_BODY, 200));
+
+        // Assert
+        assertEquals(1, controllerCalls);
+        assertEquals("gzip", gzipped.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("W/" + ETAG, gzipped.getHeader(HttpHeaders.ETAG));
+        assertTrue(gzipped.getContentAsByteArray().length < LARGE_BODY.length());
+        assertEquals(LARGE_BODY, gunzip(gzipped.getContentAsByteArray()));
+        assertNull(refused.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(LARGE_BODY, refused.getContentAsString());
+    }
+
+    @Test
+    void doFilter_ErrorsAndUntaggedResponsesAreNotCached() throws Exception {
+        // Act
+        MockHttpServletResponse error = tagged(ETAG);
+        filter.doFilter(get(null, null), error, controller("{}", 500));
+        filter.doFilter(get(null, null), tagged(ETAG), controller("{}", 200));
+        filter.doFilter(get(null, null), new MockHttpServletResponse(), controller("{}", 200));
+        filter.doFilter(get(null, null), new MockHttpServletResponse(), controller("{}", 200));
+
+        // Assert
+        assertEquals(500, error.getStatus());
+        assertEquals("{}", error.getContentAsString());
+        assertEquals(4, controllerCalls);
+    }
+
+    private FilterChain controller(String body, int status) {
+        return (request, response) -> {
+            controllerCalls++;
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(status);
+            httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            httpResponse.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static MockHttpServletResponse tagged(String etag) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setHeader(HttpHeaders.ETAG, etag);
+        return response;
+    }
+
+    private static MockHttpServletRequest get(String query, String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dishes");
+        request.setServletPath("/api/dishes");
+        request.setQueryString(query);
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return request;
+    }
+
+    private static String gunzip(byte[] body) throws Exception {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
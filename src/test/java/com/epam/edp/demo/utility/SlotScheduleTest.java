@@ -0,0 +1,71 @@
+package com.epam.edp.demo.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotScheduleTest {
+
+    private final SlotSchedule schedule = SlotSchedule.STANDARD;
+
+    @Test
+    void ordinal_KnownAndUnknownSlots() {
+        // Act & Assert
+        assertEquals(0, schedule.ordinal("10:30"));
+        assertEquals(6, schedule.ordinal("21:00"));
+        assertEquals(-1, schedule.ordinal("11:00"));
+        assertEquals(-1, schedule.ordinal("1030"));
+        assertEquals(-1, schedule.ordinal(null));
+        assertEquals(0L, schedule.bit("ab:cd"));
+        assertEquals(1L << 2, schedule.bit("14:00"));
+    }
+
+    @Test
+    void available_ExcludesBookedAndEarlierSlots() {
+        // Arrange
+        long booked = schedule.bit("12:15") | schedule.bit("17:30");
+
+        // Act
+        List<String> result = schedule.toSlots(schedule.available(booked, SlotSchedule.minuteOfDay("14:00")));
+
+        // Assert
+        assertEquals(List.of("14:00", "15:45", "19:15", "21:00"), result);
+    }
+
+    @Test
+    void available_AllSlotsWhenNothingBooked() {
+        // Act & Assert
+        assertEquals(schedule.getSlots(), schedule.toSlots(schedule.available(0L, 0)));
+        assertTrue(schedule.toSlots(schedule.available(0L, SlotSchedule.minuteOfDay("21:01"))).isEmpty());
+    }
+
+    @Test
+    void conflicts_SharedBit() {
+        // Arrange
+        long booked = schedule.bit("10:30");
+
+        // Act & Assert
+        assertTrue(SlotSchedule.conflicts(booked, schedule.bit("10:30")));
+        assertFalse(SlotSchedule.conflicts(booked, schedule.bit("12:15")));
+    }
+
+    @Test
+    void minuteOfDay_ParsesTimes() {
+        // Act & Assert
+        assertEquals(9 * 60, SlotSchedule.minuteOfDay("09:00"));
+        assertEquals(9 * 60 + 5, SlotSchedule.minuteOfDay("09:05:30"));
+        assertThrows(DateTimeParseException.class, () -> SlotSchedule.minuteOfDay("9am"));
+        assertEquals(10 * 60 + 30, SlotSchedule.minuteOfDayCeil(LocalTime.of(10, 30)));
+        assertEquals(10 * 60 + 31, SlotSchedule.minuteOfDayCeil(LocalTime.of(10, 30, 1)));
+    }
+
+    @Test
+    void constructor_RejectsUnorderedSlots() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new SlotSchedule("12:00", "10:00"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.epam.edp.demo.utility;
+
+import com.epam.edp.demo.entity.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableCatalogTest {
+
+    private final TableCatalog catalog = TableCatalog.of(List.of(
+            table("t-6", "loc-1", "6"),
+            table("t-2", "loc-1", "2"),
+            table("t-4a", "loc-1", "4"),
+            table("t-4b", "loc-1", "4"),
+            table("t-10", "loc-1", "10"),
+            table("t-bad", "loc-1", "four"),
+            table("t-other", "loc-2", "8")));
+
+    @Test
+    void getTables_SortedByCapacity() {
+        // Act
+        List<String> ids = ids(catalog.getTables("loc-1"));
+
+        // Assert
+        assertEquals(List.of("t-bad", "t-2", "t-4a", "t-4b", "t-6", "t-10"), ids);
+        assertArrayEquals(new int[]{0, 2, 4, 4, 6, 10}, catalog.capacities("loc-1"));
+    }
+
+    @Test
+    void tablesSeating_ReturnsTablesAtOrAboveThePartySize() {
+        // Act & Assert
+        assertEquals(List.of("t-4a", "t-4b", "t-6", "t-10"), ids(catalog.tablesSeating("loc-1", 3)));
+        assertEquals(List.of("t-4a", "t-4b", "t-6", "t-10"), ids(catalog.tablesSeating("loc-1", 4)));
+        assertEquals(List.of("t-10"), ids(catalog.tablesSeating("loc-1", 7)));
+        assertTrue(catalog.tablesSeating("loc-1", 11).isEmpty());
+        assertTrue(catalog.tablesSeating("unknown", 1).isEmpty());
+    }
+
+    @Test
+    void contains_MatchesLocationIgnoringCase() {
+        // Act & Assert
+        assertTrue(catalog.contains("LOC-1", "t-2"));
+        assertFalse(catalog.contains("loc-2", "t-2"));
+        assertEquals(7, catalog.size());
+    }
+
+    private static List<String> ids(List<Table> tables) {
+        return tables.stream().map(Table::getId).collect(Collectors.toList());
+    }
+
+    private static Table table(String id, String locationId, String capacity) {
+        return Table.builder().id(id).locationId(locationId).tableNumber(id).capacity(capacity).build();
+    }
+}
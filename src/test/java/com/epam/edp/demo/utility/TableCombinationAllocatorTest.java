@@ -0,0 +1,97 @@
+package com.epam.edp.demo.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static com.epam.edp.demo.utility.TableCombinationAllocator.NO_GROUP;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableCombinationAllocatorTest {
+
+    private final TableCombinationAllocator allocator = new TableCombinationAllocator(TableCombinationAllocator.DEFAULT_MAX_TABLES);
+
+    @Test
+    void allocate_PrefersSingleTableThatFits() {
+        // Act
+        int[] chosen = allocator.allocate(new int[]{4, 6, 8}, new int[]{0, 0, 0}, 6, later());
+
+        // Assert
+        assertArrayEquals(new int[]{1}, chosen);
+    }
+
+    @Test
+    void allocate_CombinesTablesOfOneGroupWithFewestEmptySeats() {
+        // Arrange
+        int[] capacities = {8, 6, 4, 4, 2, 10};
+        int[] groups = {0, 0, 0, 0, 0, 1};
+
+        // Act
+        int[] chosen = allocator.allocate(capacities, groups, 16, later());
+
+        // Assert
+        assertEquals(16, seats(capacities, chosen));
+        assertEquals(3, chosen.length);
+    }
+
+    @Test
+    void allocate_NeverMixesGroupsOrUngroupedTables() {
+        // Arrange
+        int[] capacities = {8, 8, 8, 8};
+        int[] groups = {0, 1, NO_GROUP, NO_GROUP};
+
+        // Act & Assert
+        assertEquals(0, allocator.allocate(capacities, groups, 12, later()).length);
+    }
+
+    @Test
+    void allocate_RespectsTableLimit() {
+        // Arrange
+        int[] capacities = {2, 2, 2, 2, 2, 2};
+        int[] groups = {0, 0, 0, 0, 0, 0};
+
+        // Act & Assert
+        assertEquals(0, allocator.allocate(capacities, groups, 10, later()).length);
+        assertEquals(4, allocator.allocate(capacities, groups, 8, later()).length);
+    }
+
+    @Test
+    void allocate_LargeLocationWithinBudget() {
+        // Arrange
+        int[] capacities = new int[200];
+        int[] groups = new int[200];
+        int[] sizes = {2, 4, 4, 6, 8};
+        for (int i = 0; i < capacities.length; i++) {
+            capacities[i] = sizes[i % sizes.length];
+            groups[i] = i / 10;
+        }
+
+        // Act
+        long start = System.nanoTime();
+        int[] chosen = allocator.allocate(capacities, groups, 27, start + TimeUnit.MILLISECONDS.toNanos(50));
+        long elapsed = System.nanoTime() - start;
+
+        // Assert
+        assertTrue(seats(capacities, chosen) >= 27);
+        assertEquals(1, Arrays.stream(chosen).map(i -> groups[i]).distinct().count());
+        assertTrue(elapsed < TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    void allocate_ExpiredDeadlineStillOffersSingleTables() {
+        // Act
+        int[] chosen = allocator.allocate(new int[]{4, 12}, new int[]{0, 0}, 10, System.nanoTime() - 1);
+
+        // Assert
+        assertArrayEquals(new int[]{1}, chosen);
+    }
+
+    private static long later() {
+        return System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static int seats(int[] capacities, int[] chosen) {
+        return Arrays.stream(chosen).map(i -> capacities[i]).sum();
+    }
+}
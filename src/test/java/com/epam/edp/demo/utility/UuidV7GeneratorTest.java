@@ -0,0 +1,99 @@
+package com.epam.edp.demo.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    private final UuidV7Generator generator = UuidV7Generator.INSTANCE;
+
+    @Test
+    void nextId_IsCanonicalVersion7Uuid() {
+        // Act
+        String id = generator.nextId();
+
+        // Assert
+        UUID parsed = UUID.fromString(id);
+        assertEquals(id, parsed.toString());
+        assertEquals(7, parsed.version());
+        assertEquals(2, parsed.variant());
+    }
+
+    @Test
+    void nextId_SortsInGenerationOrder() {
+        // Arrange
+        List<String> ids = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 20_000; i++) {
+            ids.add(generator.nextId());
+        }
+
+        // Assert
+        List<String> sorted = new ArrayList<>(ids);
+        Collections.sort(sorted);
+        assertEquals(ids, sorted);
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+    }
+
+    @Test
+    void nextId_UniqueAcrossThreads() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int thread = 0; thread < 8; thread++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(80_000, ids.size());
+    }
+
+    @Test
+    void timestampOf_ReadsGenerationTime() {
+        // Arrange
+        long before = System.currentTimeMillis();
+
+        // Act
+        Instant timestamp = UuidV7Generator.timestampOf(generator.nextId());
+
+        // Assert
+        assertTrue(timestamp.toEpochMilli() >= before);
+        assertTrue(timestamp.toEpochMilli() <= System.currentTimeMillis() + 1);
+        assertThrows(IllegalArgumentException.class, () -> UuidV7Generator.timestampOf(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void lowerBound_SeparatesEarlierAndLaterIds() throws Exception {
+        // Arrange
+        String earlier = generator.nextId();
+        Thread.sleep(5);
+        Instant cutoff = Instant.now();
+        Thread.sleep(5);
+        String later = generator.nextId();
+
+        // Act
+        String bound = UuidV7Generator.lowerBound(cutoff);
+
+        // Assert
+        assertTrue(earlier.compareTo(bound) < 0);
+        assertTrue(later.compareTo(bound) > 0);
+        assertEquals(cutoff.toEpochMilli(), UuidV7Generator.timestampOf(bound).toEpochMilli());
+    }
+}
@@ -0,0 +1,84 @@
+package com.epam.edp.demo.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaiterLoadHeapTest {
+
+    @Test
+    void claim_PicksLeastBusyAndCountsIt() {
+        // Arrange
+        WaiterLoadHeap heap = new WaiterLoadHeap();
+        heap.set("busy@example.com", 5);
+        heap.set("idle@example.com", 1);
+
+        // Act
+        String first = heap.claim();
+
+        // Assert
+        assertEquals("idle@example.com", first);
+        assertEquals(2, heap.load("idle@example.com"));
+        assertEquals(5, heap.load("busy@example.com"));
+    }
+
+    @Test
+    void claim_EmptyHeap() {
+        // Act & Assert
+        assertNull(new WaiterLoadHeap().claim());
+    }
+
+    @Test
+    void claim_ConcurrentBookingsSpreadEvenly() throws Exception {
+        // Arrange
+        WaiterLoadHeap heap = new WaiterLoadHeap();
+        for (int i = 0; i < 4; i++) {
+            heap.set("waiter" + i + "@example.com", 0);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> claims = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 400; i++) {
+            claims.add(executor.submit(() -> {
+                start.await();
+                return heap.claim();
+            }));
+        }
+        start.countDown();
+        Map<String, Integer> assigned = new ConcurrentHashMap<>();
+        for (Future<String> claim : claims) {
+            assigned.merge(claim.get(10, TimeUnit.SECONDS), 1, Integer::sum);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(4, assigned.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(100, heap.load("waiter" + i + "@example.com"));
+            assertEquals(100, assigned.get("waiter" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    void reconcile_ReplacesLoadsAndDropsMissingWaiters() {
+        // Arrange
+        WaiterLoadHeap heap = new WaiterLoadHeap();
+        heap.set("gone@example.com", 0);
+        heap.set("stays@example.com", 0);
+
+        // Act
+        heap.reconcile(Map.of("stays@example.com", 7L, "new@example.com", 3L));
+
+        // Assert
+        assertEquals(2, heap.size());
+        assertEquals(-1, heap.load("gone@example.com"));
+        assertEquals("new@example.com", heap.claim());
+    }
+}